@@ -1,6 +1,7 @@
 @Suppress("DSL_SCOPE_VIOLATION") // https://youtrack.jetbrains.com/issue/KTIJ-19369
 plugins {
     alias(libs.plugins.algomate)
+    alias(libs.plugins.jmh)
 }
 
 exercise {
@@ -25,3 +26,10 @@ dependencies {
     // libs.fopbot method generated from ./gradle/libs.versions.toml
     implementation(libs.fopbot)
 }
+
+// Benchmarks in src/jmh/java, run with ./gradlew jmh
+jmh {
+    jmhVersion.set("1.36")
+    // Report the allocation rate of every benchmark
+    profilers.add("gc")
+}
@@ -0,0 +1,200 @@
+package h01;
+
+import fopbot.World;
+import h01.engine.GameSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Benchmarks for the robot-backed {@link Checkers}.
+ * <p>
+ * The board and the team size of {@link Checkers} are read from {@code checkers.properties} when the class is
+ * loaded, so these benchmarks always run with the configured values. See
+ * {@link h01.engine.CheckersEngineBenchmark} for benchmarks over different board and team sizes.
+ * <p>
+ * Every robot is added to the global {@link World} for good, so the benchmarks which create robots start every
+ * invocation with a new world. The benchmarks of a single action start every invocation from the same running game,
+ * taken halfway through a seeded game, since repeating an action on the same game soon reaches a state in which the
+ * action does nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckersBenchmark {
+
+    /**
+     * The seed of the game from which the mid-game state is taken.
+     */
+    private static final long SEED = 42;
+
+    private Checkers checkers;
+
+    /**
+     * The snapshot of the game halfway through the seeded game.
+     */
+    private GameSnapshot midGame;
+
+    @Setup(Level.Trial)
+    public void setUpWorld() {
+        World.setDelay(0);
+        int numberOfTurns = 0;
+        newGame(new SplittableRandom(SEED));
+        while (checkers.isRunning()) {
+            playTurn();
+            numberOfTurns++;
+        }
+
+        // Replay the first half of the same game
+        newGame(new SplittableRandom(SEED));
+        for (int turn = 0; turn < numberOfTurns / 2; turn++) {
+            playTurn();
+        }
+        midGame = checkers.snapshot();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpGame() {
+        newGame(null);
+    }
+
+    /**
+     * Starts a new game in a new world.
+     *
+     * @param random the source of randomness of the game or {@code null} for the random generator of the thread
+     */
+    private void newGame(RandomGenerator random) {
+        checkers = new Checkers(random);
+        checkers.setHeadless(true);
+        checkers.setTracePolicy(TracePolicy.OFF);
+        checkers.initGame();
+    }
+
+    /**
+     * Plays a single turn of the game.
+     */
+    private void playTurn() {
+        checkers.doBlackTeamActions();
+        checkers.doWhiteTeamActions();
+        checkers.updateGameState();
+    }
+
+    /**
+     * {@link NewWorld} replaces the global world by an empty one before every invocation of a benchmark which uses
+     * it.
+     */
+    @State(Scope.Thread)
+    public static class NewWorld {
+
+        /**
+         * Replaces the global world by an empty one.
+         */
+        @Setup(Level.Invocation)
+        public void reset() {
+            World.setSize(Checkers.NUMBER_OF_COLUMNS, Checkers.NUMBER_OF_ROWS);
+        }
+    }
+
+    /**
+     * {@link MidGame} starts a new game in a new world and restores the mid-game state before every invocation of a
+     * benchmark which uses it.
+     */
+    @State(Scope.Thread)
+    public static class MidGame {
+
+        /**
+         * Restores the mid-game state of the given benchmark.
+         *
+         * @param benchmark the benchmark whose game is restored
+         */
+        @Setup(Level.Invocation)
+        public void restore(CheckersBenchmark benchmark) {
+            benchmark.newGame(null);
+            benchmark.checkers.restore(benchmark.midGame);
+        }
+    }
+
+    /**
+     * Runs the initialization of the white stone in a new world.
+     *
+     * @param newWorld the new world, created before every invocation
+     * @return the game
+     */
+    @Benchmark
+    public Checkers initWhiteStone(NewWorld newWorld) {
+        checkers.initWhiteStone();
+        return checkers;
+    }
+
+    /**
+     * Runs the initialization of all black stones in a new world.
+     *
+     * @param newWorld the new world, created before every invocation
+     * @return the game
+     */
+    @Benchmark
+    public Checkers initBlackStones(NewWorld newWorld) {
+        checkers.initBlackStones();
+        return checkers;
+    }
+
+    /**
+     * Runs the action of the black team in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the game
+     */
+    @Benchmark
+    public Checkers doBlackTeamActions(MidGame midGame) {
+        checkers.doBlackTeamActions();
+        return checkers;
+    }
+
+    /**
+     * Runs the action of the white team in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the game
+     */
+    @Benchmark
+    public Checkers doWhiteTeamActions(MidGame midGame) {
+        checkers.doWhiteTeamActions();
+        return checkers;
+    }
+
+    /**
+     * Checks if a team has won in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the game
+     */
+    @Benchmark
+    public Checkers updateGameState(MidGame midGame) {
+        checkers.updateGameState();
+        return checkers;
+    }
+
+    @Benchmark
+    public Checkers fullGame() {
+        newGame(null);
+        while (checkers.isRunning()) {
+            playTurn();
+        }
+        return checkers;
+    }
+}
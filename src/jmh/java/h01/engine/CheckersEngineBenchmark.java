@@ -0,0 +1,150 @@
+package h01.engine;
+
+import h01.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the headless {@link CheckersEngine} over different board and team sizes.
+ * <p>
+ * The benchmarks of a single action start every invocation from the same running game, taken halfway through a
+ * seeded game, since repeating an action on the same engine soon reaches a state in which the action does nothing.
+ * The state is restored before every invocation and the restore is not measured, but timing every invocation adds a
+ * small constant overhead, so these benchmarks are best compared with each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckersEngineBenchmark {
+
+    /**
+     * The seed of the game from which the mid-game state is taken.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * The number of columns and rows of the board.
+     */
+    @Param({"5", "50", "1000"})
+    public int boardSize;
+
+    /**
+     * The number of black stones.
+     */
+    @Param({"5", "50", "1000"})
+    public int numberOfBlackStones;
+
+    private CheckersEngine engine;
+
+    /**
+     * The snapshot of the game halfway through the seeded game.
+     */
+    private long[] midGame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var config = new CheckersConfig(boardSize, boardSize, 8, 12, numberOfBlackStones);
+        engine = new CheckersEngine(config, new SplittableRandom(SEED));
+        engine.initGame();
+        engine.runGame();
+        int numberOfTurns = engine.getNumberOfTurns();
+
+        // Replay the first half of the same game
+        engine.setRandom(new SplittableRandom(SEED));
+        engine.initGame();
+        for (int turn = 0; turn < numberOfTurns / 2; turn++) {
+            engine.doBlackTeamActions();
+            engine.doWhiteTeamActions();
+            engine.updateGameState();
+        }
+        midGame = new long[GameSnapshot.length(numberOfBlackStones)];
+        engine.snapshot(midGame);
+    }
+
+    /**
+     * {@link MidGame} restores the mid-game state before every invocation of a benchmark which uses it.
+     */
+    @State(Scope.Thread)
+    public static class MidGame {
+
+        /**
+         * Restores the mid-game state of the given benchmark.
+         *
+         * @param benchmark the benchmark whose engine is restored
+         */
+        @Setup(Level.Invocation)
+        public void restore(CheckersEngineBenchmark benchmark) {
+            benchmark.engine.restore(benchmark.midGame);
+        }
+    }
+
+    @Benchmark
+    public CheckersEngine initWhiteStone() {
+        engine.initWhiteStone();
+        return engine;
+    }
+
+    @Benchmark
+    public CheckersEngine initBlackStones() {
+        engine.initBlackStones();
+        return engine;
+    }
+
+    /**
+     * Runs the action of the black team in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the engine
+     */
+    @Benchmark
+    public CheckersEngine doBlackTeamActions(MidGame midGame) {
+        engine.doBlackTeamActions();
+        return engine;
+    }
+
+    /**
+     * Runs the action of the white team in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the engine
+     */
+    @Benchmark
+    public CheckersEngine doWhiteTeamActions(MidGame midGame) {
+        engine.doWhiteTeamActions();
+        return engine;
+    }
+
+    /**
+     * Checks if a team has won in the mid-game state.
+     *
+     * @param midGame the mid-game state, restored before every invocation
+     * @return the engine
+     */
+    @Benchmark
+    public CheckersEngine updateGameState(MidGame midGame) {
+        engine.updateGameState();
+        return engine;
+    }
+
+    @Benchmark
+    public GameState fullGame() {
+        engine.initGame();
+        return engine.runGame();
+    }
+}
@@ -4,12 +4,20 @@ import fopbot.Direction;
 import fopbot.Robot;
 import fopbot.RobotFamily;
 import fopbot.World;
+import h01.engine.CheckersConfig;
+import h01.engine.EligibleStones;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+import h01.engine.MoveTable;
+import h01.engine.OddFieldSampler;
+import h01.engine.StoneIndex;
 import org.tudalgo.algoutils.student.Student;
 
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import static org.tudalgo.algoutils.student.io.PropertyUtils.getIntProperty;
+import static org.tudalgo.algoutils.student.io.PropertyUtils.getProperties;
 
 /**
  * {@link Checkers} is a simplified version of Checkers, implemented in FOPBot.
@@ -36,6 +44,38 @@ public class Checkers {
      */
     public static final int MAX_NUMBER_OF_COINS = getIntProperty("checkers.properties", "MAX_NUMBER_OF_COINS");
 
+    /**
+     * The number of stones in the black team.
+     */
+    public static final int NUMBER_OF_BLACK_STONES = getIntProperty("checkers.properties", "NUMBER_OF_BLACK_STONES");
+
+    /**
+     * Whether games are run without a window and without any delay by default.
+     */
+    public static final boolean HEADLESS = Boolean.parseBoolean(
+        getProperties("checkers.properties").getProperty("HEADLESS", "false")
+    );
+
+    /**
+     * The policy which limits the recorded transitions of all robots by default.
+     */
+    public static final TracePolicy TRACE_POLICY = TracePolicy.parse(
+        getProperties("checkers.properties").getProperty("TRACE_POLICY", "full")
+    );
+
+    /**
+     * How the robots of the black stones carry out their moves by default.
+     */
+    public static final MoveMode MOVE_MODE = MoveMode.valueOf(
+        getProperties("checkers.properties").getProperty("MOVE_MODE", "STEPS").toUpperCase()
+    );
+
+    /**
+     * The directions in clockwise order starting with {@link Direction#UP}, indexed like the directions of a
+     * {@link MoveTable}.
+     */
+    private static final Direction[] DIRECTIONS = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.LEFT};
+
     /**
      * The current state of the game.
      * At the start of the game, the state of the game is set to {@link GameState#RUNNING}.
@@ -43,6 +83,25 @@ public class Checkers {
      */
     private GameState gameState = GameState.RUNNING;
 
+    /**
+     * Whether {@link #runGame()} runs without a window and without any delay.
+     */
+    private boolean headless = HEADLESS;
+
+    /**
+     * The policy which limits the recorded transitions of all robots.
+     */
+    private TracePolicy tracePolicy = TRACE_POLICY;
+
+    /**
+     * How the robots of the black stones carry out their moves.
+     */
+    private MoveMode moveMode = MOVE_MODE;
+
+    /**
+     * The source of randomness of this game or {@code null} if the random generator of the current thread is used.
+     */
+    private final RandomGenerator random;
 
     /**
      * The robot of the white team.
@@ -50,9 +109,97 @@ public class Checkers {
     private Robot whiteStone;
 
     /**
-     * The robots of the black team.
+     * The robots of the black team. The index of a robot in this array is the index of the black stone.
+     */
+    private Robot[] blackStones;
+
+    /**
+     * The index of the turned on black stones, created lazily from the robots on first use.
+     */
+    private StoneIndex occupancy;
+
+    /**
+     * The black stone found by the capture search of the white stone.
+     */
+    private final int[] captureStone = new int[1];
+
+    /**
+     * The field the white stone lands on when it captures the black stone found by the capture search.
+     */
+    private final int[] captureField = new int[1];
+
+    /**
+     * The black stones which are turned on and have at least one coin, created lazily from the robots on first use.
+     */
+    private EligibleStones eligibleStones;
+
+    /**
+     * The number of turned on black stones, counted when the indices are built and updated on every capture.
+     */
+    private int numberOfTurnedOnStones;
+
+    /**
+     * The sampler for the initial fields of all stones, created on first use for the current board size.
+     */
+    private OddFieldSampler fieldSampler;
+
+    /**
+     * The targets of the moves of the black stones, created on first use for the current board size.
+     */
+    private MoveTable moveTable;
+
+    /**
+     * The listener which is notified about the game or {@code null} if no listener is set.
+     */
+    private GameListener listener;
+
+    /**
+     * The black stone which made an action in the current turn or {@code -1}.
+     */
+    private int lastBlackStone = -1;
+
+    /**
+     * The target the black stone moved to in the current turn or {@code -1}.
+     */
+    private int lastTarget = -1;
+
+    /**
+     * The black stone captured in the current turn or {@code -1}.
+     */
+    private int lastCapturedStone = -1;
+
+    /**
+     * Creates a new game which uses the random generator of the current thread.
+     */
+    public Checkers() {
+        this(null);
+    }
+
+    /**
+     * Creates a new game which uses the given source of randomness for all random decisions. Two games with equally
+     * seeded sources are identical, and they are identical to a {@link h01.engine.CheckersEngine} with an equally
+     * seeded source, since both draw the same random numbers in the same order.
+     *
+     * @param random the source of randomness
+     */
+    public Checkers(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns the configuration of the game board and the coins of the black stones.
+     *
+     * @return the configuration of the game
      */
-    private Robot blackStone0, blackStone1, blackStone2, blackStone3, blackStone4;
+    public static CheckersConfig getConfig() {
+        return new CheckersConfig(
+            NUMBER_OF_COLUMNS,
+            NUMBER_OF_ROWS,
+            MIN_NUMBER_OF_COINS,
+            MAX_NUMBER_OF_COINS,
+            NUMBER_OF_BLACK_STONES
+        );
+    }
 
     /**
      * Runs the initialization of the game.
@@ -65,13 +212,59 @@ public class Checkers {
         // initialize all stones
         initWhiteStone();
         initBlackStones();
+        if (listener != null) {
+            listener.gameStarted(snapshot());
+        }
+    }
+
+    /**
+     * Sets the listener which is notified about the start and the turns of the game, e.g. a
+     * {@link h01.replay.ReplayWriter}.
+     *
+     * @param listener the listener or {@code null} to remove the listener
+     */
+    public void setGameListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets whether {@link #runGame()} runs without a window and without any delay. The game itself is the same in
+     * both modes.
+     *
+     * @param headless if the game runs without a window and without any delay
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Sets the policy which limits the recorded transitions of all robots.
+     *
+     * @param tracePolicy the policy which limits the recorded transitions
+     */
+    public void setTracePolicy(TracePolicy tracePolicy) {
+        this.tracePolicy = tracePolicy;
+    }
+
+    /**
+     * Sets how the robots of the black stones carry out their moves.
+     *
+     * @param moveMode how the black stones move
+     */
+    public void setMoveMode(MoveMode moveMode) {
+        this.moveMode = moveMode;
     }
 
     /**
      * Runs the game. After the game has finished, the winner of the game will be printed to the console.
      */
     public void runGame() {
-        World.setVisible(true);
+        if (headless) {
+            // Never create the window, and do not wait after the actions of the robots
+            World.setDelay(0);
+        } else {
+            World.setVisible(true);
+        }
         while (isRunning()) {
             doBlackTeamActions();
             doWhiteTeamActions();
@@ -93,491 +286,405 @@ public class Checkers {
      * Runs the initialization of the white stone.
      */
     public void initWhiteStone() {
-        // Random coordinates
-        int x;
-        int y;
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
-        }
-        // Sum of x and y must be odd
-        while ((x + y) % 2 == 0);
-
-        // Random direction, map int to Direction
-        int randomDirection = ThreadLocalRandom.current().nextInt(4);
-        Direction direction;
-        if (randomDirection == 0) {
-            direction = Direction.UP;
-        } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
-        } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
-        } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
-        }
-
-        whiteStone = new Robot(x, y, direction, 0, RobotFamily.SQUARE_WHITE);
+        // Random coordinates, the sum of x and y must be odd
+        OddFieldSampler fieldSampler = getFieldSampler();
+        fieldSampler.reset();
+        int field = fieldSampler.next(getRandom());
+        int x = field % NUMBER_OF_COLUMNS;
+        int y = field / NUMBER_OF_COLUMNS;
+
+        whiteStone = new Robot(x, y, getRandomDirection(), 0, RobotFamily.SQUARE_WHITE);
+        invalidateIndices();
     }
 
     /**
      * Runs the initialization of all black stones.
      */
     public void initBlackStones() {
-        // We have to initialize 5 black stones in the same way. Therefore, a method is recommended to reduce code
-        // duplication.
-
-        // Black stone 0
-
-        // Random coordinates
-        int x;
-        int y;
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
+        blackStones = new Robot[NUMBER_OF_BLACK_STONES];
+
+        // Random coordinates: the sum of x and y must be odd and the black stone must not be on the same position as
+        // the white stone or another black stone. Every draw returns a field which has not been drawn before.
+        OddFieldSampler fieldSampler = getFieldSampler();
+        fieldSampler.reset(field(whiteStone.getX(), whiteStone.getY()));
+        for (int stone = 0; stone < blackStones.length; stone++) {
+            int field = fieldSampler.next(getRandom());
+            int x = field % NUMBER_OF_COLUMNS;
+            int y = field / NUMBER_OF_COLUMNS;
+            Direction direction = getRandomDirection();
+            // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
+            int numberOfCoins = getRandom().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
+            blackStones[stone] = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
         }
-        // Sum of x and y must be odd and the black stone must not be on the same position as the white stone
-        while ((x + y) % 2 == 0 || whiteStone.getX() == x && whiteStone.getY() == y);
+        invalidateIndices();
+    }
 
-        // Random direction, map int to Direction
-        int randomDirection = ThreadLocalRandom.current().nextInt(4);
-        Direction direction;
-        if (randomDirection == 0) {
-            direction = Direction.UP;
-        } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
-        } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
-        } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
+    /**
+     * Runs the action of the black team.
+     */
+    public void doBlackTeamActions() {
+        // Choose a random black stone which is not off and which has at least one coin. The set of eligible stones
+        // is kept up to date, so a single random draw is enough.
+        EligibleStones eligibleStones = getEligibleStones();
+        int stone = eligibleStones.random(getRandom());
+        if (stone < 0) {
+            // No black stone can make an action, updateGameState() ends the game
+            return;
         }
+        Robot blackStone = blackStones[stone];
+        lastBlackStone = stone;
 
-        // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
-        int numberOfCoins = ThreadLocalRandom.current().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
-        blackStone0 = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
-
-
-        // Black stone 1
-
-        // Random coordinates
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
+        // We checked that the black stone has at least one coin, so we can put a coin without any problems
+        blackStone.putCoin();
+        if (!blackStone.hasAnyCoins()) {
+            eligibleStones.remove(stone);
         }
-        // Sum of x and y must be odd and the black stone must not be on the same position as the white stone
-        while ((x + y) % 2 == 0 || whiteStone.getX() == x && whiteStone.getY() == y);
 
-        // Random direction, map int to Direction
-        randomDirection = ThreadLocalRandom.current().nextInt(4);
-        if (randomDirection == 0) {
-            direction = Direction.UP;
-        } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
-        } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
-        } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
+        // Move to the first target field which is within the world and not occupied by the white stone
+        MoveTable moveTable = getMoveTable();
+        int direction = directionIndex(blackStone.getDirection());
+        int target = moveTable.firstTarget(
+            blackStone.getX(),
+            blackStone.getY(),
+            direction,
+            field(whiteStone.getX(), whiteStone.getY())
+        );
+        lastTarget = target;
+        if (target >= 0 && moveMode == MoveMode.TELEPORT) {
+            // Place the robot on the target field in its final direction instead of walking there
+            int targetField = moveTable.targetField(field(blackStone.getX(), blackStone.getY()), direction, target);
+            blackStone.setField(targetField % NUMBER_OF_COLUMNS, targetField / NUMBER_OF_COLUMNS);
+            blackStone.setDirection(DIRECTIONS[MoveTable.targetDirection(direction, target)]);
+        } else if (target == 0) {
+            // Target field 1: forward and right
+            blackStone.move();
+            // 3x left turn = right turn
+            blackStone.turnLeft();
+            blackStone.turnLeft();
+            blackStone.turnLeft();
+            blackStone.move();
+        } else if (target == 1) {
+            // Target field 2: forward and left
+            blackStone.move();
+            blackStone.turnLeft();
+            blackStone.move();
+        } else if (target == 2) {
+            // Target field 3: left and back
+            blackStone.turnLeft();
+            blackStone.move();
+            blackStone.turnLeft();
+            blackStone.move();
+        } else if (target == 3) {
+            // Target field 4: back and right
+            blackStone.turnLeft();
+            blackStone.turnLeft();
+            blackStone.move();
+            blackStone.turnLeft();
+            blackStone.move();
         }
 
-        // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
-        numberOfCoins = ThreadLocalRandom.current().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
-        blackStone1 = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
-
-
-        // Black stone 2
+        // Keep the occupancy index in sync with the new position of the black stone
+        getOccupancy().move(stone, field(blackStone.getX(), blackStone.getY()));
+        tracePolicy.apply(blackStone);
+    }
 
-        // Random coordinates
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
+    /**
+     * Runs the action of the white team.
+     */
+    public void doWhiteTeamActions() {
+        // Check all diagonals (x+i,y+i), (x+i,y-i), (x-i,y-i), (x-i,y+i) from the white stone outwards. The index
+        // returns the first black stone which is turned on and has a free field behind it within the world. Of
+        // several black stones on a field, it returns the one with the lowest index, so stones are captured in the
+        // same order as checking blackStone0 to blackStone4 one after another.
+        int field = field(whiteStone.getX(), whiteStone.getY());
+        if (getOccupancy().findCaptures(field, captureStone, captureField, 1) == 0) {
+            return;
         }
-        // Sum of x and y must be odd and the black stone must not be on the same position as the white stone
-        while ((x + y) % 2 == 0 || whiteStone.getX() == x && whiteStone.getY() == y);
+        int stone = captureStone[0];
+        blackStones[stone].turnOff();
+        occupancy.remove(stone);
+        getEligibleStones().remove(stone);
+        numberOfTurnedOnStones--;
+        whiteStone.setField(captureField[0] % NUMBER_OF_COLUMNS, captureField[0] / NUMBER_OF_COLUMNS);
+        lastCapturedStone = stone;
+        tracePolicy.apply(blackStones[stone]);
+        tracePolicy.apply(whiteStone);
+    }
 
-        // Random direction, map int to Direction
-        randomDirection = ThreadLocalRandom.current().nextInt(4);
-        if (randomDirection == 0) {
-            direction = Direction.UP;
-        } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
-        } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
-        } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
+    /**
+     * Checks if a team has won the game and, if so, updates the game state to {@link GameState#BLACK_WIN} or {@link GameState#WHITE_WIN}.
+     */
+    public void updateGameState() {
+        // White wins if all black stones are turned off. The number of turned on black stones and the set of black
+        // stones with coins are updated on every action, so no black stone has to be checked here.
+        buildIndices();
+        boolean isWhiteWin = numberOfTurnedOnStones == 0;
+        // Black wins if no turned on black stone has any coins. This includes the case that all black stones do not
+        // have any coins, and otherwise the black team could not make any action anymore.
+        boolean isBlackWin = eligibleStones.isEmpty();
+        if (isWhiteWin) {
+            gameState = GameState.WHITE_WIN;
+        } else if (isBlackWin) {
+            gameState = GameState.BLACK_WIN;
         }
-
-        // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
-        numberOfCoins = ThreadLocalRandom.current().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
-        blackStone2 = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
-
-
-        // Black stone 3
-
-        // Random coordinates
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
+        if (listener != null) {
+            listener.turnPlayed(lastBlackStone, lastTarget, lastCapturedStone, gameState);
         }
-        // Sum of x and y must be odd and the black stone must not be on the same position as the white stone
-        while ((x + y) % 2 == 0 || whiteStone.getX() == x && whiteStone.getY() == y);
+        lastBlackStone = -1;
+        lastTarget = -1;
+        lastCapturedStone = -1;
+    }
 
-        // Random direction, map int to Direction
-        randomDirection = ThreadLocalRandom.current().nextInt(4);
-        if (randomDirection == 0) {
-            direction = Direction.UP;
-        } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
-        } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
-        } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
+    /**
+     * Returns a snapshot of the full state of the game. The number of turns is not tracked by this class and always
+     * {@code 0}.
+     *
+     * @return the snapshot of the game
+     */
+    public GameSnapshot snapshot() {
+        EligibleStones eligibleStones = getEligibleStones();
+        long[] words = new long[GameSnapshot.length(blackStones.length)];
+        words[0] = GameSnapshot.encodeHeader(
+            field(whiteStone.getX(), whiteStone.getY()),
+            directionIndex(whiteStone.getDirection()),
+            gameState
+        );
+        words[1] = GameSnapshot.encodeCounts(0, eligibleStones.size());
+        for (int stone = 0; stone < blackStones.length; stone++) {
+            Robot blackStone = blackStones[stone];
+            words[GameSnapshot.HEADER_LENGTH + stone] = GameSnapshot.encodeStone(
+                field(blackStone.getX(), blackStone.getY()),
+                directionIndex(blackStone.getDirection()),
+                blackStone.getNumberOfCoins(),
+                blackStone.isTurnedOn()
+            );
         }
+        for (int position = 0; position < eligibleStones.size(); position++) {
+            GameSnapshot.setEligibleStone(words, position, eligibleStones.get(position));
+        }
+        return GameSnapshot.of(words);
+    }
 
-        // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
-        numberOfCoins = ThreadLocalRandom.current().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
-        blackStone3 = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
-
+    /**
+     * Restores the full state of the game from the given snapshot.
+     * <p>
+     * The robots are moved, turned and given their coins in place. A robot cannot be turned on again, so a black
+     * stone which is turned off but turned on in the snapshot, or which is turned off on another field, is replaced
+     * by a new robot.
+     *
+     * @param snapshot the snapshot of a game with the same number of black stones
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (snapshot.numberOfBlackStones() != blackStones.length) {
+            throw new IllegalArgumentException(
+                "snapshot has %d black stones instead of %d".formatted(snapshot.numberOfBlackStones(), blackStones.length)
+            );
+        }
+        restoreRobot(whiteStone, snapshot.whiteField(), snapshot.whiteDirection(), whiteStone.getNumberOfCoins());
+        for (int stone = 0; stone < blackStones.length; stone++) {
+            Robot blackStone = blackStones[stone];
+            int field = snapshot.blackField(stone);
+            int direction = snapshot.blackDirection(stone);
+            int numberOfCoins = snapshot.blackCoins(stone);
+            boolean on = snapshot.isBlackStoneTurnedOn(stone);
+            if (blackStone.isTurnedOn()) {
+                restoreRobot(blackStone, field, direction, numberOfCoins);
+                if (!on) {
+                    blackStone.turnOff();
+                }
+            } else if (on || field != field(blackStone.getX(), blackStone.getY())
+                || direction != directionIndex(blackStone.getDirection())
+                || numberOfCoins != blackStone.getNumberOfCoins()) {
+                blackStone = new Robot(
+                    field % NUMBER_OF_COLUMNS,
+                    field / NUMBER_OF_COLUMNS,
+                    DIRECTIONS[direction],
+                    numberOfCoins,
+                    RobotFamily.SQUARE_BLACK
+                );
+                if (!on) {
+                    blackStone.turnOff();
+                }
+                blackStones[stone] = blackStone;
+            }
+        }
+        gameState = snapshot.gameState();
+
+        // Rebuild the indices and restore the order of the eligible stones, so the game continues with the same draws
+        invalidateIndices();
+        EligibleStones eligibleStones = getEligibleStones();
+        eligibleStones.clear();
+        for (int position = 0; position < snapshot.numberOfEligibleStones(); position++) {
+            eligibleStones.add(snapshot.eligibleStone(position));
+        }
+    }
 
-        // Black stone 4
+    /**
+     * Shows the given state of a game which is played elsewhere, e.g. by a {@link h01.engine.CheckersEngine} at full
+     * speed, see {@link h01.render.SnapshotRenderer}. The robots are restored like in {@link #restore(GameSnapshot)}
+     * and their traces are limited by the trace policy, since a long game shows many frames.
+     *
+     * @param snapshot the snapshot of a game with the same number of black stones
+     */
+    public void render(GameSnapshot snapshot) {
+        restore(snapshot);
+        tracePolicy.apply(whiteStone);
+        for (Robot blackStone : blackStones) {
+            tracePolicy.apply(blackStone);
+        }
+    }
 
-        // Random coordinates
-        do {
-            // Generate random coordinates between 0 and NUMBER_OF_COLUMNS - 1 for the x coordinate
-            // and between 0 and NUMBER_OF_ROWS - 1 for the y coordinate.
-            // nextInt(bound) returns a random integer between 0 (inclusive) and bound (exclusive)
-            x = ThreadLocalRandom.current().nextInt(NUMBER_OF_COLUMNS);
-            y = ThreadLocalRandom.current().nextInt(NUMBER_OF_ROWS);
+    /**
+     * Moves the given turned on robot to the given field and direction and sets its number of coins. Only the
+     * properties which differ are changed, so no unnecessary transitions are recorded.
+     *
+     * @param robot         the robot to restore
+     * @param field         the index of the field of the robot
+     * @param direction     the direction index of the robot
+     * @param numberOfCoins the number of coins of the robot
+     */
+    private void restoreRobot(Robot robot, int field, int direction, int numberOfCoins) {
+        if (field != field(robot.getX(), robot.getY())) {
+            robot.setField(field % NUMBER_OF_COLUMNS, field / NUMBER_OF_COLUMNS);
         }
-        // Sum of x and y must be odd and the black stone must not be on the same position as the white stone
-        while ((x + y) % 2 == 0 || whiteStone.getX() == x && whiteStone.getY() == y);
+        if (direction != directionIndex(robot.getDirection())) {
+            robot.setDirection(DIRECTIONS[direction]);
+        }
+        if (numberOfCoins != robot.getNumberOfCoins()) {
+            robot.setNumberOfCoins(numberOfCoins);
+        }
+    }
 
+    /**
+     * Returns a random direction.
+     *
+     * @return a random direction
+     */
+    private Direction getRandomDirection() {
         // Random direction, map int to Direction
-        randomDirection = ThreadLocalRandom.current().nextInt(4);
+        int randomDirection = getRandom().nextInt(4);
         if (randomDirection == 0) {
-            direction = Direction.UP;
+            return Direction.UP;
         } else if (randomDirection == 1) {
-            direction = Direction.RIGHT;
+            return Direction.RIGHT;
         } else if (randomDirection == 2) {
-            direction = Direction.DOWN;
+            return Direction.DOWN;
         } else {
-            // Since the interval is between [0,4], we do not have to explicit check randomDirection == 4
-            direction = Direction.LEFT;
+            // Since the interval is between [0,4), we do not have to explicit check randomDirection == 3
+            return Direction.LEFT;
         }
+    }
 
-        // Random number of coins (do not forget that the second parameter of nextInt is exclusive)
-        numberOfCoins = ThreadLocalRandom.current().nextInt(MIN_NUMBER_OF_COINS, MAX_NUMBER_OF_COINS + 1);
-        blackStone4 = new Robot(x, y, direction, numberOfCoins, RobotFamily.SQUARE_BLACK);
+    /**
+     * Returns the occupancy index of the black stones.
+     *
+     * @return the occupancy index of the black stones
+     */
+    private StoneIndex getOccupancy() {
+        buildIndices();
+        return occupancy;
     }
 
     /**
-     * Runs the action of the black team.
+     * Returns the set of black stones which are turned on and have at least one coin.
+     *
+     * @return the set of eligible black stones
      */
-    public void doBlackTeamActions() {
-        // Choose a random black stone (remember that the parameter of nextInt is exclusive) which is not off and
-        // which has at least one coin
-        Robot blackStone;
-        int randomBlackStone;
-        do {
-            randomBlackStone = ThreadLocalRandom.current().nextInt(6);
-            if (randomBlackStone == 0) {
-                blackStone = blackStone0;
-            } else if (randomBlackStone == 1) {
-                blackStone = blackStone1;
-            } else if (randomBlackStone == 2) {
-                blackStone = blackStone2;
-            } else if (randomBlackStone == 3) {
-                blackStone = blackStone3;
-            } else {
-                // Since the interval is between [0,6], we do not have to explicit check randomBlackStone == 6
-                blackStone = blackStone4;
-            }
-        } while (blackStone.isTurnedOff() || blackStone.getNumberOfCoins() == 0);
-        // Alternatively, you can use !blackStone.hasAnyCoins()
+    private EligibleStones getEligibleStones() {
+        buildIndices();
+        return eligibleStones;
+    }
 
-        // We checked that the black stone has at least one coin, so we can put a coin without any problems
-        blackStone.putCoin();
+    /**
+     * Discards the indices of the black stones, so they are rebuilt from the robots on next use.
+     */
+    private void invalidateIndices() {
+        occupancy = null;
+        eligibleStones = null;
+    }
 
-        // Moving actions depend on current direction of the black stone
-        // A target field is valid if is within the world and is not occupied by a white stone
-        // (x != whiteStone.getX() || y != whiteStone.getY()) and not
-        // (x != whiteStone.getX() && y != whiteStone.getY())!
-        if (blackStone.isFacingUp()) {
-            // Target field 1: up right of current direction (x+1, y+1)
-            if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.move();
-                // 3x left turn = right turn
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 2: up left of current direction (x-1, y+1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 3: down left of current direction (x-1, y-1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 4: down right of current direction (x+1, y-1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-        } else if (blackStone.isFacingRight()) {
-            // Target field 1: up right of current direction (x+1, y-1)
-            if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.move();
-                // 3x left turn = right turn
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 2: up left of current direction (x+1, y+1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 3: down left of current direction (x-1, y+1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 4: down right of current direction (x-1, y-1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-        } else if (blackStone.isFacingDown()) {
-            // Target field 1: up right of current direction (x-1, y-1)
-            if (blackStone.getX() - 1 >= 0 && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.move();
-                // 3x left turn = right turn
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 2: up left of current direction (x+1, y-1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 3: down left of current direction (x+1, y+1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 4: down right of current direction (x-1, y-1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-        } else if (blackStone.isFacingLeft()) {
-            // Target field 1: up right of current direction (x-1, y+1)
-            if (blackStone.getX() - 1 >= 0 && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.move();
-                // 3x left turn = right turn
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 2: up left of current direction (x-1, y-1)
-            else if (blackStone.getX() - 1 >= 0 && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() - 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 3: down left of current direction (x+1, y-1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_COLUMNS && blackStone.getY() - 1 >= 0
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() - 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
-            }
-            // Target field 4: down right of current direction (x+1, y+1)
-            else if (blackStone.getX() + 1 < NUMBER_OF_ROWS && blackStone.getY() + 1 < NUMBER_OF_ROWS
-                && (blackStone.getX() + 1 != whiteStone.getX() || blackStone.getY() + 1 != whiteStone.getY())) {
-                blackStone.turnLeft();
-                blackStone.turnLeft();
-                blackStone.move();
-                blackStone.turnLeft();
-                blackStone.move();
+    /**
+     * Builds the indices of the black stones from the current robots if they have been invalidated.
+     */
+    private void buildIndices() {
+        if (occupancy != null) {
+            return;
+        }
+        occupancy = StoneIndex.create(NUMBER_OF_COLUMNS, NUMBER_OF_ROWS, blackStones.length);
+        eligibleStones = new EligibleStones(blackStones.length);
+        numberOfTurnedOnStones = 0;
+        for (int stone = 0; stone < blackStones.length; stone++) {
+            Robot blackStone = blackStones[stone];
+            if (blackStone.isTurnedOn()) {
+                numberOfTurnedOnStones++;
+                occupancy.add(stone, field(blackStone.getX(), blackStone.getY()));
+                eligibleStones.update(stone, blackStone.hasAnyCoins());
             }
         }
     }
 
     /**
-     * Runs the action of the white team.
+     * Returns the sampler for the initial fields of all stones.
+     *
+     * @return the sampler for the initial fields
+     * @throws IllegalArgumentException if the properties are not a valid {@link CheckersConfig}
      */
-    public void doWhiteTeamActions() {
-        int wx = whiteStone.getX();
-        int wy = whiteStone.getY();
-
-        // Check all diagonals (x+i,y+i), (x+1,y-1), (x-1,y+1), (x-1,y-1)
-        // Formula to check coordinate: Coordinate of white stone + offset * direction vector
-        for (int diagonal = 0; diagonal < 4; diagonal++) {
-            int dx;
-            int dy;
-            // Direction vector used to calculate the next field along the diagonal
-            if (diagonal == 0) {
-                dx = 1;
-                dy = 1;
-            } else if (diagonal == 1) {
-                dx = 1;
-                dy = -1;
-            } else if (diagonal == 2) {
-                dx = -1;
-                dy = -1;
-            } else {
-                dx = -1;
-                dy = 1;
-            }
-
-            // Offset used to calculate the next field along the diagonal
-            int ox = 1;
-            int oy = 1;
-
-            // Coordinate to check
-            int x = wx + ox * dx;
-            int y = wy + oy * dy;
-
-            // Since the white stone will be placed on the field after the black stone, we have to check if the possible
-            // new position of the white stone is within the world (coordinate of field to check + direction vector)
-            while (x + dx >= 0 && x + dx < NUMBER_OF_COLUMNS && y + dy >= 0 && y + dy < NUMBER_OF_ROWS) {
-                // Check if the field is occupied by a black stone (black stone must be turned on
-                // If we found one, we can stop the search
-                if (blackStone0.isTurnedOn() && blackStone0.getX() == x && blackStone0.getY() == y
-                    && !(blackStone1.isTurnedOn() && blackStone1.getX() == x + dx && blackStone1.getY() == y + dy
-                    || blackStone2.isTurnedOn() && blackStone2.getX() == x + dx && blackStone2.getY() == y + dy
-                    || blackStone3.isTurnedOn() && blackStone3.getX() == x + dx && blackStone3.getY() == y + dy
-                    || blackStone4.isTurnedOn() && blackStone4.getX() == x + dx && blackStone4.getY() == y + dy)) {
-                    blackStone0.turnOff();
-                    whiteStone.setField(x + dx, y + dy);
-                    return;
-                } else if (blackStone1.isTurnedOn() && blackStone1.getX() == x && blackStone1.getY() == y
-                    && !(blackStone0.isTurnedOn() && blackStone0.getX() == x + dx && blackStone0.getY() == y + dy
-                    || blackStone2.isTurnedOn() && blackStone2.getX() == x + dx && blackStone2.getY() == y + dy
-                    || blackStone3.isTurnedOn() && blackStone3.getX() == x + dx && blackStone3.getY() == y + dy
-                    || blackStone4.isTurnedOn() && blackStone4.getX() == x + dx && blackStone4.getY() == y + dy)) {
-                    blackStone1.turnOff();
-                    whiteStone.setField(x + dx, y + dy);
-                    return;
-                } else if (blackStone2.isTurnedOn() && blackStone2.getX() == x && blackStone2.getY() == y
-                    && !(blackStone0.isTurnedOn() && blackStone0.getX() == x + dx && blackStone0.getY() == y + dy
-                    || blackStone1.isTurnedOn() && blackStone1.getX() == x + dx && blackStone1.getY() == y + dy
-                    || blackStone3.isTurnedOn() && blackStone3.getX() == x + dx && blackStone3.getY() == y + dy
-                    || blackStone4.isTurnedOn() && blackStone4.getX() == x + dx && blackStone4.getY() == y + dy)) {
-                    blackStone2.turnOff();
-                    whiteStone.setField(x + dx, y + dy);
-                    return;
-                } else if (blackStone3.isTurnedOn() && blackStone3.getX() == x && blackStone3.getY() == y
-                    && !(blackStone0.isTurnedOn() && blackStone0.getX() == x + dx && blackStone0.getY() == y + dy
-                    || blackStone1.isTurnedOn() && blackStone1.getX() == x + dx && blackStone1.getY() == y + dy
-                    || blackStone2.isTurnedOn() && blackStone2.getX() == x + dx && blackStone2.getY() == y + dy
-                    || blackStone4.isTurnedOn() && blackStone4.getX() == x + dx && blackStone4.getY() == y + dy)) {
-                    blackStone3.turnOff();
-                    whiteStone.setField(x + dx, y + dy);
-                    return;
-                } else if (blackStone4.isTurnedOn() && blackStone4.getX() == x && blackStone4.getY() == y
-                    && !(blackStone0.isTurnedOn() && blackStone0.getX() == x + dx && blackStone0.getY() == y + dy
-                    || blackStone1.isTurnedOn() && blackStone1.getX() == x + dx && blackStone1.getY() == y + dy
-                    || blackStone2.isTurnedOn() && blackStone2.getX() == x + dx && blackStone2.getY() == y + dy
-                    || blackStone3.isTurnedOn() && blackStone3.getX() == x + dx && blackStone3.getY() == y + dy)) {
-                    blackStone4.turnOff();
-                    whiteStone.setField(x + dx, y + dy);
-                    return;
-                }
-
-                // Update the coordinate to check
-                ox++;
-                oy++;
-                x = wx + ox * dx;
-                y = wy + oy * dy;
-            }
+    private OddFieldSampler getFieldSampler() {
+        if (fieldSampler == null) {
+            // Validate the properties like every engine does, so a board without an odd field for the white stone and
+            // a black stone fails with a descriptive error instead of an empty random range
+            getConfig();
+            fieldSampler = new OddFieldSampler(NUMBER_OF_COLUMNS, NUMBER_OF_ROWS);
         }
+        return fieldSampler;
     }
 
     /**
-     * Checks if a team has won the game and, if so, updates the game state to {@link GameState#BLACK_WIN} or {@link GameState#WHITE_WIN}.
+     * Returns the targets of the moves of the black stones.
+     *
+     * @return the targets of the moves
      */
-    public void updateGameState() {
-        // White wins if all black stones are turned off
-        boolean isWhiteWin = blackStone0.isTurnedOff() && blackStone1.isTurnedOff() && blackStone2.isTurnedOff()
-            && blackStone3.isTurnedOff() && blackStone4.isTurnedOff();
-        // Black wins if all black stones do not have any coins
-        boolean isBlackWin = !blackStone0.hasAnyCoins() && !blackStone1.hasAnyCoins() && !blackStone2.hasAnyCoins()
-            && !blackStone3.hasAnyCoins() && !blackStone4.hasAnyCoins();
-        if (isWhiteWin) {
-            gameState = GameState.WHITE_WIN;
-        } else if (isBlackWin) {
-            gameState = GameState.BLACK_WIN;
+    private MoveTable getMoveTable() {
+        if (moveTable == null) {
+            moveTable = new MoveTable(NUMBER_OF_COLUMNS, NUMBER_OF_ROWS);
         }
+        return moveTable;
+    }
+
+    /**
+     * Returns the index of the given direction in clockwise order starting with {@link Direction#UP}.
+     *
+     * @param direction the direction
+     * @return the index of the direction
+     */
+    private static int directionIndex(Direction direction) {
+        return switch (direction) {
+            case UP -> 0;
+            case RIGHT -> 1;
+            case DOWN -> 2;
+            case LEFT -> 3;
+        };
+    }
+
+    /**
+     * Returns the index of the field with the given coordinates.
+     *
+     * @param x the x coordinate of the field
+     * @param y the y coordinate of the field
+     * @return the index of the field
+     */
+    private static int field(int x, int y) {
+        return y * NUMBER_OF_COLUMNS + x;
     }
 
     /**
-     * Returns an instance of {@link Random}.
+     * Returns the source of randomness of this game. Without an explicit source, the random generator of the current
+     * thread is used.
      *
-     * @return an instance of {@link Random}
+     * @return the source of randomness
      */
-    private Random getRandom() {
-        return ThreadLocalRandom.current();
+    private RandomGenerator getRandom() {
+        return random != null ? random : ThreadLocalRandom.current();
     }
 
 }
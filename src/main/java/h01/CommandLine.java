@@ -0,0 +1,673 @@
+package h01;
+
+import fopbot.World;
+import h01.batch.BatchRunner;
+import h01.batch.GameSeeds;
+import h01.batch.GameStatistics;
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameListener;
+import h01.engine.WhiteStrategy;
+import h01.metrics.GameMetrics;
+import h01.render.SnapshotRenderer;
+import h01.replay.ReplayWriter;
+import h01.replay.Replayer;
+import h01.results.ResultReader;
+import h01.results.ResultWriter;
+import h01.server.GameClient;
+import h01.server.GameServer;
+import h01.server.MatchResult;
+import h01.server.Side;
+import h01.solver.ExactSolver;
+import h01.sweep.ParameterRange;
+import h01.sweep.ParameterSweep;
+import h01.sweep.SweepRunner;
+import h01.strategy.ExpectimaxWhiteStrategy;
+import h01.strategy.MctsBlackStrategy;
+import h01.tournament.Tournament;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The parsed options of the command line and the modes of this program which they select.
+ * <p>
+ * Without options, a single game is played in the world. The following options are supported:
+ * <ul>
+ *     <li>{@code --headless}: play the game without a window and without any delay</li>
+ *     <li>{@code --render-fps <fps>}: play the game at full speed and show its latest state in the window at the given
+ *     frame rate, see {@link SnapshotRenderer}</li>
+ *     <li>{@code --move-mode <mode>}: how the black stones move, {@code steps} or {@code teleport}</li>
+ *     <li>{@code --trace <policy>}: limit the recorded transitions, see {@link TracePolicy#parse(String)}</li>
+ *     <li>{@code --batch <games>}: play the given number of headless games and print the aggregated results</li>
+ *     <li>{@code --tournament <games>}: play the given number of headless games for every pair of the default and the
+ *     search strategies of both teams and print the matrix of the win rates, see {@link Tournament}</li>
+ *     <li>{@code --sweep <games>}: play the given number of headless games for every configuration of the ranges below
+ *     and print the results of all configurations, see {@link SweepRunner}</li>
+ *     <li>{@code --columns <range>}, {@code --rows <range>}, {@code --min-coins <range>},
+ *     {@code --max-coins <range>}, {@code --stones <range>}: the values of a parameter of a sweep, see
+ *     {@link ParameterRange#parse(String)}, the value of {@link Checkers} by default</li>
+ *     <li>{@code --solve <games>}: compute the exact probability that the white team wins for the initial states of the
+ *     given number of games of a batch, see {@link ExactSolver}</li>
+ *     <li>{@code --threads <threads>}: the number of threads of a batch, a tournament, a sweep or the solver, all
+ *     processors by default</li>
+ *     <li>{@code --seed <seed>}: the master seed of a batch, random by default</li>
+ *     <li>{@code --first-game <index>}: the index of the first game of a batch, {@code 0} by default</li>
+ *     <li>{@code --game-seed <seed>}: replay the single game with the given seed, e.g. a game reported by a
+ *     batch</li>
+ *     <li>{@code --white expectimax}: let the white stone of a batch choose its captures with an expectimax search,
+ *     see {@link ExpectimaxWhiteStrategy}</li>
+ *     <li>{@code --search-depth <turns>}: the maximum depth of the search, {@code 4} by default</li>
+ *     <li>{@code --search-time <milliseconds>}: the time budget of the search per turn, {@code 10} by default</li>
+ *     <li>{@code --black mcts}: let the black team of a batch choose its stones with a Monte Carlo Tree Search, see
+ *     {@link MctsBlackStrategy}</li>
+ *     <li>{@code --mcts-playouts <playouts>}: the number of playouts per turn, {@code 200} by default, or {@code 0} to
+ *     limit the search by time</li>
+ *     <li>{@code --mcts-time <milliseconds>}: the time budget per turn if the playouts are not limited, {@code 10} by
+ *     default</li>
+ *     <li>{@code --mcts-threads <threads>}: the number of search threads of every game, {@code 1} by default</li>
+ *     <li>{@code --record <path>}: record the game to a replay log, or the games of a batch to one replay log per
+ *     thread in the given directory</li>
+ *     <li>{@code --replay <log>}: replay all games of a replay log and print how they ended</li>
+ *     <li>{@code --results <directory>}: write one row per game of a batch to one result file per worker in the given
+ *     directory, see {@link ResultWriter}</li>
+ *     <li>{@code --summarize <path>}: aggregate the rows of a result file or of all result files in a directory and
+ *     print the results</li>
+ *     <li>{@code --metrics}: count turns, moves, captures and game lengths, expose them through JMX as
+ *     {@value GameMetrics#OBJECT_NAME} and print them at the end, see {@link GameMetrics}</li>
+ *     <li>{@code --serve <port>}: host matches for bot clients on the given local port until the program is stopped,
+ *     see {@link GameServer}</li>
+ *     <li>{@code --connect <port>}: play the given number of matches of a batch on the server with the given local
+ *     port, with one connection per thread, see {@link GameClient}</li>
+ *     <li>{@code --side <side>}: the teams played by the client, {@code black} by default, see {@link Side}</li>
+ * </ul>
+ */
+final class CommandLine {
+
+    /**
+     * The number of games of a batch or of the matches of a client.
+     */
+    private long numberOfGames;
+
+    /**
+     * The number of games whose initial states are solved.
+     */
+    private long numberOfSolvedGames;
+
+    /**
+     * The number of games of every pair of strategies of a tournament.
+     */
+    private long numberOfTournamentGames;
+
+    /**
+     * The number of games of every configuration of a sweep.
+     */
+    private long numberOfSweepGames;
+
+    /**
+     * The ranges of the parameters of a sweep.
+     */
+    private ParameterSweep sweep = ParameterSweep.of(Checkers.getConfig());
+
+    /**
+     * The index of the first game of a batch.
+     */
+    private long firstGame;
+
+    /**
+     * The master seed from which the seeds of the games are derived.
+     */
+    private long masterSeed = new SplittableRandom().nextLong();
+
+    /**
+     * The seed of the single game or {@code null} for a random game.
+     */
+    private Long gameSeed;
+
+    /**
+     * The path of the replay log or of the directory of the replay logs or {@code null} to not record the games.
+     */
+    private Path recordPath;
+
+    /**
+     * The path of the replay log to replay or {@code null}.
+     */
+    private Path replayPath;
+
+    /**
+     * The directory of the result files of a batch or {@code null} to not write them.
+     */
+    private Path resultPath;
+
+    /**
+     * The path of the result file or of the directory of the result files to summarize or {@code null}.
+     */
+    private Path summaryPath;
+
+    /**
+     * The metrics of the games or {@code null} to not count them.
+     */
+    private GameMetrics metrics;
+
+    /**
+     * The name of the white strategy of a batch or {@code null} for the default rules.
+     */
+    private String whiteStrategy;
+
+    /**
+     * The maximum depth of the expectimax search.
+     */
+    private int searchDepth = 4;
+
+    /**
+     * The time budget of the expectimax search per turn in milliseconds.
+     */
+    private long searchTime = 10;
+
+    /**
+     * The name of the black strategy of a batch or {@code null} for random choices.
+     */
+    private String blackStrategy;
+
+    /**
+     * The number of playouts of the Monte Carlo Tree Search per turn or {@code 0} to limit the search by time.
+     */
+    private long mctsPlayouts = 200;
+
+    /**
+     * The time budget of the Monte Carlo Tree Search per turn in milliseconds.
+     */
+    private long mctsTime = 10;
+
+    /**
+     * The number of search threads of every game.
+     */
+    private int mctsThreads = 1;
+
+    /**
+     * The number of threads of a batch, a tournament, a sweep, the solver or the connections of a client.
+     */
+    private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The port on which matches are hosted or {@code null}.
+     */
+    private Integer servePort;
+
+    /**
+     * The port of the server on which matches are played or {@code null}.
+     */
+    private Integer connectPort;
+
+    /**
+     * The teams played by the client.
+     */
+    private Side side = Side.BLACK;
+
+    /**
+     * The frame rate of the window or {@code 0} to play the game in the world.
+     */
+    private int framesPerSecond;
+
+    /**
+     * Whether the single game is played without a window and without any delay.
+     */
+    private boolean headless = Checkers.HEADLESS;
+
+    /**
+     * The policy which limits the recorded transitions of the single game.
+     */
+    private TracePolicy tracePolicy = Checkers.TRACE_POLICY;
+
+    /**
+     * How the black stones of the single game move.
+     */
+    private MoveMode moveMode = Checkers.MOVE_MODE;
+
+    /**
+     * Creates the default options.
+     */
+    private CommandLine() {
+    }
+
+    /**
+     * Parses the given command line arguments.
+     *
+     * @param args the command line arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an argument is unknown or the value of an option is missing or invalid
+     */
+    static CommandLine parse(String[] args) {
+        CommandLine commandLine = new CommandLine();
+        commandLine.parseOptions(args);
+        return commandLine;
+    }
+
+    /**
+     * Sets the options given by the command line arguments.
+     *
+     * @param args the command line arguments
+     */
+    private void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch" -> numberOfGames = Long.parseLong(argument(args, ++i));
+                case "--tournament" -> numberOfTournamentGames = Long.parseLong(argument(args, ++i));
+                case "--sweep" -> numberOfSweepGames = Long.parseLong(argument(args, ++i));
+                case "--columns" -> sweep = sweep.withNumberOfColumns(ParameterRange.parse(argument(args, ++i)));
+                case "--rows" -> sweep = sweep.withNumberOfRows(ParameterRange.parse(argument(args, ++i)));
+                case "--min-coins" -> sweep = sweep.withMinNumberOfCoins(ParameterRange.parse(argument(args, ++i)));
+                case "--max-coins" -> sweep = sweep.withMaxNumberOfCoins(ParameterRange.parse(argument(args, ++i)));
+                case "--stones" -> sweep = sweep.withNumberOfBlackStones(ParameterRange.parse(argument(args, ++i)));
+                case "--solve" -> numberOfSolvedGames = Long.parseLong(argument(args, ++i));
+                case "--threads" -> numberOfThreads = Integer.parseInt(argument(args, ++i));
+                case "--seed" -> masterSeed = Long.parseLong(argument(args, ++i));
+                case "--first-game" -> firstGame = Long.parseLong(argument(args, ++i));
+                case "--game-seed" -> gameSeed = Long.parseLong(argument(args, ++i));
+                case "--headless" -> headless = true;
+                case "--render-fps" -> framesPerSecond = Integer.parseInt(argument(args, ++i));
+                case "--trace" -> tracePolicy = TracePolicy.parse(argument(args, ++i));
+                case "--move-mode" -> moveMode = MoveMode.valueOf(argument(args, ++i).toUpperCase());
+                case "--white" -> whiteStrategy = argument(args, ++i);
+                case "--search-depth" -> searchDepth = Integer.parseInt(argument(args, ++i));
+                case "--search-time" -> searchTime = Long.parseLong(argument(args, ++i));
+                case "--black" -> blackStrategy = argument(args, ++i);
+                case "--mcts-playouts" -> mctsPlayouts = Long.parseLong(argument(args, ++i));
+                case "--mcts-time" -> mctsTime = Long.parseLong(argument(args, ++i));
+                case "--mcts-threads" -> mctsThreads = Integer.parseInt(argument(args, ++i));
+                case "--record" -> recordPath = Path.of(argument(args, ++i));
+                case "--replay" -> replayPath = Path.of(argument(args, ++i));
+                case "--results" -> resultPath = Path.of(argument(args, ++i));
+                case "--summarize" -> summaryPath = Path.of(argument(args, ++i));
+                case "--metrics" -> metrics = new GameMetrics();
+                case "--serve" -> servePort = Integer.parseInt(argument(args, ++i));
+                case "--connect" -> connectPort = Integer.parseInt(argument(args, ++i));
+                case "--side" -> side = Side.valueOf(argument(args, ++i).toUpperCase());
+                default -> throw new IllegalArgumentException("unknown argument: " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a command line option.
+     *
+     * @param args  the command line arguments
+     * @param index the index of the value
+     * @return the value of the option
+     */
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    /**
+     * Runs the mode selected by the options and prints the metrics if they are counted.
+     *
+     * @throws IOException if a replay log or a result file cannot be written or read or the connection to the server
+     *                     fails
+     */
+    void run() throws IOException {
+        if (metrics != null) {
+            metrics.register();
+        }
+        if (replayPath != null) {
+            replay();
+        } else if (summaryPath != null) {
+            summarize();
+        } else if (servePort != null) {
+            serve();
+        } else if (connectPort != null) {
+            connect();
+        } else if (numberOfSolvedGames > 0) {
+            solve();
+        } else if (numberOfTournamentGames > 0) {
+            tournament();
+        } else if (numberOfSweepGames > 0) {
+            sweep();
+        } else if (numberOfGames > 0) {
+            batch();
+        } else {
+            game();
+        }
+        if (metrics != null) {
+            System.out.println(metrics.snapshot());
+        }
+    }
+
+    /**
+     * Replays all games of the replay log and prints how they ended.
+     *
+     * @throws IOException if the replay log cannot be read
+     */
+    private void replay() throws IOException {
+        long whiteWins = 0;
+        long blackWins = 0;
+        long unfinished = 0;
+        long turns = 0;
+        try (Replayer replayer = new Replayer(replayPath)) {
+            while (replayer.nextGame()) {
+                GameState gameState = replayer.replayGame();
+                turns += replayer.getNumberOfTurns();
+                if (gameState == GameState.WHITE_WIN) {
+                    whiteWins++;
+                } else if (gameState == GameState.BLACK_WIN) {
+                    blackWins++;
+                } else {
+                    unfinished++;
+                }
+            }
+        }
+        System.out.printf(
+            "Games: %d%nWHITE_WIN: %d%nBLACK_WIN: %d%nUnfinished: %d%nTurns: %d%n",
+            whiteWins + blackWins + unfinished,
+            whiteWins,
+            blackWins,
+            unfinished,
+            turns
+        );
+    }
+
+    /**
+     * Aggregates the rows of the result file, or of all result files in the directory, and prints the results. The rows
+     * are streamed, so the memory does not depend on the number of games.
+     *
+     * @throws IOException if a result file cannot be read
+     */
+    private void summarize() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(summaryPath)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(summaryPath, "*.results")) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+        } else {
+            files.add(summaryPath);
+        }
+        long start = System.nanoTime();
+        GameStatistics statistics = new GameStatistics();
+        long resultSeed = 0;
+        long captures = 0;
+        long coinsLeft = 0;
+        long games = 0;
+        for (Path file : files) {
+            try (ResultReader reader = new ResultReader(file)) {
+                resultSeed = reader.getMasterSeed();
+                while (reader.next()) {
+                    statistics.record(reader.getGameState(), reader.getNumberOfTurns(), reader.getGameSeed());
+                    captures += reader.getNumberOfCaptures();
+                    coinsLeft += reader.getCoinsLeft();
+                    games++;
+                }
+            }
+        }
+        System.out.println(statistics.toResult(resultSeed, System.nanoTime() - start));
+        System.out.printf(
+            "Files: %d%nCaptures: mean=%.3f%nCoins left: mean=%.3f%n",
+            files.size(),
+            games == 0 ? 0 : (double) captures / games,
+            games == 0 ? 0 : (double) coinsLeft / games
+        );
+    }
+
+    /**
+     * Hosts matches on the local port and prints the number of matches every ten seconds until the program is
+     * stopped.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    private void serve() throws IOException {
+        try (GameServer server = new GameServer(Checkers.getConfig())) {
+            server.start(servePort);
+            System.out.printf(
+                "Serving matches on port %d with %s threads%n",
+                server.getPort(),
+                server.usesVirtualThreads() ? "virtual" : "platform"
+            );
+            while (true) {
+                Thread.sleep(10_000);
+                System.out.printf(
+                    "Connections: %d, running matches: %d, started matches: %d%n",
+                    server.getNumberOfSessions(),
+                    server.getNumberOfRunningMatches(),
+                    server.getNumberOfStartedMatches()
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Plays the games of a batch, at least one, as matches on the server with the local port and prints how they
+     * ended. Every thread plays its share of the matches over its own connection.
+     *
+     * @throws IOException if the connection to the server fails
+     */
+    private void connect() throws IOException {
+        long numberOfMatches = Math.max(1, numberOfGames);
+        long lastGame = firstGame + numberOfMatches;
+        long[] wins = new long[GameState.values().length];
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Callable<long[]>> connections = new ArrayList<>();
+            for (int connection = 0; connection < numberOfThreads; connection++) {
+                int first = connection;
+                connections.add(() -> {
+                    long[] connectionWins = new long[GameState.values().length];
+                    try (GameClient client = new GameClient(null, connectPort)) {
+                        SplittableRandom random = GameSeeds.random(GameSeeds.gameSeed(masterSeed, -1 - first));
+                        for (long game = firstGame + first; game < lastGame; game += numberOfThreads) {
+                            MatchResult result = client.play(GameSeeds.gameSeed(masterSeed, game), side, random);
+                            connectionWins[result.gameState().ordinal()]++;
+                        }
+                    }
+                    return connectionWins;
+                });
+            }
+            for (Future<long[]> future : executor.invokeAll(connections)) {
+                long[] connectionWins = future.get();
+                for (int state = 0; state < wins.length; state++) {
+                    wins[state] += connectionWins[state];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("matches were interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("matches failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        System.out.printf(
+            "Seed: %d%nMatches: %d%nWHITE_WIN: %d%nBLACK_WIN: %d%nTime: %.3f s%n",
+            masterSeed,
+            numberOfMatches,
+            wins[GameState.WHITE_WIN.ordinal()],
+            wins[GameState.BLACK_WIN.ordinal()],
+            (System.nanoTime() - start) / 1e9
+        );
+    }
+
+    /**
+     * Solves the initial states of the games of a batch and prints the exact probabilities that the white team wins.
+     */
+    private void solve() {
+        CheckersConfig config = Checkers.getConfig();
+        ExactSolver solver = new ExactSolver(config, numberOfThreads);
+        CheckersEngine engine = new CheckersEngine(config, GameSeeds.random(masterSeed));
+        double sum = 0;
+        long start = System.nanoTime();
+        for (long game = firstGame; game < firstGame + numberOfSolvedGames; game++) {
+            long seed = GameSeeds.gameSeed(masterSeed, game);
+            engine.setRandom(GameSeeds.random(seed));
+            engine.initGame();
+            double probability = solver.whiteWinProbability(engine);
+            sum += probability;
+            System.out.printf("Game %d (game seed %d): P(WHITE_WIN) = %.12f%n", game, seed, probability);
+        }
+        System.out.printf(
+            "Seed: %d%nGames: %d%nMean P(WHITE_WIN): %.12f%nSolved states: %d (%.3f s)%n",
+            masterSeed,
+            numberOfSolvedGames,
+            sum / numberOfSolvedGames,
+            solver.getNumberOfSolvedStates(),
+            (System.nanoTime() - start) / 1e9
+        );
+    }
+
+    /**
+     * Plays a tournament between the default and the search strategies of both teams and prints the matrix of the win
+     * rates.
+     */
+    private void tournament() {
+        CheckersConfig config = Checkers.getConfig();
+        Tournament tournament = new Tournament(config, numberOfThreads, masterSeed);
+        tournament.addWhiteStrategy("first-capture", () -> WhiteStrategy.FIRST_CAPTURE);
+        tournament.addWhiteStrategy("expectimax", expectimax(config));
+        tournament.addBlackStrategy("random", () -> BlackStrategy.RANDOM);
+        tournament.addBlackStrategy("mcts", mcts(config));
+        System.out.println(tournament.run(numberOfTournamentGames));
+    }
+
+    /**
+     * Plays the games of every configuration of the sweep and prints the results of all configurations.
+     */
+    private void sweep() {
+        SweepRunner runner = new SweepRunner(sweep.configs(), numberOfThreads, masterSeed);
+        System.out.println(runner.run(numberOfSweepGames));
+    }
+
+    /**
+     * Plays the games of a batch with the selected strategies and prints the aggregated results.
+     *
+     * @throws IOException if a replay log or a result file cannot be written
+     */
+    private void batch() throws IOException {
+        CheckersConfig config = Checkers.getConfig();
+        BatchRunner runner = new BatchRunner(config, numberOfThreads, masterSeed);
+        if ("expectimax".equals(whiteStrategy)) {
+            runner.setWhiteStrategy(expectimax(config));
+        } else if (whiteStrategy != null) {
+            throw new IllegalArgumentException("unknown white strategy: " + whiteStrategy);
+        }
+        if ("mcts".equals(blackStrategy)) {
+            runner.setBlackStrategy(mcts(config));
+        } else if (blackStrategy != null) {
+            throw new IllegalArgumentException("unknown black strategy: " + blackStrategy);
+        }
+        if (recordPath != null) {
+            Files.createDirectories(recordPath);
+            runner.setReplayDirectory(recordPath);
+        }
+        if (resultPath != null) {
+            Files.createDirectories(resultPath);
+            runner.setResultDirectory(resultPath);
+        }
+        runner.setMetrics(metrics);
+        System.out.println(runner.run(firstGame, numberOfGames));
+    }
+
+    /**
+     * Plays a single game in the world, or at full speed with the engine if a frame rate is given.
+     *
+     * @throws IOException if the replay log cannot be written
+     */
+    private void game() throws IOException {
+        if (headless) {
+            // Prevent any window from being created, e.g. on servers without a display
+            System.setProperty("java.awt.headless", "true");
+        }
+        Checkers checkers = gameSeed != null ? new Checkers(GameSeeds.random(gameSeed)) : new Checkers();
+        checkers.setHeadless(headless);
+        checkers.setTracePolicy(tracePolicy);
+        checkers.setMoveMode(moveMode);
+        GameListener recorder = metrics == null ? null : metrics.newRecorder();
+        if (framesPerSecond > 0 && !headless) {
+            playLive(checkers, recorder);
+        } else if (recordPath != null) {
+            try (ReplayWriter replayWriter = new ReplayWriter(recordPath, Checkers.getConfig())) {
+                checkers.setGameListener(GameListener.both(replayWriter, recorder));
+                checkers.initGame();
+                checkers.runGame();
+            }
+        } else {
+            checkers.setGameListener(recorder);
+            checkers.initGame();
+            checkers.runGame();
+        }
+    }
+
+    /**
+     * Plays a single game at full speed with the engine and shows it in the world at the given frame rate. The robots
+     * of the view only follow the snapshots of the engine, so the world does not wait after their actions.
+     *
+     * @param view     the game which shows the snapshots
+     * @param recorder the listener which records the metrics of the game or {@code null}
+     * @throws IOException if the replay log cannot be written
+     */
+    private void playLive(Checkers view, GameListener recorder) throws IOException {
+        CheckersConfig config = Checkers.getConfig();
+        CheckersEngine engine = new CheckersEngine(
+            config,
+            gameSeed != null ? GameSeeds.random(gameSeed) : new SplittableRandom()
+        );
+        view.initGame();
+        World.setDelay(0);
+        World.setVisible(true);
+        GameState gameState;
+        ReplayWriter replayWriter = recordPath == null ? null : new ReplayWriter(recordPath, config);
+        try (replayWriter; SnapshotRenderer renderer = new SnapshotRenderer(engine, view::render, framesPerSecond)) {
+            engine.setGameListener(GameListener.both(renderer, GameListener.both(replayWriter, recorder)));
+            engine.initGame();
+            gameState = engine.runGame();
+        }
+        System.out.printf("Final State: %s%n", gameState);
+    }
+
+    /**
+     * Returns the factory of the expectimax white strategy.
+     *
+     * @param config the configuration of the games
+     * @return the factory of the strategy
+     */
+    private Supplier<ExpectimaxWhiteStrategy> expectimax(CheckersConfig config) {
+        int depth = searchDepth;
+        long timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(searchTime);
+        return () -> new ExpectimaxWhiteStrategy(config, depth, timeBudgetNanos);
+    }
+
+    /**
+     * Returns the factory of the Monte Carlo Tree Search black strategy. All strategies share a seed derived from the
+     * master seed, and every search also draws from the random source of its game, so the result of a batch does not
+     * depend on which worker plays which game.
+     *
+     * @param config the configuration of the games
+     * @return the factory of the strategy
+     */
+    private Supplier<MctsBlackStrategy> mcts(CheckersConfig config) {
+        int threads = mctsThreads;
+        long playouts = mctsPlayouts;
+        long timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(mctsTime);
+        long strategySeed = GameSeeds.gameSeed(masterSeed, -1);
+        return () -> new MctsBlackStrategy(config, threads, playouts, timeBudgetNanos, strategySeed);
+    }
+}
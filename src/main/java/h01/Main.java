@@ -1,5 +1,7 @@
 package h01;
 
+import java.io.IOException;
+
 /**
  * A class containing the entry point of this program.
  */
@@ -7,12 +9,15 @@ public class Main {
 
     /**
      * Executes this program.
+     * <p>
+     * Without arguments, a single game is played in the world. The supported options and the modes which they select
+     * are described by {@link CommandLine}.
      *
-     * @param args ignored
+     * @param args the command line arguments
+     * @throws IOException if a replay log or a result file cannot be written or read or the connection to the server
+     *                     fails
      */
-    public static void main(String[] args) {
-        Checkers checkers = new Checkers();
-        checkers.initGame();
-        checkers.runGame();
+    public static void main(String[] args) throws IOException {
+        CommandLine.parse(args).run();
     }
 }
@@ -0,0 +1,19 @@
+package h01;
+
+/**
+ * {@link MoveMode} defines how the robot of a black stone carries out a diagonal move.
+ */
+public enum MoveMode {
+
+    /**
+     * The robot moves with up to two calls of {@code move()} and up to three calls of {@code turnLeft()}, so every
+     * step is recorded and shown in the world.
+     */
+    STEPS,
+
+    /**
+     * The robot is placed on the target field and turned to its final direction directly, so a move records one
+     * transition for the field and one for the direction instead of up to five.
+     */
+    TELEPORT
+}
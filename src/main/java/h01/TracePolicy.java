@@ -0,0 +1,98 @@
+package h01;
+
+import fopbot.Robot;
+import fopbot.RobotTrace;
+import fopbot.Transition;
+import fopbot.World;
+
+import java.util.List;
+
+/**
+ * {@link TracePolicy} limits the number of transitions the world keeps in the trace of a robot.
+ * <p>
+ * The world records every action of every robot. A limited policy keeps only the most recent transitions of a
+ * robot, like a ring buffer. The oldest transitions are dropped in batches, so at least {@link #maxTransitions()}
+ * and at most twice as many transitions are kept. Removing one transition per action would move all remaining
+ * transitions every time.
+ *
+ * @param maxTransitions the number of most recent transitions to keep or {@code -1} to keep all transitions
+ */
+public record TracePolicy(int maxTransitions) {
+
+    /**
+     * The policy which keeps all transitions.
+     */
+    public static final TracePolicy FULL = new TracePolicy(-1);
+
+    /**
+     * The policy which does not keep any transitions.
+     */
+    public static final TracePolicy OFF = new TracePolicy(0);
+
+    /**
+     * Creates a new {@link TracePolicy}.
+     *
+     * @param maxTransitions the number of most recent transitions to keep or {@code -1} to keep all transitions
+     */
+    public TracePolicy {
+        if (maxTransitions < -1) {
+            throw new IllegalArgumentException("invalid number of transitions: " + maxTransitions);
+        }
+    }
+
+    /**
+     * Returns the policy which keeps the given number of most recent transitions.
+     *
+     * @param maxTransitions the number of transitions to keep
+     * @return the policy which keeps the most recent transitions
+     * @throws IllegalArgumentException if the number of transitions is negative
+     */
+    public static TracePolicy last(int maxTransitions) {
+        if (maxTransitions < 0) {
+            throw new IllegalArgumentException("number of transitions must not be negative: " + maxTransitions);
+        }
+        return new TracePolicy(maxTransitions);
+    }
+
+    /**
+     * Parses a policy in the format {@code full}, {@code off} or {@code last:<transitions>}.
+     *
+     * @param policy the policy to parse
+     * @return the parsed policy
+     * @throws IllegalArgumentException if the policy is unknown or the number of transitions is invalid
+     */
+    public static TracePolicy parse(String policy) {
+        if (policy.equalsIgnoreCase("full")) {
+            return FULL;
+        } else if (policy.equalsIgnoreCase("off")) {
+            return OFF;
+        } else if (policy.regionMatches(true, 0, "last:", 0, 5)) {
+            return last(Integer.parseInt(policy.substring(5)));
+        }
+        throw new IllegalArgumentException("unknown trace policy: " + policy);
+    }
+
+    /**
+     * Drops the oldest transitions of the given robot according to this policy.
+     *
+     * @param robot the robot whose trace is limited
+     */
+    public void apply(Robot robot) {
+        if (maxTransitions < 0) {
+            return;
+        }
+        RobotTrace trace = World.getGlobalWorld().getTrace(robot);
+        if (trace == null) {
+            return;
+        }
+        List<Transition> transitions = trace.getTransitions();
+        if (transitions.size() > 2 * maxTransitions) {
+            transitions.subList(0, transitions.size() - maxTransitions).clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return maxTransitions < 0 ? "full" : maxTransitions == 0 ? "off" : "last:" + maxTransitions;
+    }
+}
@@ -0,0 +1,135 @@
+package h01.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BatchResult} is the aggregated result of a batch of games.
+ *
+ * @param masterSeed      the master seed from which the seeds of all games were derived
+ * @param whiteWins       the number of games won by the white team
+ * @param blackWins       the number of games won by the black team
+ * @param minTurns        the minimum number of turns of a game
+ * @param maxTurns        the maximum number of turns of a game
+ * @param meanTurns       the mean number of turns of a game
+ * @param stdDevTurns     the standard deviation of the number of turns of a game
+ * @param longestGameSeed the seed of the game with the maximum number of turns
+ * @param elapsedNanos    the time needed to play all games in nanoseconds
+ */
+public record BatchResult(
+    long masterSeed,
+    long whiteWins,
+    long blackWins,
+    int minTurns,
+    int maxTurns,
+    double meanTurns,
+    double stdDevTurns,
+    long longestGameSeed,
+    long elapsedNanos
+) {
+
+    /**
+     * The quantile of the standard normal distribution for a two-sided confidence level of 95%.
+     */
+    private static final double Z_95 = 1.959963984540054;
+
+    /**
+     * Returns the number of played games.
+     *
+     * @return the number of played games
+     */
+    public long numberOfGames() {
+        return whiteWins + blackWins;
+    }
+
+    /**
+     * Returns the fraction of games won by the white team.
+     *
+     * @return the fraction of games won by the white team
+     */
+    public double whiteWinRate() {
+        return numberOfGames() == 0 ? 0 : (double) whiteWins / numberOfGames();
+    }
+
+    /**
+     * Returns the fraction of games won by the black team.
+     *
+     * @return the fraction of games won by the black team
+     */
+    public double blackWinRate() {
+        return numberOfGames() == 0 ? 0 : (double) blackWins / numberOfGames();
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the probability that the white team wins, using the
+     * normal approximation of the binomial distribution.
+     *
+     * @return the margin of error of {@link #whiteWinRate()}
+     */
+    public double whiteWinRateMargin() {
+        long games = numberOfGames();
+        return games == 0 ? 0 : Z_95 * Math.sqrt(whiteWinRate() * blackWinRate() / games);
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the expected number of turns of a game.
+     *
+     * @return the margin of error of {@link #meanTurns()}
+     */
+    public double meanTurnsMargin() {
+        long games = numberOfGames();
+        return games == 0 ? 0 : Z_95 * stdDevTurns / Math.sqrt(games);
+    }
+
+    /**
+     * Returns the number of games played per second.
+     *
+     * @return the number of games played per second
+     */
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : numberOfGames() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Returns a copy of this result with the given elapsed time.
+     *
+     * @param elapsedNanos the time needed to play all games in nanoseconds
+     * @return a copy of this result with the given elapsed time
+     */
+    public BatchResult withElapsedNanos(long elapsedNanos) {
+        return new BatchResult(
+            masterSeed,
+            whiteWins,
+            blackWins,
+            minTurns,
+            maxTurns,
+            meanTurns,
+            stdDevTurns,
+            longestGameSeed,
+            elapsedNanos
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Seed: %d%nGames: %d%nWHITE_WIN: %d (%.4f +/- %.4f)%nBLACK_WIN: %d (%.4f)%n"
+                + "Turns: min=%d, max=%d (game seed %d), mean=%.3f +/- %.3f, stddev=%.3f%n"
+                + "Throughput: %.0f games/s (%.3f s)",
+            masterSeed,
+            numberOfGames(),
+            whiteWins,
+            whiteWinRate(),
+            whiteWinRateMargin(),
+            blackWins,
+            blackWinRate(),
+            minTurns,
+            maxTurns,
+            longestGameSeed,
+            meanTurns,
+            meanTurnsMargin(),
+            stdDevTurns,
+            gamesPerSecond(),
+            elapsedNanos / 1e9
+        );
+    }
+}
@@ -0,0 +1,289 @@
+package h01.batch;
+
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameListener;
+import h01.engine.WhiteStrategy;
+import h01.metrics.GameMetrics;
+import h01.replay.ReplayWriter;
+import h01.results.ResultWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * {@link BatchRunner} plays many independent games with the headless {@link CheckersEngine} on a fixed pool of
+ * worker threads.
+ * <p>
+ * The workers claim games in chunks from a shared counter of a {@link ChunkedRunner}, so fast workers take over the
+ * work of slow ones. Every worker reuses a single engine and records its results in its own {@link GameStatistics},
+ * so the workers do not share any mutable state except the counter.
+ * <p>
+ * Every game is played with its own source of randomness, seeded by {@link GameSeeds} from the master seed of the
+ * runner and the index of the game. The result of a batch therefore does not depend on the number of threads or on
+ * the order in which the games are played, and a single game can be replayed from its seed.
+ */
+public class BatchRunner {
+
+    /**
+     * The number of games a worker claims at once.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The configuration of all games.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The master seed from which the seeds of all games are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * The directory the replay logs of the workers are written to or {@code null} if no games are recorded.
+     */
+    private Path replayDirectory;
+
+    /**
+     * The directory the result files of the workers are written to or {@code null} if no rows are written.
+     */
+    private Path resultDirectory;
+
+    /**
+     * The factory of the white strategy of every worker or {@code null} for the default rules.
+     */
+    private Supplier<? extends WhiteStrategy> whiteStrategy;
+
+    /**
+     * The factory of the black strategy of every worker or {@code null} for random choices.
+     */
+    private Supplier<? extends BlackStrategy> blackStrategy;
+
+    /**
+     * The metrics all workers record their games into or {@code null} if no metrics are recorded.
+     */
+    private GameMetrics metrics;
+
+    /**
+     * Creates a new {@link BatchRunner} with a random master seed.
+     *
+     * @param config          the configuration of all games
+     * @param numberOfThreads the number of worker threads
+     */
+    public BatchRunner(CheckersConfig config, int numberOfThreads) {
+        this(config, numberOfThreads, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new {@link BatchRunner}.
+     *
+     * @param config          the configuration of all games
+     * @param numberOfThreads the number of worker threads
+     * @param masterSeed      the master seed from which the seeds of all games are derived
+     */
+    public BatchRunner(CheckersConfig config, int numberOfThreads, long masterSeed) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        this.config = config;
+        this.numberOfThreads = numberOfThreads;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Returns the master seed from which the seeds of all games are derived.
+     *
+     * @return the master seed
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Sets the directory the games are recorded to. Every worker writes its games to its own replay log
+     * {@code worker-<index>.replay}, and the id of a game in the log is its index in the batch.
+     *
+     * @param replayDirectory the directory of the replay logs or {@code null} to not record any games
+     */
+    public void setReplayDirectory(Path replayDirectory) {
+        this.replayDirectory = replayDirectory;
+    }
+
+    /**
+     * Sets the directory the results of the single games are written to. Every worker writes one row per game to its
+     * own result file {@code worker-<index>.results}, see {@link ResultWriter}.
+     *
+     * @param resultDirectory the directory of the result files or {@code null} to not write any rows
+     */
+    public void setResultDirectory(Path resultDirectory) {
+        this.resultDirectory = resultDirectory;
+    }
+
+    /**
+     * Sets the factory of the strategy which chooses the captures of the white stone. Every worker creates its own
+     * strategy, so a strategy does not have to be thread-safe.
+     *
+     * @param whiteStrategy the factory of the white strategy or {@code null} for the default rules
+     */
+    public void setWhiteStrategy(Supplier<? extends WhiteStrategy> whiteStrategy) {
+        this.whiteStrategy = whiteStrategy;
+    }
+
+    /**
+     * Sets the factory of the strategy which chooses the black stone of every action. Every worker creates its own
+     * strategy, and a strategy which is {@link AutoCloseable} is closed when the worker is done.
+     * <p>
+     * A strategy which draws its own random numbers makes the result depend on which worker plays which game, so
+     * only a strategy which is deterministic or draws from the random source of the engine, which is seeded for every
+     * game, keeps the result independent of the number of threads.
+     *
+     * @param blackStrategy the factory of the black strategy or {@code null} for random choices
+     */
+    public void setBlackStrategy(Supplier<? extends BlackStrategy> blackStrategy) {
+        this.blackStrategy = blackStrategy;
+    }
+
+    /**
+     * Sets the metrics all workers record their games into.
+     *
+     * @param metrics the metrics or {@code null} to not record any metrics
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Plays the given number of games and returns their aggregated result.
+     *
+     * @param numberOfGames the number of games to play
+     * @return the aggregated result of all games
+     */
+    public BatchResult run(long numberOfGames) {
+        return run(0, numberOfGames);
+    }
+
+    /**
+     * Plays the games with the given range of indices and returns their aggregated result.
+     * <p>
+     * Disjoint ranges of the same master seed play disjoint sets of games, so a large batch can be split across
+     * several runs.
+     *
+     * @param firstGame     the index of the first game to play
+     * @param numberOfGames the number of games to play
+     * @return the aggregated result of all games
+     */
+    public BatchResult run(long firstGame, long numberOfGames) {
+        ChunkedRunner runner = new ChunkedRunner("batch run", numberOfThreads, CHUNK_SIZE, masterSeed);
+        long start = System.nanoTime();
+        BatchResult result = runner.run(1, firstGame, numberOfGames, Worker::new).get(0);
+        return result.withElapsedNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * {@link Worker} plays the chunks claimed by one worker thread with its own engine, writers and strategies.
+     */
+    private final class Worker implements ChunkedRunner.Worker {
+
+        /**
+         * The engine which plays all games of the worker.
+         */
+        private final CheckersEngine engine = new CheckersEngine(config, GameSeeds.random(masterSeed));
+
+        /**
+         * The replay log of the worker or {@code null} if no games are recorded.
+         */
+        private final ReplayWriter replayWriter;
+
+        /**
+         * The result file of the worker or {@code null} if no rows are written.
+         */
+        private final ResultWriter resultWriter;
+
+        /**
+         * The black strategy of the worker or {@code null} for random choices.
+         */
+        private final BlackStrategy black;
+
+        /**
+         * Creates a new {@link Worker} and opens its replay log and result file. If the worker cannot be created, the
+         * writers and the strategy opened so far are closed again.
+         *
+         * @param index the index of the worker
+         * @throws IOException if the replay log or the result file cannot be opened
+         */
+        private Worker(int index) throws IOException {
+            try {
+                replayWriter = replayDirectory == null
+                    ? null
+                    : new ReplayWriter(replayDirectory.resolve("worker-" + index + ".replay"), config);
+                resultWriter = resultDirectory == null
+                    ? null
+                    : new ResultWriter(resultDirectory.resolve("worker-" + index + ".results"), masterSeed, config);
+                engine.setGameListener(GameListener.both(replayWriter, metrics == null ? null : metrics.newRecorder()));
+                if (whiteStrategy != null) {
+                    engine.setWhiteStrategy(whiteStrategy.get());
+                }
+                black = blackStrategy == null ? null : blackStrategy.get();
+                engine.setBlackStrategy(black);
+            } catch (Throwable e) {
+                try {
+                    close();
+                } catch (Exception suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Plays a chunk of games of the batch, the only cell of the runner.
+         *
+         * @param cell       the index of the cell, always {@code 0}
+         * @param first      the index of the first game of the chunk
+         * @param end        the index after the last game of the chunk
+         * @param statistics the statistics to record the games into
+         * @throws IOException if the replay log or the result file cannot be written
+         */
+        @Override
+        public void playGames(int cell, long first, long end, GameStatistics statistics) throws IOException {
+            for (long game = first; game < end; game++) {
+                long gameSeed = GameSeeds.gameSeed(masterSeed, game);
+                engine.setRandom(GameSeeds.random(gameSeed));
+                if (replayWriter != null) {
+                    replayWriter.setGameId(game);
+                }
+                engine.initGame();
+                statistics.record(engine.runGame(), engine.getNumberOfTurns(), gameSeed);
+                if (resultWriter != null) {
+                    resultWriter.write(game, gameSeed, engine);
+                }
+            }
+        }
+
+        /**
+         * Closes the replay log, the result file and the black strategy of the worker, even if closing one of them
+         * fails.
+         *
+         * @throws Exception if a writer or the black strategy cannot be closed
+         */
+        @Override
+        public void close() throws Exception {
+            try (replayWriter; resultWriter) {
+                // Closes both writers, even if closing the first one fails
+            } finally {
+                if (black instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+        }
+    }
+}
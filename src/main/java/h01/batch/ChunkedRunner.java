@@ -0,0 +1,208 @@
+package h01.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ChunkedRunner} plays the games of one or more cells, e.g. the pairs of strategies of a tournament, on a fixed
+ * pool of worker threads.
+ * <p>
+ * Every cell plays the games with the same range of indices. The games of all cells are split into chunks which the
+ * workers claim from a shared counter, so fast workers take over the work of slow ones and all workers stay busy
+ * until the last chunk, even if some cells play much slower than others. The chunks of a cell are numbered
+ * consecutively, so a worker usually plays several chunks of the same cell one after another.
+ * <p>
+ * Every worker plays its chunks with its own {@link Worker} and records the results in its own
+ * {@link GameStatistics} per cell, so the workers do not share any mutable state except the counter. The statistics
+ * of all workers are merged after all workers have finished.
+ */
+public class ChunkedRunner {
+
+    /**
+     * The name of the run in error messages, e.g. {@code "tournament"}.
+     */
+    private final String name;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The number of games a worker claims at once.
+     */
+    private final int chunkSize;
+
+    /**
+     * The master seed from which the seeds of all games are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * Creates a new {@link ChunkedRunner}.
+     *
+     * @param name            the name of the run in error messages, e.g. {@code "tournament"}
+     * @param numberOfThreads the number of worker threads
+     * @param chunkSize       the number of games a worker claims at once
+     * @param masterSeed      the master seed from which the seeds of all games are derived
+     * @throws IllegalArgumentException if the number of threads or the chunk size is not positive
+     */
+    public ChunkedRunner(String name, int numberOfThreads, int chunkSize, long masterSeed) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        }
+        this.name = name;
+        this.numberOfThreads = numberOfThreads;
+        this.chunkSize = chunkSize;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Plays the games with the given range of indices for every cell and returns the results of the cells.
+     * <p>
+     * The elapsed time of the result of a cell is the time the workers spent on the games of the cell, summed over
+     * all workers.
+     *
+     * @param numberOfCells the number of cells
+     * @param firstGame     the index of the first game of every cell
+     * @param numberOfGames the number of games of every cell
+     * @param workers       the factory of the worker of every thread
+     * @return the results of all cells
+     * @throws IllegalArgumentException if the range of games is invalid
+     * @throws IllegalStateException    if the run is interrupted or a game fails
+     */
+    public List<BatchResult> run(int numberOfCells, long firstGame, long numberOfGames, WorkerFactory workers) {
+        if (firstGame < 0 || numberOfGames < 0) {
+            throw new IllegalArgumentException("invalid range of games: " + firstGame + ", " + numberOfGames);
+        }
+        long chunksPerCell = (numberOfGames + chunkSize - 1) / chunkSize;
+        long numberOfChunks = chunksPerCell * numberOfCells;
+        long endGame = firstGame + numberOfGames;
+        AtomicLong nextChunk = new AtomicLong();
+        List<Callable<Share>> tasks = new ArrayList<>(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            int index = i;
+            tasks.add(() -> {
+                Share share = new Share(numberOfCells);
+                Worker worker = workers.create(index);
+                try {
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < numberOfChunks) {
+                        int cell = (int) (chunk / chunksPerCell);
+                        long first = firstGame + chunk % chunksPerCell * chunkSize;
+                        long start = System.nanoTime();
+                        worker.playGames(cell, first, Math.min(first + chunkSize, endGame), share.statistics[cell]);
+                        share.nanos[cell] += System.nanoTime() - start;
+                    }
+                } finally {
+                    worker.close();
+                }
+                return share;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            Share total = new Share(numberOfCells);
+            for (Future<Share> future : executor.invokeAll(tasks)) {
+                Share share = future.get();
+                for (int cell = 0; cell < numberOfCells; cell++) {
+                    total.statistics[cell].merge(share.statistics[cell]);
+                    total.nanos[cell] += share.nanos[cell];
+                }
+            }
+            List<BatchResult> results = new ArrayList<>(numberOfCells);
+            for (int cell = 0; cell < numberOfCells; cell++) {
+                results.add(total.statistics[cell].toResult(masterSeed, total.nanos[cell]));
+            }
+            return List.copyOf(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * {@link Worker} plays the chunks claimed by one worker thread. A worker is only used by its own thread, so it does
+     * not have to be thread-safe, and it is closed when all chunks have been claimed.
+     */
+    public interface Worker {
+
+        /**
+         * Plays a chunk of games of one cell.
+         *
+         * @param cell       the index of the cell
+         * @param first      the index of the first game of the chunk
+         * @param end        the index after the last game of the chunk
+         * @param statistics the statistics of the cell to record the games into
+         * @throws Exception if a game cannot be played or recorded
+         */
+        void playGames(int cell, long first, long end, GameStatistics statistics) throws Exception;
+
+        /**
+         * Releases the resources of the worker. The default implementation does nothing.
+         *
+         * @throws Exception if a resource cannot be released
+         */
+        default void close() throws Exception {
+        }
+    }
+
+    /**
+     * {@link WorkerFactory} creates the {@link Worker} of every worker thread.
+     */
+    @FunctionalInterface
+    public interface WorkerFactory {
+
+        /**
+         * Creates the worker of a worker thread.
+         *
+         * @param index the index of the worker thread
+         * @return the new worker
+         * @throws Exception if the worker cannot be created
+         */
+        Worker create(int index) throws Exception;
+    }
+
+    /**
+     * {@link Share} holds the statistics and the time of every cell of one worker thread.
+     */
+    private static final class Share {
+
+        /**
+         * The statistics of the games of every cell.
+         */
+        private final GameStatistics[] statistics;
+
+        /**
+         * The time spent on the games of every cell in nanoseconds.
+         */
+        private final long[] nanos;
+
+        /**
+         * Creates a new {@link Share} without any games.
+         *
+         * @param numberOfCells the number of cells
+         */
+        private Share(int numberOfCells) {
+            statistics = new GameStatistics[numberOfCells];
+            nanos = new long[numberOfCells];
+            for (int cell = 0; cell < numberOfCells; cell++) {
+                statistics[cell] = new GameStatistics();
+            }
+        }
+    }
+}
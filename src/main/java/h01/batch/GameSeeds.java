@@ -0,0 +1,46 @@
+package h01.batch;
+
+import java.util.SplittableRandom;
+
+/**
+ * {@link GameSeeds} derives independent per-game seeds from one master seed.
+ * <p>
+ * The seed of a game depends only on the master seed and the index of the game, not on the thread which plays it.
+ * This makes batches reproducible and allows splitting a batch into disjoint ranges of game indices, e.g. to run
+ * them on different machines. The derivation is the SplitMix64 sequence of the master seed, which is also the
+ * sequence of seeds produced by {@link SplittableRandom#nextLong()}.
+ */
+public final class GameSeeds {
+
+    /**
+     * The increment of the SplitMix64 sequence.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private GameSeeds() {
+    }
+
+    /**
+     * Returns the seed of the game with the given index.
+     *
+     * @param masterSeed the master seed of the batch
+     * @param game       the index of the game
+     * @return the seed of the game
+     */
+    public static long gameSeed(long masterSeed, long game) {
+        long z = masterSeed + (game + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a new source of randomness for the game with the given seed.
+     *
+     * @param gameSeed the seed of the game
+     * @return the source of randomness of the game
+     */
+    public static SplittableRandom random(long gameSeed) {
+        return new SplittableRandom(gameSeed);
+    }
+}
@@ -0,0 +1,123 @@
+package h01.batch;
+
+import h01.GameState;
+
+/**
+ * {@link GameStatistics} accumulates the results of finished games in constant memory.
+ * <p>
+ * The mean and the variance of the number of turns are updated with Welford's algorithm and combined with the
+ * parallel variant of Chan et al., so they stay accurate for billions of games, where a sum of squared turns loses
+ * the variance to rounding errors.
+ * <p>
+ * An instance is not thread-safe. Every worker of a {@link ChunkedRunner} uses its own instance, and the instances
+ * are combined with {@link #merge(GameStatistics)} after all workers have finished.
+ */
+public class GameStatistics {
+
+    /**
+     * The number of games won by the white team.
+     */
+    private long whiteWins;
+
+    /**
+     * The number of games won by the black team.
+     */
+    private long blackWins;
+
+    /**
+     * The mean number of turns of all games.
+     */
+    private double meanTurns;
+
+    /**
+     * The sum of the squared differences between the number of turns of every game and the mean.
+     */
+    private double squaredDeviations;
+
+    /**
+     * The minimum number of turns of a game.
+     */
+    private int minTurns = Integer.MAX_VALUE;
+
+    /**
+     * The maximum number of turns of a game or {@code -1} if no game has been recorded.
+     */
+    private int maxTurns = -1;
+
+    /**
+     * The seed of the game with the maximum number of turns. Of several such games, the one with the smallest seed
+     * is kept, so the seed does not depend on the order in which the games are recorded and merged.
+     */
+    private long longestGameSeed;
+
+    /**
+     * Records a finished game.
+     *
+     * @param gameState     the final state of the game
+     * @param numberOfTurns the number of turns of the game
+     * @param gameSeed      the seed of the game
+     */
+    public void record(GameState gameState, int numberOfTurns, long gameSeed) {
+        if (gameState == GameState.WHITE_WIN) {
+            whiteWins++;
+        } else if (gameState == GameState.BLACK_WIN) {
+            blackWins++;
+        } else {
+            throw new IllegalArgumentException("game is still running");
+        }
+        double deviation = numberOfTurns - meanTurns;
+        meanTurns += deviation / (whiteWins + blackWins);
+        squaredDeviations += deviation * (numberOfTurns - meanTurns);
+        minTurns = Math.min(minTurns, numberOfTurns);
+        if (numberOfTurns > maxTurns || numberOfTurns == maxTurns && gameSeed < longestGameSeed) {
+            maxTurns = numberOfTurns;
+            longestGameSeed = gameSeed;
+        }
+    }
+
+    /**
+     * Adds the results of the given statistics to this statistics.
+     *
+     * @param other the statistics to add
+     */
+    public void merge(GameStatistics other) {
+        long games = whiteWins + blackWins;
+        long otherGames = other.whiteWins + other.blackWins;
+        if (otherGames > 0) {
+            double deviation = other.meanTurns - meanTurns;
+            double weight = (double) otherGames / (games + otherGames);
+            meanTurns += deviation * weight;
+            squaredDeviations += other.squaredDeviations + deviation * deviation * games * weight;
+        }
+        whiteWins += other.whiteWins;
+        blackWins += other.blackWins;
+        minTurns = Math.min(minTurns, other.minTurns);
+        if (other.maxTurns > maxTurns || other.maxTurns == maxTurns && other.longestGameSeed < longestGameSeed) {
+            maxTurns = other.maxTurns;
+            longestGameSeed = other.longestGameSeed;
+        }
+    }
+
+    /**
+     * Returns the immutable result of all recorded games.
+     *
+     * @param masterSeed   the master seed of the games
+     * @param elapsedNanos the time needed to play all games in nanoseconds
+     * @return the result of all recorded games
+     */
+    public BatchResult toResult(long masterSeed, long elapsedNanos) {
+        long games = whiteWins + blackWins;
+        double variance = games == 0 ? 0 : squaredDeviations / games;
+        return new BatchResult(
+            masterSeed,
+            whiteWins,
+            blackWins,
+            games == 0 ? 0 : minTurns,
+            games == 0 ? 0 : maxTurns,
+            meanTurns,
+            Math.sqrt(variance),
+            longestGameSeed,
+            elapsedNanos
+        );
+    }
+}
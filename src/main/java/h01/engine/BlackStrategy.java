@@ -0,0 +1,28 @@
+package h01.engine;
+
+/**
+ * {@link BlackStrategy} chooses which black stone makes the action of the black team.
+ * <p>
+ * Without a strategy, the engine chooses one of the eligible black stones uniformly at random, see {@link #RANDOM}.
+ * A strategy is only asked if at least one black stone is eligible, and the chosen black stone then moves to its
+ * first valid target as usual. A strategy may keep state between turns, so every engine needs its own instance.
+ */
+public interface BlackStrategy {
+
+    /**
+     * The default strategy, which chooses one of the eligible black stones uniformly at random with the source of
+     * randomness of the engine. It makes the same choices as an engine without any strategy, so it can take part in a
+     * comparison of strategies.
+     */
+    BlackStrategy RANDOM = engine -> engine.getEligibleStone(
+        engine.getRandom().nextInt(engine.getNumberOfEligibleStones())
+    );
+
+    /**
+     * Chooses the black stone which makes the action of the black team.
+     *
+     * @param engine the game in its current state, which must not be changed
+     * @return the index of one of the eligible black stones, see {@link CheckersEngine#getEligibleStone(int)}
+     */
+    int chooseStone(CheckersEngine engine);
+}
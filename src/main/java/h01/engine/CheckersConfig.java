@@ -0,0 +1,56 @@
+package h01.engine;
+
+/**
+ * {@link CheckersConfig} describes the board and the coin range of a single game of Checkers.
+ *
+ * @param numberOfColumns     the number of columns in the game board
+ * @param numberOfRows        the number of rows in the game board
+ * @param minNumberOfCoins    the minimum initial number of coins for a black stone
+ * @param maxNumberOfCoins    the maximum initial number of coins for a black stone
+ * @param numberOfBlackStones the number of stones in the black team
+ */
+public record CheckersConfig(
+    int numberOfColumns,
+    int numberOfRows,
+    int minNumberOfCoins,
+    int maxNumberOfCoins,
+    int numberOfBlackStones
+) {
+
+    /**
+     * Creates a new {@link CheckersConfig} and validates its values.
+     *
+     * @throws IllegalArgumentException if the board has less than two odd fields, the coin range is empty or the
+     *                                  black team is empty
+     */
+    public CheckersConfig {
+        // The white stone and at least one black stone must be placed on distinct odd fields
+        if (numberOfColumns < 1 || numberOfRows < 1 || (long) numberOfColumns * numberOfRows < 4) {
+            throw new IllegalArgumentException(
+                "board %dx%d has less than two odd fields".formatted(numberOfColumns, numberOfRows)
+            );
+        }
+        if (minNumberOfCoins < 0 || maxNumberOfCoins < minNumberOfCoins) {
+            throw new IllegalArgumentException(
+                "invalid coin range [%d, %d]".formatted(minNumberOfCoins, maxNumberOfCoins)
+            );
+        }
+        if (numberOfBlackStones < 1) {
+            throw new IllegalArgumentException("black team must not be empty: " + numberOfBlackStones);
+        }
+        if ((long) numberOfColumns * numberOfRows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "board %dx%d is too large".formatted(numberOfColumns, numberOfRows)
+            );
+        }
+    }
+
+    /**
+     * Returns the number of fields in the game board.
+     *
+     * @return the number of fields in the game board
+     */
+    public int numberOfFields() {
+        return numberOfColumns * numberOfRows;
+    }
+}
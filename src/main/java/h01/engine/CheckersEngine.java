@@ -0,0 +1,692 @@
+package h01.engine;
+
+import h01.GameState;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link CheckersEngine} is a headless implementation of the rules of {@link h01.Checkers}.
+ * <p>
+ * Instead of robots registered in the global world, the engine encodes all stones as primitive arrays. A field is
+ * addressed by its index {@code y * numberOfColumns + x} and a direction by its index in clockwise order starting
+ * with {@link #UP}. The turned on black stones are stored as a bitboard with one bit per stone and located by a
+ * {@link StoneIndex}, which is sparse on very large boards, so the memory and the time of a turn stay small on boards
+ * of any size.
+ * <p>
+ * The rules are the same as in {@link h01.Checkers} with one exception: if no turned on black stone has any coins
+ * left, the black team cannot make an action anymore and wins the game. {@link h01.Checkers} would search for an
+ * eligible black stone forever in this situation, so every game which ends in {@link h01.Checkers} ends with the
+ * same result in the engine.
+ */
+public class CheckersEngine {
+
+    /**
+     * The index of the direction up.
+     */
+    public static final int UP = 0;
+
+    /**
+     * The index of the direction right.
+     */
+    public static final int RIGHT = 1;
+
+    /**
+     * The index of the direction down.
+     */
+    public static final int DOWN = 2;
+
+    /**
+     * The index of the direction left.
+     */
+    public static final int LEFT = 3;
+
+    /**
+     * The configuration of the game.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The source of randomness of the game.
+     */
+    private RandomGenerator random;
+
+    /**
+     * The current state of the game.
+     */
+    private GameState gameState = GameState.RUNNING;
+
+    /**
+     * The number of turns played by {@link #runGame()}.
+     */
+    private int numberOfTurns;
+
+    /**
+     * The field of the white stone.
+     */
+    private int whiteField;
+
+    /**
+     * The direction of the white stone.
+     */
+    private int whiteDirection;
+
+    /**
+     * The number of black stones.
+     */
+    private final int numberOfBlackStones;
+
+    /**
+     * The fields of the black stones.
+     */
+    private final int[] blackFields;
+
+    /**
+     * The directions of the black stones.
+     */
+    private final byte[] blackDirections;
+
+    /**
+     * The number of coins of the black stones.
+     */
+    private final int[] blackCoins;
+
+    /**
+     * The bitboard of all turned on black stones.
+     */
+    private final long[] turnedOn;
+
+    /**
+     * The number of turned on black stones.
+     */
+    private int numberOfTurnedOnStones;
+
+    /**
+     * The index of the turned on black stones, dense or sparse depending on the board size.
+     */
+    private final StoneIndex stoneIndex;
+
+    /**
+     * The black stones which are turned on and have at least one coin.
+     */
+    private final EligibleStones eligibleStones;
+
+    /**
+     * The sampler for the initial fields of all stones.
+     */
+    private final OddFieldSampler fieldSampler;
+
+    /**
+     * The targets of the moves of the black stones.
+     */
+    private final MoveTable moveTable;
+
+    /**
+     * The listener which is notified about the game or {@code null} if no listener is set.
+     */
+    private GameListener listener;
+
+    /**
+     * The strategy which chooses the captures of the white stone or {@code null} for the default rules.
+     */
+    private WhiteStrategy whiteStrategy;
+
+    /**
+     * The strategy which chooses the black stone of every action or {@code null} for a random choice.
+     */
+    private BlackStrategy blackStrategy;
+
+    /**
+     * The black stones which can be captured, filled for the white strategy.
+     */
+    private final int[] captureStones;
+
+    /**
+     * The landing fields of the possible captures, filled for the white strategy.
+     */
+    private final int[] captureFields;
+
+    /**
+     * The black stone which made an action in the current turn or {@code -1}.
+     */
+    private int lastBlackStone = -1;
+
+    /**
+     * The target the black stone moved to in the current turn or {@code -1}.
+     */
+    private int lastTarget = -1;
+
+    /**
+     * The black stone captured in the current turn or {@code -1}.
+     */
+    private int lastCapturedStone = -1;
+
+    /**
+     * Creates a new {@link CheckersEngine} without any stones.
+     *
+     * @param config the configuration of the game
+     * @param random the source of randomness of the game
+     */
+    public CheckersEngine(CheckersConfig config, RandomGenerator random) {
+        this.config = config;
+        this.random = random;
+        this.numberOfBlackStones = config.numberOfBlackStones();
+        this.blackFields = new int[numberOfBlackStones];
+        this.blackDirections = new byte[numberOfBlackStones];
+        this.blackCoins = new int[numberOfBlackStones];
+        this.turnedOn = new long[(numberOfBlackStones + 63) >>> 6];
+        this.stoneIndex = StoneIndex.create(config.numberOfColumns(), config.numberOfRows(), numberOfBlackStones);
+        this.eligibleStones = new EligibleStones(numberOfBlackStones);
+        this.fieldSampler = new OddFieldSampler(config.numberOfColumns(), config.numberOfRows());
+        this.moveTable = new MoveTable(config.numberOfColumns(), config.numberOfRows());
+        this.captureStones = new int[numberOfBlackStones];
+        this.captureFields = new int[numberOfBlackStones];
+    }
+
+    /**
+     * Sets the source of randomness for all following random decisions, e.g. a freshly seeded generator before
+     * {@link #initGame()} to reproduce a game.
+     *
+     * @param random the source of randomness
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns the source of randomness of the game, e.g. for a strategy which makes the random choices of the default
+     * rules.
+     *
+     * @return the source of randomness
+     */
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * Sets the listener which is notified about the start and the turns of all following games.
+     *
+     * @param listener the listener or {@code null} to remove the listener
+     */
+    public void setGameListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the strategy which chooses the captures of the white stone.
+     *
+     * @param whiteStrategy the strategy or {@code null} to capture the first black stone found, which is the same as
+     *                      {@link WhiteStrategy#FIRST_CAPTURE}
+     */
+    public void setWhiteStrategy(WhiteStrategy whiteStrategy) {
+        // The default rules are played without asking the strategy, since they only need the first capture
+        this.whiteStrategy = whiteStrategy == WhiteStrategy.FIRST_CAPTURE ? null : whiteStrategy;
+    }
+
+    /**
+     * Sets the strategy which chooses the black stone of every action of the black team.
+     *
+     * @param blackStrategy the strategy or {@code null} to choose a random eligible black stone, which is the same as
+     *                      {@link BlackStrategy#RANDOM}
+     */
+    public void setBlackStrategy(BlackStrategy blackStrategy) {
+        this.blackStrategy = blackStrategy == BlackStrategy.RANDOM ? null : blackStrategy;
+    }
+
+    /**
+     * Runs the initialization of the game.
+     */
+    public void initGame() {
+        gameState = GameState.RUNNING;
+        numberOfTurns = 0;
+        initWhiteStone();
+        initBlackStones();
+        if (listener != null) {
+            listener.gameStarted(snapshot());
+        }
+    }
+
+    /**
+     * Runs the game until a team has won.
+     *
+     * @return the final state of the game
+     */
+    public GameState runGame() {
+        while (isRunning()) {
+            doBlackTeamActions();
+            doWhiteTeamActions();
+            updateGameState();
+            numberOfTurns++;
+        }
+        return gameState;
+    }
+
+    /**
+     * Returns {@code true} if the game is running, {@code false} otherwise.
+     *
+     * @return if the game is running
+     */
+    public boolean isRunning() {
+        return gameState == GameState.RUNNING;
+    }
+
+    /**
+     * Returns the current state of the game.
+     *
+     * @return the current state of the game
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Runs the initialization of the white stone.
+     */
+    public void initWhiteStone() {
+        fieldSampler.reset();
+        int field = fieldSampler.next(random);
+        setWhiteStone(field % config.numberOfColumns(), field / config.numberOfColumns(), random.nextInt(4));
+    }
+
+    /**
+     * Runs the initialization of all black stones.
+     */
+    public void initBlackStones() {
+        // Draw distinct odd fields which are not occupied by the white stone
+        fieldSampler.reset(whiteField);
+        for (int stone = 0; stone < numberOfBlackStones; stone++) {
+            int field = fieldSampler.next(random);
+            int direction = random.nextInt(4);
+            int numberOfCoins = random.nextInt(config.minNumberOfCoins(), config.maxNumberOfCoins() + 1);
+            setBlackStone(
+                stone,
+                field % config.numberOfColumns(),
+                field / config.numberOfColumns(),
+                direction,
+                numberOfCoins,
+                true
+            );
+        }
+    }
+
+    /**
+     * Runs the action of the black team.
+     */
+    public void doBlackTeamActions() {
+        // Choose a black stone which is turned on and has at least one coin, at random or by the strategy
+        int stone = blackStrategy == null || eligibleStones.isEmpty()
+            ? eligibleStones.random(random)
+            : blackStrategy.chooseStone(this);
+        if (stone >= 0) {
+            doBlackTeamAction(stone);
+        }
+    }
+
+    /**
+     * Runs the action of the given black stone. This is the action of the black team without any random decision,
+     * e.g. to replay a recorded game.
+     *
+     * @param stone the index of a black stone which is turned on and has at least one coin
+     */
+    public void doBlackTeamAction(int stone) {
+        if (!eligibleStones.contains(stone)) {
+            throw new IllegalArgumentException("black stone %d cannot make an action".formatted(stone));
+        }
+        lastBlackStone = stone;
+        if (--blackCoins[stone] == 0) {
+            eligibleStones.remove(stone);
+        }
+
+        // Move to the first target field which is within the world and not occupied by the white stone
+        int direction = blackDirections[stone];
+        int target = moveTable.firstTarget(getBlackX(stone), getBlackY(stone), direction, whiteField);
+        lastTarget = target;
+        if (target >= 0) {
+            blackFields[stone] = moveTable.targetField(blackFields[stone], direction, target);
+            stoneIndex.move(stone, blackFields[stone]);
+            blackDirections[stone] = (byte) MoveTable.targetDirection(direction, target);
+        }
+    }
+
+    /**
+     * Runs the action of the white team.
+     */
+    public void doWhiteTeamActions() {
+        if (whiteStrategy != null) {
+            int numberOfCaptures = findCaptures(captureStones, captureFields);
+            if (numberOfCaptures > 0) {
+                int capture = whiteStrategy.chooseCapture(this, captureStones, captureFields, numberOfCaptures);
+                captureBlackStone(captureStones[capture], captureFields[capture]);
+            }
+            return;
+        }
+        // The default rules capture the first black stone found
+        if (stoneIndex.findCaptures(whiteField, captureStones, captureFields, 1) > 0) {
+            captureBlackStone(captureStones[0], captureFields[0]);
+        }
+    }
+
+    /**
+     * Finds all black stones the white stone can capture in the order in which the default rules check them, so the
+     * first capture is the one {@link #doWhiteTeamActions()} makes without a strategy.
+     *
+     * @param stones        the array for the black stones which can be captured, with at least one element per
+     *                      black stone
+     * @param landingFields the array for the fields the white stone lands on for each capture
+     * @return the number of possible captures
+     */
+    public int findCaptures(int[] stones, int[] landingFields) {
+        return stoneIndex.findCaptures(whiteField, stones, landingFields, numberOfBlackStones);
+    }
+
+    /**
+     * Captures the given black stone and moves the white stone to the given field. This is the action of the white
+     * team without any search for a capture, e.g. for a {@link WhiteStrategy}.
+     *
+     * @param stone        the index of the captured black stone
+     * @param landingField the field the white stone lands on
+     */
+    public void captureBlackStone(int stone, int landingField) {
+        clearTurnedOn(stone);
+        stoneIndex.remove(stone);
+        eligibleStones.remove(stone);
+        whiteField = landingField;
+        lastCapturedStone = stone;
+    }
+
+    /**
+     * Checks if a team has won the game and, if so, updates the game state to {@link GameState#BLACK_WIN} or
+     * {@link GameState#WHITE_WIN}. This ends the turn, so the listener is notified about the turn.
+     */
+    public void updateGameState() {
+        // Both counters are updated on every action, so no black stone has to be checked
+        if (numberOfTurnedOnStones == 0) {
+            gameState = GameState.WHITE_WIN;
+        } else if (eligibleStones.isEmpty()) {
+            gameState = GameState.BLACK_WIN;
+        }
+        if (listener != null) {
+            listener.turnPlayed(lastBlackStone, lastTarget, lastCapturedStone, gameState);
+        }
+        lastBlackStone = -1;
+        lastTarget = -1;
+        lastCapturedStone = -1;
+    }
+
+    /**
+     * Returns the number of turns played by {@link #runGame()} since the last initialization of the game.
+     *
+     * @return the number of turns
+     */
+    public int getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    /**
+     * Returns the configuration of the game.
+     *
+     * @return the configuration of the game
+     */
+    public CheckersConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the number of black stones.
+     *
+     * @return the number of black stones
+     */
+    public int getNumberOfBlackStones() {
+        return numberOfBlackStones;
+    }
+
+    /**
+     * Returns the number of turned on black stones.
+     *
+     * @return the number of turned on black stones
+     */
+    public int getNumberOfTurnedOnStones() {
+        return numberOfTurnedOnStones;
+    }
+
+    /**
+     * Returns the number of turned on black stones which have at least one coin.
+     *
+     * @return the number of black stones which can make an action
+     */
+    public int getNumberOfEligibleStones() {
+        return eligibleStones.size();
+    }
+
+    /**
+     * Returns the eligible black stone at the given position. The black team chooses the position uniformly at
+     * random, so the positions enumerate all possible actions of the black team.
+     *
+     * @param position the position, less than {@link #getNumberOfEligibleStones()}
+     * @return the index of the black stone
+     */
+    public int getEligibleStone(int position) {
+        return eligibleStones.get(position);
+    }
+
+    /**
+     * Returns the x coordinate of the white stone.
+     *
+     * @return the x coordinate of the white stone
+     */
+    public int getWhiteX() {
+        return whiteField % config.numberOfColumns();
+    }
+
+    /**
+     * Returns the y coordinate of the white stone.
+     *
+     * @return the y coordinate of the white stone
+     */
+    public int getWhiteY() {
+        return whiteField / config.numberOfColumns();
+    }
+
+    /**
+     * Returns the direction index of the white stone.
+     *
+     * @return the direction index of the white stone
+     */
+    public int getWhiteDirection() {
+        return whiteDirection;
+    }
+
+    /**
+     * Returns the x coordinate of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the x coordinate of the black stone
+     */
+    public int getBlackX(int stone) {
+        return blackFields[stone] % config.numberOfColumns();
+    }
+
+    /**
+     * Returns the y coordinate of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the y coordinate of the black stone
+     */
+    public int getBlackY(int stone) {
+        return blackFields[stone] / config.numberOfColumns();
+    }
+
+    /**
+     * Returns the direction index of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the direction index of the black stone
+     */
+    public int getBlackDirection(int stone) {
+        return blackDirections[stone];
+    }
+
+    /**
+     * Returns the number of coins of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the number of coins of the black stone
+     */
+    public int getBlackCoins(int stone) {
+        return blackCoins[stone];
+    }
+
+    /**
+     * Returns {@code true} if the given black stone is turned on, {@code false} otherwise.
+     *
+     * @param stone the index of the black stone
+     * @return if the black stone is turned on
+     */
+    public boolean isBlackStoneTurnedOn(int stone) {
+        return (turnedOn[stone >>> 6] & 1L << stone) != 0;
+    }
+
+    /**
+     * Places the white stone on the given field.
+     *
+     * @param x         the x coordinate of the field
+     * @param y         the y coordinate of the field
+     * @param direction the direction index of the white stone
+     */
+    public void setWhiteStone(int x, int y, int direction) {
+        whiteField = field(x, y);
+        whiteDirection = direction;
+    }
+
+    /**
+     * Places the given black stone on the given field.
+     *
+     * @param stone         the index of the black stone
+     * @param x             the x coordinate of the field
+     * @param y             the y coordinate of the field
+     * @param direction     the direction index of the black stone
+     * @param numberOfCoins the number of coins of the black stone
+     * @param on            if the black stone is turned on
+     */
+    public void setBlackStone(int stone, int x, int y, int direction, int numberOfCoins, boolean on) {
+        blackFields[stone] = field(x, y);
+        blackDirections[stone] = (byte) direction;
+        blackCoins[stone] = numberOfCoins;
+        if (on) {
+            if (!isBlackStoneTurnedOn(stone)) {
+                turnedOn[stone >>> 6] |= 1L << stone;
+                numberOfTurnedOnStones++;
+            }
+            stoneIndex.add(stone, blackFields[stone]);
+        } else {
+            clearTurnedOn(stone);
+            stoneIndex.remove(stone);
+        }
+        eligibleStones.update(stone, on && numberOfCoins > 0);
+    }
+
+    /**
+     * Returns a snapshot of the full state of the game.
+     *
+     * @return the snapshot of the game
+     */
+    public GameSnapshot snapshot() {
+        long[] words = new long[GameSnapshot.length(numberOfBlackStones)];
+        snapshot(words);
+        return new GameSnapshot(words);
+    }
+
+    /**
+     * Writes the full state of the game into the given buffer without any allocation.
+     *
+     * @param words the buffer of {@link GameSnapshot#length(int)} words
+     * @see GameSnapshot
+     */
+    public void snapshot(long[] words) {
+        if (words.length != GameSnapshot.length(numberOfBlackStones)) {
+            throw new IllegalArgumentException("invalid snapshot length: " + words.length);
+        }
+        words[0] = GameSnapshot.encodeHeader(whiteField, whiteDirection, gameState);
+        words[1] = GameSnapshot.encodeCounts(numberOfTurns, eligibleStones.size());
+        for (int stone = 0; stone < numberOfBlackStones; stone++) {
+            words[GameSnapshot.HEADER_LENGTH + stone] = GameSnapshot.encodeStone(
+                blackFields[stone],
+                blackDirections[stone],
+                blackCoins[stone],
+                isBlackStoneTurnedOn(stone)
+            );
+        }
+        // Clear the unused halves, so equal games have equal snapshots
+        Arrays.fill(words, GameSnapshot.HEADER_LENGTH + numberOfBlackStones, words.length, 0);
+        for (int position = 0; position < eligibleStones.size(); position++) {
+            GameSnapshot.setEligibleStone(words, position, eligibleStones.get(position));
+        }
+    }
+
+    /**
+     * Restores the full state of the game from the given snapshot.
+     *
+     * @param snapshot the snapshot of a game with the same number of black stones
+     */
+    public void restore(GameSnapshot snapshot) {
+        restore(snapshot.words());
+    }
+
+    /**
+     * Restores the full state of the game from the given buffer without any allocation.
+     *
+     * @param words the buffer written by {@link #snapshot(long[])}
+     */
+    public void restore(long[] words) {
+        if (words.length != GameSnapshot.length(numberOfBlackStones)) {
+            throw new IllegalArgumentException("invalid snapshot length: " + words.length);
+        }
+        whiteField = GameSnapshot.field(words[0]);
+        whiteDirection = GameSnapshot.direction(words[0]);
+        gameState = GameSnapshot.gameState(words[0]);
+        numberOfTurns = (int) words[1];
+        stoneIndex.clear();
+        eligibleStones.clear();
+        Arrays.fill(turnedOn, 0);
+        numberOfTurnedOnStones = 0;
+        for (int stone = 0; stone < numberOfBlackStones; stone++) {
+            long word = words[GameSnapshot.HEADER_LENGTH + stone];
+            blackFields[stone] = GameSnapshot.field(word);
+            blackDirections[stone] = (byte) GameSnapshot.direction(word);
+            blackCoins[stone] = GameSnapshot.coins(word);
+            if (GameSnapshot.isTurnedOn(word)) {
+                turnedOn[stone >>> 6] |= 1L << stone;
+                numberOfTurnedOnStones++;
+                stoneIndex.add(stone, blackFields[stone]);
+            }
+        }
+        // Restore the order of the eligible stones, so the game continues with the same draws
+        int numberOfEligibleStones = (int) (words[1] >>> 32);
+        for (int position = 0; position < numberOfEligibleStones; position++) {
+            eligibleStones.add(GameSnapshot.eligibleStone(words, position));
+        }
+    }
+
+    /**
+     * Turns off the given black stone.
+     *
+     * @param stone the index of the black stone
+     */
+    private void clearTurnedOn(int stone) {
+        if (isBlackStoneTurnedOn(stone)) {
+            turnedOn[stone >>> 6] &= ~(1L << stone);
+            numberOfTurnedOnStones--;
+        }
+    }
+
+    /**
+     * Returns the index of the field with the given coordinates.
+     *
+     * @param x the x coordinate of the field
+     * @param y the y coordinate of the field
+     * @return the index of the field
+     */
+    private int field(int x, int y) {
+        return y * config.numberOfColumns() + x;
+    }
+}
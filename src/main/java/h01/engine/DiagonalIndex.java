@@ -0,0 +1,235 @@
+package h01.engine;
+
+import java.util.Arrays;
+
+/**
+ * {@link DiagonalIndex} is a sparse {@link StoneIndex} which stores the turned on black stones in buckets by their
+ * diagonals, for boards which are too large for an {@link OccupancyGrid}.
+ * <p>
+ * Every black stone is in two buckets: the one of its rising diagonal, on which {@code x - y} is constant, and the one
+ * of its falling diagonal, on which {@code x + y} is constant. Each family of diagonals has
+ * {@code numberOfColumns + numberOfRows - 1} buckets, so the index needs memory proportional to the perimeter of the
+ * board instead of its area. A capture search only looks at the black stones in the two buckets of the white stone
+ * and sorts them by their distance to the white stone, so it takes time proportional to the number of these stones
+ * and does not depend on the size of the board.
+ */
+public class DiagonalIndex implements StoneIndex {
+
+    /**
+     * The marker for an empty bucket, the end of a list or a black stone which is not in the index.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The direction vectors of the diagonals in the order in which the white stone checks them.
+     */
+    private static final int[][] DIAGONALS = {{1, 1}, {1, -1}, {-1, -1}, {-1, 1}};
+
+    /**
+     * The number of columns of the game board.
+     */
+    private final int numberOfColumns;
+
+    /**
+     * The number of rows of the game board.
+     */
+    private final int numberOfRows;
+
+    /**
+     * The first black stone in the bucket of every rising diagonal, indexed by {@code x - y + numberOfRows - 1}.
+     */
+    private final int[] risingHeads;
+
+    /**
+     * The first black stone in the bucket of every falling diagonal, indexed by {@code x + y}.
+     */
+    private final int[] fallingHeads;
+
+    /**
+     * The next black stone in the same rising bucket for every black stone.
+     */
+    private final int[] risingNext;
+
+    /**
+     * The next black stone in the same falling bucket for every black stone.
+     */
+    private final int[] fallingNext;
+
+    /**
+     * The field of every black stone in the index or {@link #NONE} if the black stone is not in the index.
+     */
+    private final int[] fields;
+
+    /**
+     * The black stones of a searched diagonal, each packed as its distance to the white stone in the high and its
+     * index in the low 32 bits, so sorting orders them like the scan of the default rules.
+     */
+    private final long[] candidates;
+
+    /**
+     * Creates a new empty {@link DiagonalIndex}.
+     *
+     * @param numberOfColumns the number of columns of the game board
+     * @param numberOfRows    the number of rows of the game board
+     * @param numberOfStones  the number of black stones
+     */
+    public DiagonalIndex(int numberOfColumns, int numberOfRows, int numberOfStones) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.risingHeads = new int[numberOfColumns + numberOfRows - 1];
+        this.fallingHeads = new int[numberOfColumns + numberOfRows - 1];
+        this.risingNext = new int[numberOfStones];
+        this.fallingNext = new int[numberOfStones];
+        this.fields = new int[numberOfStones];
+        this.candidates = new long[numberOfStones];
+        Arrays.fill(risingHeads, NONE);
+        Arrays.fill(fallingHeads, NONE);
+        Arrays.fill(fields, NONE);
+    }
+
+    @Override
+    public void add(int stone, int field) {
+        if (fields[stone] != NONE) {
+            remove(stone);
+        }
+        fields[stone] = field;
+        int rising = rising(field);
+        risingNext[stone] = risingHeads[rising];
+        risingHeads[rising] = stone;
+        int falling = falling(field);
+        fallingNext[stone] = fallingHeads[falling];
+        fallingHeads[falling] = stone;
+    }
+
+    @Override
+    public void remove(int stone) {
+        int field = fields[stone];
+        if (field == NONE) {
+            return;
+        }
+        fields[stone] = NONE;
+        int rising = rising(field);
+        if (risingHeads[rising] == stone) {
+            risingHeads[rising] = risingNext[stone];
+        } else {
+            int previous = risingHeads[rising];
+            while (risingNext[previous] != stone) {
+                previous = risingNext[previous];
+            }
+            risingNext[previous] = risingNext[stone];
+        }
+        int falling = falling(field);
+        if (fallingHeads[falling] == stone) {
+            fallingHeads[falling] = fallingNext[stone];
+        } else {
+            int previous = fallingHeads[falling];
+            while (fallingNext[previous] != stone) {
+                previous = fallingNext[previous];
+            }
+            fallingNext[previous] = fallingNext[stone];
+        }
+    }
+
+    @Override
+    public void move(int stone, int field) {
+        if (fields[stone] != field) {
+            add(stone, field);
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Only the buckets of stones in the index are touched, so clearing does not depend on the board size
+        for (int stone = 0; stone < fields.length; stone++) {
+            if (fields[stone] != NONE) {
+                risingHeads[rising(fields[stone])] = NONE;
+                fallingHeads[falling(fields[stone])] = NONE;
+                fields[stone] = NONE;
+            }
+        }
+    }
+
+    @Override
+    public int findCaptures(int whiteField, int[] stones, int[] landingFields, int maxCaptures) {
+        int numberOfCaptures = 0;
+        int wx = whiteField % numberOfColumns;
+        int wy = whiteField / numberOfColumns;
+        for (int[] diagonal : DIAGONALS) {
+            int dx = diagonal[0];
+            int dy = diagonal[1];
+            int numberOfCandidates = collectCandidates(whiteField, wx, dx, dy);
+            for (int i = 0; i < numberOfCandidates; i++) {
+                int distance = (int) (candidates[i] >>> 32);
+                if (i > 0 && distance == (int) (candidates[i - 1] >>> 32)) {
+                    // Only the stone with the lowest index on a field can be captured
+                    continue;
+                }
+                int x = wx + (distance + 1) * dx;
+                int y = wy + (distance + 1) * dy;
+                if (x < 0 || x >= numberOfColumns || y < 0 || y >= numberOfRows) {
+                    // All further stones are even closer to the border
+                    break;
+                }
+                // The field behind the stone is on the same diagonal, so it is occupied by the next candidate if any
+                int next = i + 1;
+                while (next < numberOfCandidates && (int) (candidates[next] >>> 32) == distance) {
+                    next++;
+                }
+                if (next < numberOfCandidates && (int) (candidates[next] >>> 32) == distance + 1) {
+                    continue;
+                }
+                stones[numberOfCaptures] = (int) candidates[i];
+                landingFields[numberOfCaptures] = y * numberOfColumns + x;
+                if (++numberOfCaptures == maxCaptures) {
+                    return numberOfCaptures;
+                }
+            }
+        }
+        return numberOfCaptures;
+    }
+
+    /**
+     * Collects the black stones on the given diagonal of the white stone into {@link #candidates}, sorted by their
+     * distance to the white stone and their index.
+     *
+     * @param whiteField the field of the white stone
+     * @param wx         the x coordinate of the white stone
+     * @param dx         the x coordinate of the direction vector of the diagonal
+     * @param dy         the y coordinate of the direction vector of the diagonal
+     * @return the number of collected black stones
+     */
+    private int collectCandidates(int whiteField, int wx, int dx, int dy) {
+        boolean isRising = dx == dy;
+        int stone = isRising ? risingHeads[rising(whiteField)] : fallingHeads[falling(whiteField)];
+        int numberOfCandidates = 0;
+        while (stone != NONE) {
+            int distance = (fields[stone] % numberOfColumns - wx) * dx;
+            if (distance > 0) {
+                candidates[numberOfCandidates++] = (long) distance << 32 | stone;
+            }
+            stone = isRising ? risingNext[stone] : fallingNext[stone];
+        }
+        Arrays.sort(candidates, 0, numberOfCandidates);
+        return numberOfCandidates;
+    }
+
+    /**
+     * Returns the bucket of the rising diagonal of the given field.
+     *
+     * @param field the index of the field
+     * @return the index of the bucket
+     */
+    private int rising(int field) {
+        return field % numberOfColumns - field / numberOfColumns + numberOfRows - 1;
+    }
+
+    /**
+     * Returns the bucket of the falling diagonal of the given field.
+     *
+     * @param field the index of the field
+     * @return the index of the bucket
+     */
+    private int falling(int field) {
+        return field % numberOfColumns + field / numberOfColumns;
+    }
+}
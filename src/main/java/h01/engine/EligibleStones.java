@@ -0,0 +1,148 @@
+package h01.engine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link EligibleStones} is the set of black stones which can make an action, i.e. which are turned on and have at
+ * least one coin.
+ * <p>
+ * The stones are stored densely in an array. A removed stone is replaced by the last stone of the array, so adding,
+ * removing and choosing a random stone take constant time. The set must be kept in sync by the caller whenever a
+ * black stone is turned off or puts its last coin.
+ */
+public class EligibleStones {
+
+    /**
+     * The marker for a stone which is not in the set.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The stones in the set, the first {@link #size} entries are valid.
+     */
+    private final int[] stones;
+
+    /**
+     * The position of every stone in {@link #stones} or {@link #NONE} if the stone is not in the set.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of stones in the set.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty {@link EligibleStones}.
+     *
+     * @param numberOfStones the number of black stones
+     */
+    public EligibleStones(int numberOfStones) {
+        this.stones = new int[numberOfStones];
+        this.positions = new int[numberOfStones];
+        Arrays.fill(positions, NONE);
+    }
+
+    /**
+     * Returns the number of stones in the set.
+     *
+     * @return the number of stones in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the set does not contain any stone, {@code false} otherwise.
+     *
+     * @return if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if the given stone is in the set, {@code false} otherwise.
+     *
+     * @param stone the index of the black stone
+     * @return if the stone is in the set
+     */
+    public boolean contains(int stone) {
+        return positions[stone] != NONE;
+    }
+
+    /**
+     * Returns the stone at the given position of the set. The positions are the order in which
+     * {@link #random(RandomGenerator)} maps random numbers to stones.
+     *
+     * @param position the position in the set
+     * @return the index of the black stone
+     */
+    public int get(int position) {
+        return stones[position];
+    }
+
+    /**
+     * Adds the given stone to the set. Nothing happens if the stone is already in the set.
+     *
+     * @param stone the index of the black stone
+     */
+    public void add(int stone) {
+        if (positions[stone] == NONE) {
+            positions[stone] = size;
+            stones[size++] = stone;
+        }
+    }
+
+    /**
+     * Removes the given stone from the set. Nothing happens if the stone is not in the set.
+     *
+     * @param stone the index of the black stone
+     */
+    public void remove(int stone) {
+        int position = positions[stone];
+        if (position == NONE) {
+            return;
+        }
+        // Move the last stone into the gap
+        int last = stones[--size];
+        stones[position] = last;
+        positions[last] = position;
+        positions[stone] = NONE;
+    }
+
+    /**
+     * Adds or removes the given stone, depending on whether it can make an action.
+     *
+     * @param stone    the index of the black stone
+     * @param eligible if the stone is turned on and has at least one coin
+     */
+    public void update(int stone, boolean eligible) {
+        if (eligible) {
+            add(stone);
+        } else {
+            remove(stone);
+        }
+    }
+
+    /**
+     * Returns a uniformly chosen stone of the set or {@code -1} if the set is empty.
+     *
+     * @param random the source of randomness
+     * @return the index of the chosen black stone
+     */
+    public int random(RandomGenerator random) {
+        return size == 0 ? NONE : stones[random.nextInt(size)];
+    }
+
+    /**
+     * Removes all stones from the set.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[stones[i]] = NONE;
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package h01.engine;
+
+import h01.GameState;
+
+/**
+ * {@link GameListener} is notified about the start and the turns of a game, e.g. to record the game.
+ * <p>
+ * A turn ends with the update of the game state, so {@link #turnPlayed(int, int, int, GameState)} is called once
+ * per turn after the actions of both teams.
+ */
+public interface GameListener {
+
+    /**
+     * Called after a game has been initialized.
+     *
+     * @param initialState the state of the game before the first turn
+     */
+    void gameStarted(GameSnapshot initialState);
+
+    /**
+     * Called after a turn has been played.
+     *
+     * @param blackStone    the index of the black stone which made an action or {@code -1} if no black stone could
+     *                      make an action
+     * @param target        the index of the {@link MoveTable} target the black stone moved to or {@code -1} if it
+     *                      did not move
+     * @param capturedStone the index of the black stone captured by the white stone or {@code -1} if no black stone
+     *                      was captured
+     * @param gameState     the state of the game after the turn
+     */
+    void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState);
+
+    /**
+     * Returns a listener which notifies both given listeners in order, e.g. to record a game and count its metrics.
+     *
+     * @param first  the first listener or {@code null}
+     * @param second the second listener or {@code null}
+     * @return the listener which notifies both listeners, or one of the listeners if the other one is {@code null}
+     */
+    static GameListener both(GameListener first, GameListener second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return new GameListener() {
+            @Override
+            public void gameStarted(GameSnapshot initialState) {
+                first.gameStarted(initialState);
+                second.gameStarted(initialState);
+            }
+
+            @Override
+            public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+                first.turnPlayed(blackStone, target, capturedStone, gameState);
+                second.turnPlayed(blackStone, target, capturedStone, gameState);
+            }
+        };
+    }
+}
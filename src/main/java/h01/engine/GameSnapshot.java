@@ -0,0 +1,345 @@
+package h01.engine;
+
+import h01.GameState;
+
+import java.util.Arrays;
+
+/**
+ * {@link GameSnapshot} is an immutable copy of the full state of a game, packed into an array of {@code long} words.
+ * <p>
+ * The layout of the words is:
+ * <ol start="0">
+ *     <li>the field of the white stone (31 bits), its direction (2 bits) and the ordinal of the {@link GameState}
+ *     (2 bits)</li>
+ *     <li>the number of turns (32 bits) and the number of eligible black stones (32 bits)</li>
+ *     <li>one word for every black stone: its field (31 bits), its direction (2 bits), whether it is turned on
+ *     (1 bit) and its number of coins (30 bits)</li>
+ *     <li>the eligible black stones in the order of the set they are drawn from, two per word</li>
+ * </ol>
+ * The order of the eligible black stones is part of the snapshot, so a game restored from a snapshot draws the same
+ * black stones as the original game when it continues with an equal source of randomness. The source of randomness
+ * itself is not part of the snapshot.
+ * <p>
+ * A snapshot of a game with {@code n} black stones always has {@link #length(int)} words, so a caller can reuse a
+ * single buffer with {@link CheckersEngine#snapshot(long[])} and {@link CheckersEngine#restore(long[])} without any
+ * allocation. Other implementations of the rules, like {@link h01.Checkers}, write their snapshots with the public
+ * {@code encode} methods.
+ */
+public final class GameSnapshot {
+
+    /**
+     * The maximum number of coins of a black stone which fits into a snapshot.
+     */
+    public static final int MAX_NUMBER_OF_COINS = (1 << 30) - 1;
+
+    /**
+     * The number of words before the words of the black stones.
+     */
+    public static final int HEADER_LENGTH = 2;
+
+    /**
+     * The mask of a field index.
+     */
+    private static final long FIELD_MASK = (1L << 31) - 1;
+
+    /**
+     * The game states indexed by their ordinal.
+     */
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    /**
+     * The packed state of the game.
+     */
+    private final long[] words;
+
+    /**
+     * Creates a new {@link GameSnapshot} which takes ownership of the given words.
+     *
+     * @param words the packed state of the game
+     */
+    GameSnapshot(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Creates a new {@link GameSnapshot} from a copy of the given words, e.g. words read from a file.
+     *
+     * @param words the packed state of the game
+     * @return the snapshot of the words
+     * @throws IllegalArgumentException if the number of words does not match any number of black stones
+     */
+    public static GameSnapshot of(long[] words) {
+        int numberOfBlackStones = numberOfBlackStones(words.length);
+        if (numberOfBlackStones < 1 || length(numberOfBlackStones) != words.length) {
+            throw new IllegalArgumentException("invalid snapshot length: " + words.length);
+        }
+        return new GameSnapshot(words.clone());
+    }
+
+    /**
+     * Returns the number of words of a snapshot of a game with the given number of black stones.
+     *
+     * @param numberOfBlackStones the number of black stones
+     * @return the number of words of a snapshot
+     */
+    public static int length(int numberOfBlackStones) {
+        return HEADER_LENGTH + numberOfBlackStones + (numberOfBlackStones + 1) / 2;
+    }
+
+    /**
+     * Returns the number of black stones of a snapshot with the given number of words.
+     *
+     * @param length the number of words of a snapshot
+     * @return the number of black stones
+     */
+    static int numberOfBlackStones(int length) {
+        // length = HEADER_LENGTH + n + ceil(n / 2), so 2 * (length - HEADER_LENGTH) is 3n or 3n + 1
+        return 2 * (length - HEADER_LENGTH) / 3;
+    }
+
+    /**
+     * Returns the first header word of a snapshot.
+     *
+     * @param whiteField     the field of the white stone
+     * @param whiteDirection the direction of the white stone
+     * @param gameState      the state of the game
+     * @return the first header word
+     */
+    public static long encodeHeader(int whiteField, int whiteDirection, GameState gameState) {
+        return whiteField | (long) whiteDirection << 31 | (long) gameState.ordinal() << 33;
+    }
+
+    /**
+     * Returns the second header word of a snapshot.
+     *
+     * @param numberOfTurns          the number of turns
+     * @param numberOfEligibleStones the number of eligible black stones
+     * @return the second header word
+     */
+    public static long encodeCounts(int numberOfTurns, int numberOfEligibleStones) {
+        return numberOfTurns & 0xFFFFFFFFL | (long) numberOfEligibleStones << 32;
+    }
+
+    /**
+     * Returns the word of a black stone.
+     *
+     * @param field         the field of the black stone
+     * @param direction     the direction of the black stone
+     * @param numberOfCoins the number of coins of the black stone
+     * @param on            if the black stone is turned on
+     * @return the word of the black stone
+     */
+    public static long encodeStone(int field, int direction, int numberOfCoins, boolean on) {
+        if (numberOfCoins > MAX_NUMBER_OF_COINS) {
+            throw new IllegalStateException("too many coins for a snapshot: " + numberOfCoins);
+        }
+        return field | (long) direction << 31 | (on ? 1L << 33 : 0) | (long) numberOfCoins << 34;
+    }
+
+    /**
+     * Returns the field of an encoded stone or of the white stone in a first header word.
+     *
+     * @param word the encoded word
+     * @return the field
+     */
+    static int field(long word) {
+        return (int) (word & FIELD_MASK);
+    }
+
+    /**
+     * Returns the direction of an encoded stone or of the white stone in a first header word.
+     *
+     * @param word the encoded word
+     * @return the direction index
+     */
+    static int direction(long word) {
+        return (int) (word >>> 31) & 3;
+    }
+
+    /**
+     * Returns the game state of a first header word.
+     *
+     * @param word the first header word
+     * @return the state of the game
+     */
+    static GameState gameState(long word) {
+        return GAME_STATES[(int) (word >>> 33) & 3];
+    }
+
+    /**
+     * Returns whether an encoded black stone is turned on.
+     *
+     * @param word the word of the black stone
+     * @return if the black stone is turned on
+     */
+    static boolean isTurnedOn(long word) {
+        return (word & 1L << 33) != 0;
+    }
+
+    /**
+     * Returns the number of coins of an encoded black stone.
+     *
+     * @param word the word of the black stone
+     * @return the number of coins
+     */
+    static int coins(long word) {
+        return (int) (word >>> 34);
+    }
+
+    /**
+     * Returns the eligible black stone at the given position of the packed eligible stones.
+     *
+     * @param words    the packed state of the game
+     * @param position the position in the set of eligible black stones
+     * @return the index of the black stone
+     */
+    static int eligibleStone(long[] words, int position) {
+        int offset = HEADER_LENGTH + numberOfBlackStones(words.length) + (position >>> 1);
+        return (int) (words[offset] >>> ((position & 1) << 5));
+    }
+
+    /**
+     * Stores the eligible black stone at the given position of the packed eligible stones.
+     *
+     * @param words    the packed state of the game
+     * @param position the position in the set of eligible black stones
+     * @param stone    the index of the black stone
+     */
+    public static void setEligibleStone(long[] words, int position, int stone) {
+        int offset = HEADER_LENGTH + numberOfBlackStones(words.length) + (position >>> 1);
+        int shift = (position & 1) << 5;
+        words[offset] = words[offset] & ~(0xFFFFFFFFL << shift) | (stone & 0xFFFFFFFFL) << shift;
+    }
+
+    /**
+     * Returns the eligible black stone at the given position of the set of eligible black stones.
+     *
+     * @param position the position in the set of eligible black stones
+     * @return the index of the black stone
+     */
+    public int eligibleStone(int position) {
+        return eligibleStone(words, position);
+    }
+
+    /**
+     * Returns the packed state of the game.
+     *
+     * @return the packed state, which must not be modified
+     */
+    long[] words() {
+        return words;
+    }
+
+    /**
+     * Returns a copy of the packed state of the game, e.g. to write it to a file.
+     *
+     * @return a copy of the packed state
+     */
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    /**
+     * Returns the number of black stones.
+     *
+     * @return the number of black stones
+     */
+    public int numberOfBlackStones() {
+        return numberOfBlackStones(words.length);
+    }
+
+    /**
+     * Returns the state of the game.
+     *
+     * @return the state of the game
+     */
+    public GameState gameState() {
+        return gameState(words[0]);
+    }
+
+    /**
+     * Returns the number of turns.
+     *
+     * @return the number of turns
+     */
+    public int numberOfTurns() {
+        return (int) words[1];
+    }
+
+    /**
+     * Returns the number of turned on black stones which have at least one coin.
+     *
+     * @return the number of eligible black stones
+     */
+    public int numberOfEligibleStones() {
+        return (int) (words[1] >>> 32);
+    }
+
+    /**
+     * Returns the field of the white stone.
+     *
+     * @return the index of the field of the white stone
+     */
+    public int whiteField() {
+        return field(words[0]);
+    }
+
+    /**
+     * Returns the direction of the white stone.
+     *
+     * @return the direction index of the white stone
+     */
+    public int whiteDirection() {
+        return direction(words[0]);
+    }
+
+    /**
+     * Returns the field of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the index of the field of the black stone
+     */
+    public int blackField(int stone) {
+        return field(words[HEADER_LENGTH + stone]);
+    }
+
+    /**
+     * Returns the direction of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the direction index of the black stone
+     */
+    public int blackDirection(int stone) {
+        return direction(words[HEADER_LENGTH + stone]);
+    }
+
+    /**
+     * Returns the number of coins of the given black stone.
+     *
+     * @param stone the index of the black stone
+     * @return the number of coins of the black stone
+     */
+    public int blackCoins(int stone) {
+        return coins(words[HEADER_LENGTH + stone]);
+    }
+
+    /**
+     * Returns {@code true} if the given black stone is turned on, {@code false} otherwise.
+     *
+     * @param stone the index of the black stone
+     * @return if the black stone is turned on
+     */
+    public boolean isBlackStoneTurnedOn(int stone) {
+        return isTurnedOn(words[HEADER_LENGTH + stone]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameSnapshot other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
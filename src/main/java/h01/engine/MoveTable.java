@@ -0,0 +1,183 @@
+package h01.engine;
+
+import java.util.Arrays;
+
+/**
+ * {@link MoveTable} contains the precomputed target fields of the diagonal moves of a black stone.
+ * <p>
+ * A black stone has four target fields relative to its direction, which it checks in a fixed order. Whether a
+ * target field is within the world only depends on which borders the stone touches, so the table stores the ordered
+ * in-world targets for each of the 16 border classes and each direction. Together with the field offsets of the
+ * targets for the board size, finding the first valid target of a move takes a few array reads and only the field of
+ * the white stone is compared at runtime. The table has a constant size, independent of the board size.
+ * <p>
+ * Directions are indexed in clockwise order starting with {@link CheckersEngine#UP}. The targets are indexed in the
+ * order in which they are checked:
+ * <ol start="0">
+ *     <li>forward and right, facing right afterwards</li>
+ *     <li>forward and left, facing left afterwards</li>
+ *     <li>left and back, facing back afterwards</li>
+ *     <li>back and right, facing right afterwards</li>
+ * </ol>
+ */
+public class MoveTable {
+
+    /**
+     * The x offset of a move in the direction with the given index.
+     */
+    private static final int[] DX = {0, 1, 0, -1};
+
+    /**
+     * The y offset of a move in the direction with the given index.
+     */
+    private static final int[] DY = {1, 0, -1, 0};
+
+    /**
+     * The border class bit of a stone which can move left.
+     */
+    private static final int LEFT_FREE = 1;
+
+    /**
+     * The border class bit of a stone which can move right.
+     */
+    private static final int RIGHT_FREE = 2;
+
+    /**
+     * The border class bit of a stone which can move down.
+     */
+    private static final int DOWN_FREE = 4;
+
+    /**
+     * The border class bit of a stone which can move up.
+     */
+    private static final int UP_FREE = 8;
+
+    /**
+     * The x offsets of the targets, indexed by direction and target.
+     */
+    private static final int[][] TARGET_DX = new int[4][4];
+
+    /**
+     * The y offsets of the targets, indexed by direction and target.
+     */
+    private static final int[][] TARGET_DY = new int[4][4];
+
+    /**
+     * The direction of a black stone after it moved to a target, indexed by direction and target.
+     */
+    private static final int[][] TARGET_DIRECTIONS = new int[4][4];
+
+    /**
+     * The targets within the world in the order in which they are checked, indexed by border class and direction.
+     */
+    private static final int[][][] CANDIDATES = new int[16][4][];
+
+    static {
+        for (int direction = 0; direction < 4; direction++) {
+            int right = (direction + 1) & 3;
+            int back = (direction + 2) & 3;
+            int left = (direction + 3) & 3;
+            int[][] steps = {{direction, right}, {direction, left}, {left, back}, {back, right}};
+            int[] facings = {right, left, back, right};
+            for (int target = 0; target < 4; target++) {
+                TARGET_DX[direction][target] = DX[steps[target][0]] + DX[steps[target][1]];
+                TARGET_DY[direction][target] = DY[steps[target][0]] + DY[steps[target][1]];
+                TARGET_DIRECTIONS[direction][target] = facings[target];
+            }
+        }
+        for (int borderClass = 0; borderClass < 16; borderClass++) {
+            for (int direction = 0; direction < 4; direction++) {
+                int[] candidates = new int[4];
+                int numberOfCandidates = 0;
+                for (int target = 0; target < 4; target++) {
+                    int required = (TARGET_DX[direction][target] > 0 ? RIGHT_FREE : LEFT_FREE)
+                        | (TARGET_DY[direction][target] > 0 ? UP_FREE : DOWN_FREE);
+                    if ((borderClass & required) == required) {
+                        candidates[numberOfCandidates++] = target;
+                    }
+                }
+                CANDIDATES[borderClass][direction] = Arrays.copyOf(candidates, numberOfCandidates);
+            }
+        }
+    }
+
+    /**
+     * The number of columns of the board.
+     */
+    private final int numberOfColumns;
+
+    /**
+     * The number of rows of the board.
+     */
+    private final int numberOfRows;
+
+    /**
+     * The field index offsets of the targets, indexed by direction and target.
+     */
+    private final int[][] targetOffsets = new int[4][4];
+
+    /**
+     * Creates a new {@link MoveTable} for a board of the given size.
+     *
+     * @param numberOfColumns the number of columns of the board
+     * @param numberOfRows    the number of rows of the board
+     */
+    public MoveTable(int numberOfColumns, int numberOfRows) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        for (int direction = 0; direction < 4; direction++) {
+            for (int target = 0; target < 4; target++) {
+                targetOffsets[direction][target] =
+                    TARGET_DY[direction][target] * numberOfColumns + TARGET_DX[direction][target];
+            }
+        }
+    }
+
+    /**
+     * Returns the first target of a black stone which is within the world and not the excluded field, usually the
+     * field of the white stone.
+     *
+     * @param x             the x coordinate of the black stone
+     * @param y             the y coordinate of the black stone
+     * @param direction     the direction index of the black stone
+     * @param excludedField the index of the field the black stone must not move to
+     * @return the index of the target or {@code -1} if the black stone cannot move
+     */
+    public int firstTarget(int x, int y, int direction, int excludedField) {
+        int borderClass = (x > 0 ? LEFT_FREE : 0)
+            | (x < numberOfColumns - 1 ? RIGHT_FREE : 0)
+            | (y > 0 ? DOWN_FREE : 0)
+            | (y < numberOfRows - 1 ? UP_FREE : 0);
+        int field = y * numberOfColumns + x;
+        int[] offsets = targetOffsets[direction];
+        for (int target : CANDIDATES[borderClass][direction]) {
+            if (field + offsets[target] != excludedField) {
+                return target;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the field of the given target of a black stone.
+     *
+     * @param field     the index of the field of the black stone
+     * @param direction the direction index of the black stone
+     * @param target    the index of the target
+     * @return the index of the target field
+     */
+    public int targetField(int field, int direction, int target) {
+        return field + targetOffsets[direction][target];
+    }
+
+    /**
+     * Returns the direction of a black stone after it moved to the given target.
+     *
+     * @param direction the direction index of the black stone before the move
+     * @param target    the index of the target
+     * @return the direction index of the black stone after the move
+     */
+    public static int targetDirection(int direction, int target) {
+        return TARGET_DIRECTIONS[direction][target];
+    }
+}
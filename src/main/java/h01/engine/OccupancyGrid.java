@@ -0,0 +1,173 @@
+package h01.engine;
+
+import java.util.Arrays;
+
+/**
+ * {@link OccupancyGrid} maps every field of the game board to the turned on black stones on it.
+ * <p>
+ * Black stones may share a field, so every field holds the head of a list of stones sorted by their index. The
+ * stone with the lowest index on a field is the one the white stone captures first, which makes the lookup a single
+ * array access. The grid must be kept in sync by the caller on every move and every capture of a black stone.
+ * <p>
+ * The grid needs memory and capture searches proportional to the size of the board, so it only suits small boards,
+ * see {@link StoneIndex#create(int, int, int)}.
+ */
+public class OccupancyGrid implements StoneIndex {
+
+    /**
+     * The marker for an empty field or the end of a list.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The direction vectors of the diagonals in the order in which the white stone checks them.
+     */
+    private static final int[][] DIAGONALS = {{1, 1}, {1, -1}, {-1, -1}, {-1, 1}};
+
+    /**
+     * The number of columns of the game board.
+     */
+    private final int numberOfColumns;
+
+    /**
+     * The number of rows of the game board.
+     */
+    private final int numberOfRows;
+
+    /**
+     * The stone with the lowest index on every field.
+     */
+    private final int[] heads;
+
+    /**
+     * The next stone on the same field for every stone.
+     */
+    private final int[] next;
+
+    /**
+     * The field of every stone in the grid or {@link #NONE} if the stone is not in the grid.
+     */
+    private final int[] fields;
+
+    /**
+     * Creates a new empty {@link OccupancyGrid}.
+     *
+     * @param numberOfColumns the number of columns of the game board
+     * @param numberOfRows    the number of rows of the game board
+     * @param numberOfStones  the number of black stones
+     */
+    public OccupancyGrid(int numberOfColumns, int numberOfRows, int numberOfStones) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfRows = numberOfRows;
+        this.heads = new int[numberOfColumns * numberOfRows];
+        this.next = new int[numberOfStones];
+        this.fields = new int[numberOfStones];
+        Arrays.fill(heads, NONE);
+        Arrays.fill(fields, NONE);
+    }
+
+    /**
+     * Returns {@code true} if a turned on black stone is on the given field, {@code false} otherwise.
+     *
+     * @param field the index of the field
+     * @return if the field is occupied
+     */
+    public boolean isOccupied(int field) {
+        return heads[field] != NONE;
+    }
+
+    /**
+     * Returns the lowest index of a black stone on the given field or {@code -1} if the field is empty.
+     *
+     * @param field the index of the field
+     * @return the index of the black stone on the field
+     */
+    public int stoneAt(int field) {
+        return heads[field];
+    }
+
+    @Override
+    public void add(int stone, int field) {
+        if (fields[stone] != NONE) {
+            remove(stone);
+        }
+        fields[stone] = field;
+        // Keep the list sorted, so the head is always the stone with the lowest index
+        int previous = NONE;
+        int current = heads[field];
+        while (current != NONE && current < stone) {
+            previous = current;
+            current = next[current];
+        }
+        next[stone] = current;
+        if (previous == NONE) {
+            heads[field] = stone;
+        } else {
+            next[previous] = stone;
+        }
+    }
+
+    @Override
+    public void remove(int stone) {
+        int field = fields[stone];
+        if (field == NONE) {
+            return;
+        }
+        fields[stone] = NONE;
+        if (heads[field] == stone) {
+            heads[field] = next[stone];
+            return;
+        }
+        int previous = heads[field];
+        while (next[previous] != stone) {
+            previous = next[previous];
+        }
+        next[previous] = next[stone];
+    }
+
+    @Override
+    public void move(int stone, int field) {
+        if (fields[stone] != field) {
+            add(stone, field);
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Only the fields of stones in the grid are touched, so clearing does not depend on the board size
+        for (int stone = 0; stone < fields.length; stone++) {
+            if (fields[stone] != NONE) {
+                heads[fields[stone]] = NONE;
+                fields[stone] = NONE;
+            }
+        }
+    }
+
+    @Override
+    public int findCaptures(int whiteField, int[] stones, int[] landingFields, int maxCaptures) {
+        int numberOfCaptures = 0;
+        int wx = whiteField % numberOfColumns;
+        int wy = whiteField / numberOfColumns;
+        for (int[] diagonal : DIAGONALS) {
+            int dx = diagonal[0];
+            int dy = diagonal[1];
+            int x = wx + dx;
+            int y = wy + dy;
+            // The white stone jumps over the black stone, so the field behind it must be within the board as well
+            while (x + dx >= 0 && x + dx < numberOfColumns && y + dy >= 0 && y + dy < numberOfRows) {
+                int stone = heads[y * numberOfColumns + x];
+                int landingField = (y + dy) * numberOfColumns + x + dx;
+                if (stone != NONE && heads[landingField] == NONE) {
+                    stones[numberOfCaptures] = stone;
+                    landingFields[numberOfCaptures] = landingField;
+                    if (++numberOfCaptures == maxCaptures) {
+                        return numberOfCaptures;
+                    }
+                }
+                x += dx;
+                y += dy;
+            }
+        }
+        return numberOfCaptures;
+    }
+}
@@ -0,0 +1,251 @@
+package h01.engine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link OddFieldSampler} draws distinct random fields with an odd sum of coordinates without rejection sampling.
+ * <p>
+ * The odd fields of a board are enumerated in row-major order. The enumeration is computed arithmetically from the
+ * board size, so it needs no memory and is shared by every game on a board of that size. Draws are a partial
+ * Fisher-Yates shuffle over the enumeration: only the swapped positions are stored, in a small hash table, so a
+ * sequence of {@code k} draws takes {@code O(k)} time independent of the board size.
+ * <p>
+ * If more fields are drawn than there are odd fields left, the sampler falls back to drawing uniformly from all odd
+ * fields which are not excluded, so stones share fields only on boards which are too small for distinct fields.
+ */
+public class OddFieldSampler {
+
+    /**
+     * The number of columns of the board.
+     */
+    private final int numberOfColumns;
+
+    /**
+     * The number of odd fields of the board.
+     */
+    private final int numberOfOddFields;
+
+    /**
+     * The positions of the shuffle which differ from the identity, used as hash table keys.
+     */
+    private int[] keys = new int[16];
+
+    /**
+     * The values of the shuffle at the positions in {@link #keys}.
+     */
+    private int[] values = new int[16];
+
+    /**
+     * The generation in which a slot of the hash table was written. Slots of older generations are empty.
+     */
+    private int[] generations = new int[16];
+
+    /**
+     * The current generation of the hash table.
+     */
+    private int generation = 1;
+
+    /**
+     * The number of used slots of the hash table in the current generation.
+     */
+    private int size;
+
+    /**
+     * The number of positions of the shuffle which have been drawn or excluded since the last reset.
+     */
+    private int drawn;
+
+    /**
+     * The number of excluded positions at the start of the shuffle.
+     */
+    private int excluded;
+
+    /**
+     * Creates a new {@link OddFieldSampler} for a board of the given size.
+     *
+     * @param numberOfColumns the number of columns of the board
+     * @param numberOfRows    the number of rows of the board
+     */
+    public OddFieldSampler(int numberOfColumns, int numberOfRows) {
+        this.numberOfColumns = numberOfColumns;
+        this.numberOfOddFields = (int) ((long) numberOfColumns * numberOfRows / 2);
+    }
+
+    /**
+     * Returns the number of odd fields of the board.
+     *
+     * @return the number of odd fields
+     */
+    public int numberOfOddFields() {
+        return numberOfOddFields;
+    }
+
+    /**
+     * Starts a new sequence of draws.
+     */
+    public void reset() {
+        // Invalidate all slots at once instead of clearing the hash table
+        if (++generation == 0) {
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+        size = 0;
+        drawn = 0;
+        excluded = 0;
+    }
+
+    /**
+     * Starts a new sequence of draws which never returns the given field. Fields with an even sum of coordinates are
+     * never drawn anyway, so excluding them has no effect.
+     *
+     * @param field the index of the field to exclude
+     */
+    public void reset(int field) {
+        reset();
+        if ((field / numberOfColumns + field % numberOfColumns) % 2 == 0) {
+            return;
+        }
+        swap(0, ordinal(field));
+        drawn = 1;
+        excluded = 1;
+    }
+
+    /**
+     * Returns a random odd field which has not been drawn since the last reset.
+     *
+     * @param random the source of randomness
+     * @return the index of the drawn field
+     * @throws IllegalStateException if the board has no odd field which is not excluded
+     */
+    public int next(RandomGenerator random) {
+        if (drawn == numberOfOddFields) {
+            // All fields have been drawn, draw from all fields which are not excluded
+            if (excluded == numberOfOddFields) {
+                throw new IllegalStateException(
+                    "no odd field left: %d odd fields, %d excluded".formatted(numberOfOddFields, excluded)
+                );
+            }
+            return field(get(excluded + random.nextInt(numberOfOddFields - excluded)));
+        }
+        int position = drawn + random.nextInt(numberOfOddFields - drawn);
+        swap(drawn, position);
+        return field(get(drawn++));
+    }
+
+    /**
+     * Returns the index of the odd field with the given position in the enumeration.
+     *
+     * @param ordinal the position in the enumeration
+     * @return the index of the field
+     */
+    private int field(int ordinal) {
+        if ((numberOfColumns & 1) == 1) {
+            // For an odd number of columns, the parity of the field index equals the parity of x + y
+            return 2 * ordinal + 1;
+        }
+        int fieldsPerRow = numberOfColumns / 2;
+        int y = ordinal / fieldsPerRow;
+        int x = 2 * (ordinal % fieldsPerRow) + ((y + 1) & 1);
+        return y * numberOfColumns + x;
+    }
+
+    /**
+     * Returns the position of the given odd field in the enumeration.
+     *
+     * @param field the index of the field
+     * @return the position in the enumeration
+     */
+    private int ordinal(int field) {
+        if ((numberOfColumns & 1) == 1) {
+            return field / 2;
+        }
+        return field / numberOfColumns * (numberOfColumns / 2) + field % numberOfColumns / 2;
+    }
+
+    /**
+     * Swaps the values of the shuffle at the given positions.
+     *
+     * @param i the first position
+     * @param j the second position
+     */
+    private void swap(int i, int j) {
+        if (i != j) {
+            int value = get(i);
+            put(i, get(j));
+            put(j, value);
+        }
+    }
+
+    /**
+     * Returns the value of the shuffle at the given position.
+     *
+     * @param position the position
+     * @return the value at the position
+     */
+    private int get(int position) {
+        int mask = keys.length - 1;
+        for (int slot = hash(position) & mask; generations[slot] == generation; slot = (slot + 1) & mask) {
+            if (keys[slot] == position) {
+                return values[slot];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Sets the value of the shuffle at the given position.
+     *
+     * @param position the position
+     * @param value    the value at the position
+     */
+    private void put(int position, int value) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = hash(position) & mask;
+        while (generations[slot] == generation) {
+            if (keys[slot] == position) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        generations[slot] = generation;
+        keys[slot] = position;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Doubles the capacity of the hash table and reinserts all entries of the current generation.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int[] oldGenerations = generations;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        generations = new int[oldKeys.length * 2];
+        int oldGeneration = generation;
+        generation = 1;
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldGenerations[slot] == oldGeneration) {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the hash of the given position.
+     *
+     * @param position the position
+     * @return the hash of the position
+     */
+    private static int hash(int position) {
+        int hash = position * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,76 @@
+package h01.engine;
+
+/**
+ * {@link StoneIndex} locates the turned on black stones on the game board, so the white stone can find its captures
+ * without checking every black stone.
+ * <p>
+ * The index must be kept in sync by the caller on every move and every capture of a black stone. Two
+ * implementations exist: the dense {@link OccupancyGrid} with one entry per field, whose capture search walks every
+ * field of the diagonals of the white stone, and the sparse {@link DiagonalIndex} with one bucket per diagonal, whose
+ * capture search only looks at the black stones on the diagonals of the white stone.
+ */
+public interface StoneIndex {
+
+    /**
+     * The maximum number of fields of a board which is indexed by an {@link OccupancyGrid}. Larger boards are indexed
+     * by a {@link DiagonalIndex}, since the grid would need too much memory and its capture search too much time.
+     */
+    long MAX_DENSE_FIELDS = 1 << 20;
+
+    /**
+     * Creates an empty index which suits the given board.
+     *
+     * @param numberOfColumns the number of columns of the board
+     * @param numberOfRows    the number of rows of the board
+     * @param numberOfStones  the number of black stones
+     * @return the index
+     */
+    static StoneIndex create(int numberOfColumns, int numberOfRows, int numberOfStones) {
+        if ((long) numberOfColumns * numberOfRows <= MAX_DENSE_FIELDS) {
+            return new OccupancyGrid(numberOfColumns, numberOfRows, numberOfStones);
+        }
+        return new DiagonalIndex(numberOfColumns, numberOfRows, numberOfStones);
+    }
+
+    /**
+     * Adds the given black stone to the given field.
+     *
+     * @param stone the index of the black stone
+     * @param field the index of the field
+     */
+    void add(int stone, int field);
+
+    /**
+     * Removes the given black stone from the index. Nothing happens if the stone is not in the index.
+     *
+     * @param stone the index of the black stone
+     */
+    void remove(int stone);
+
+    /**
+     * Moves the given black stone to the given field.
+     *
+     * @param stone the index of the black stone
+     * @param field the index of the new field
+     */
+    void move(int stone, int field);
+
+    /**
+     * Removes all black stones from the index.
+     */
+    void clear();
+
+    /**
+     * Finds the black stones the white stone on the given field can capture, in the order in which the default rules
+     * check them: the diagonals up right, down right, down left and up left, each from the white stone outwards. A
+     * black stone can be captured if the field behind it is within the board and not occupied. Of several black
+     * stones on a field, only the one with the lowest index can be captured.
+     *
+     * @param whiteField    the field of the white stone
+     * @param stones        the array for the black stones which can be captured
+     * @param landingFields the array for the fields the white stone lands on for each capture
+     * @param maxCaptures   the maximum number of captures to find, e.g. {@code 1} for the capture of the default rules
+     * @return the number of found captures
+     */
+    int findCaptures(int whiteField, int[] stones, int[] landingFields, int maxCaptures);
+}
@@ -0,0 +1,29 @@
+package h01.engine;
+
+/**
+ * {@link WhiteStrategy} chooses which black stone the white stone captures.
+ * <p>
+ * Without a strategy, the engine captures the first black stone it finds while it checks the diagonals in a fixed
+ * order, see {@link #FIRST_CAPTURE}. A strategy is only asked if at least one black stone can be captured, and the
+ * white stone has to capture one of them. A strategy may keep state between turns, so every engine needs its own
+ * instance.
+ */
+public interface WhiteStrategy {
+
+    /**
+     * The default strategy, which captures the first black stone found. It makes the same choices as an engine without
+     * any strategy, so it can take part in a comparison of strategies.
+     */
+    WhiteStrategy FIRST_CAPTURE = (engine, stones, landingFields, numberOfCaptures) -> 0;
+
+    /**
+     * Chooses one of the possible captures.
+     *
+     * @param engine           the game in its current state, which must not be changed
+     * @param stones           the black stones which can be captured, in the order of the default rules
+     * @param landingFields    the fields the white stone lands on for each capture
+     * @param numberOfCaptures the number of possible captures
+     * @return the index of the chosen capture in the arrays
+     */
+    int chooseCapture(CheckersEngine engine, int[] stones, int[] landingFields, int numberOfCaptures);
+}
@@ -0,0 +1,351 @@
+package h01.metrics;
+
+import h01.GameState;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+import h01.engine.MoveTable;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GameMetrics} counts what the games of one or more engines are doing, e.g. to find regressions of a batch
+ * under load without attaching a profiler.
+ * <p>
+ * Every engine records into the metrics through its own listener, see {@link #newRecorder()}. The counters are
+ * {@link LongAdder}s and {@link Histogram}s, so the workers of a batch can share one instance without contending.
+ * The metrics can be read as a {@link MetricsSnapshot} or through JMX after {@link #register()}.
+ * <p>
+ * The time of a turn is measured between two notifications of the listener, so it includes everything the caller
+ * does between two turns, e.g. the delay of a game in the world. Only every {@value #TURNS_PER_TIMED_TURN}th turn is
+ * timed. The turns of a game are counted locally by its listener and published when the game ends, so the counters of
+ * a running game lag behind by at most one game.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    /**
+     * The name under which the metrics are registered by {@link #register()}.
+     */
+    public static final String OBJECT_NAME = "h01:type=GameMetrics";
+
+    /**
+     * The number of targets of a black stone, see {@link MoveTable}.
+     */
+    private static final int NUMBER_OF_TARGETS = 4;
+
+    /**
+     * The number of turns per turn whose time is measured. Reading the clock costs about as much as a turn of the
+     * engine, so only a sample of the turns is measured.
+     */
+    private static final int TURNS_PER_TIMED_TURN = 8;
+
+    /**
+     * The number of started games.
+     */
+    private final LongAdder gamesStarted = new LongAdder();
+
+    /**
+     * The number of games won by the white team.
+     */
+    private final LongAdder whiteWins = new LongAdder();
+
+    /**
+     * The number of games won by the black team.
+     */
+    private final LongAdder blackWins = new LongAdder();
+
+    /**
+     * The number of played turns.
+     */
+    private final LongAdder turns = new LongAdder();
+
+    /**
+     * The number of moves of black stones per target.
+     */
+    private final LongAdder[] blackMovesByTarget = new LongAdder[NUMBER_OF_TARGETS];
+
+    /**
+     * The number of actions of black stones which could not move to any target.
+     */
+    private final LongAdder blockedBlackActions = new LongAdder();
+
+    /**
+     * The number of captured black stones.
+     */
+    private final LongAdder captures = new LongAdder();
+
+    /**
+     * The number of turns of every finished game.
+     */
+    private final Histogram gameLength = new Histogram();
+
+    /**
+     * The time between two turns of a game in nanoseconds, sampled from every {@value #TURNS_PER_TIMED_TURN}th turn.
+     */
+    private final Histogram turnNanos = new Histogram();
+
+    /**
+     * Creates new {@link GameMetrics} without any recorded values.
+     */
+    public GameMetrics() {
+        for (int target = 0; target < NUMBER_OF_TARGETS; target++) {
+            blackMovesByTarget[target] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns a new listener which records the games of one engine into these metrics. A listener must not be shared
+     * by several engines, since it tracks the current game of its engine.
+     *
+     * @return the new listener
+     */
+    public GameListener newRecorder() {
+        return new Recorder();
+    }
+
+    /**
+     * Returns a snapshot of the recorded values. Values recorded concurrently may or may not be included.
+     *
+     * @return the snapshot of the recorded values
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(
+            gamesStarted.sum(),
+            whiteWins.sum(),
+            blackWins.sum(),
+            turns.sum(),
+            getBlackMovesByTarget(),
+            blockedBlackActions.sum(),
+            captures.sum(),
+            gameLength.snapshot(),
+            turnNanos.snapshot()
+        );
+    }
+
+    /**
+     * Registers the metrics as an MXBean with the name {@link #OBJECT_NAME} in the platform MBean server.
+     *
+     * @throws IllegalStateException if the metrics cannot be registered, e.g. because other metrics are registered
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("metrics cannot be registered", e);
+        }
+    }
+
+    /**
+     * Removes the metrics with the name {@link #OBJECT_NAME} from the platform MBean server.
+     *
+     * @throws IllegalStateException if the metrics cannot be unregistered, e.g. because they are not registered
+     */
+    public void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("metrics cannot be unregistered", e);
+        }
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getWhiteWins() {
+        return whiteWins.sum();
+    }
+
+    @Override
+    public long getBlackWins() {
+        return blackWins.sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public long[] getBlackMovesByTarget() {
+        long[] moves = new long[NUMBER_OF_TARGETS];
+        for (int target = 0; target < NUMBER_OF_TARGETS; target++) {
+            moves[target] = blackMovesByTarget[target].sum();
+        }
+        return moves;
+    }
+
+    @Override
+    public long getBlockedBlackActions() {
+        return blockedBlackActions.sum();
+    }
+
+    @Override
+    public long getCaptures() {
+        return captures.sum();
+    }
+
+    @Override
+    public double getMeanGameLength() {
+        return gameLength.snapshot().mean();
+    }
+
+    @Override
+    public long getGameLengthP99() {
+        return gameLength.snapshot().quantile(0.99);
+    }
+
+    @Override
+    public double getMeanTurnNanos() {
+        return turnNanos.snapshot().mean();
+    }
+
+    @Override
+    public long getTurnNanosP99() {
+        return turnNanos.snapshot().quantile(0.99);
+    }
+
+    @Override
+    public void reset() {
+        gamesStarted.reset();
+        whiteWins.reset();
+        blackWins.reset();
+        turns.reset();
+        for (LongAdder moves : blackMovesByTarget) {
+            moves.reset();
+        }
+        blockedBlackActions.reset();
+        captures.reset();
+        gameLength.reset();
+        turnNanos.reset();
+    }
+
+    /**
+     * Returns the name under which the metrics are registered.
+     *
+     * @return the name of the metrics
+     * @throws MalformedObjectNameException never, since the name is valid
+     */
+    private static ObjectName objectName() throws MalformedObjectNameException {
+        return new ObjectName(OBJECT_NAME);
+    }
+
+    /**
+     * {@link Recorder} records the games of one engine.
+     * <p>
+     * The turns of a game are counted in plain fields and added to the shared counters when the game ends, so a turn
+     * which is not timed costs no atomic operation.
+     */
+    private final class Recorder implements GameListener {
+
+        /**
+         * The time of the start of the timed turn or {@code -1} if the next turn is not timed.
+         */
+        private long startNanos = -1;
+
+        /**
+         * The number of turns until the next timed turn.
+         */
+        private int turnsUntilTimedTurn = 1;
+
+        /**
+         * The number of turns of the current game, including turns before its initial state.
+         */
+        private int numberOfTurns;
+
+        /**
+         * The number of turns of the current game which have not been added to the shared counters.
+         */
+        private int pendingTurns;
+
+        /**
+         * The number of moves per target which have not been added to the shared counters.
+         */
+        private final int[] pendingMoves = new int[NUMBER_OF_TARGETS];
+
+        /**
+         * The number of blocked actions which have not been added to the shared counters.
+         */
+        private int pendingBlockedActions;
+
+        /**
+         * The number of captures which have not been added to the shared counters.
+         */
+        private int pendingCaptures;
+
+        @Override
+        public void gameStarted(GameSnapshot initialState) {
+            // Publish the turns of a game which did not end, e.g. because it was restored from a snapshot
+            flush();
+            gamesStarted.increment();
+            numberOfTurns = initialState.numberOfTurns();
+            startNanos = -1;
+            startTimedTurn();
+        }
+
+        @Override
+        public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+            if (startNanos >= 0) {
+                turnNanos.record(System.nanoTime() - startNanos);
+                startNanos = -1;
+            }
+            numberOfTurns++;
+            pendingTurns++;
+            if (target >= 0) {
+                pendingMoves[target]++;
+            } else if (blackStone >= 0) {
+                pendingBlockedActions++;
+            }
+            if (capturedStone >= 0) {
+                pendingCaptures++;
+            }
+            if (gameState != GameState.RUNNING) {
+                (gameState == GameState.WHITE_WIN ? whiteWins : blackWins).increment();
+                gameLength.record(numberOfTurns);
+                flush();
+            } else {
+                startTimedTurn();
+            }
+        }
+
+        /**
+         * Starts the clock if the next turn is timed.
+         */
+        private void startTimedTurn() {
+            if (--turnsUntilTimedTurn == 0) {
+                turnsUntilTimedTurn = TURNS_PER_TIMED_TURN;
+                startNanos = System.nanoTime();
+            }
+        }
+
+        /**
+         * Adds the pending counts to the shared counters.
+         */
+        private void flush() {
+            if (pendingTurns == 0) {
+                return;
+            }
+            turns.add(pendingTurns);
+            for (int target = 0; target < NUMBER_OF_TARGETS; target++) {
+                if (pendingMoves[target] > 0) {
+                    blackMovesByTarget[target].add(pendingMoves[target]);
+                    pendingMoves[target] = 0;
+                }
+            }
+            if (pendingBlockedActions > 0) {
+                blockedBlackActions.add(pendingBlockedActions);
+            }
+            if (pendingCaptures > 0) {
+                captures.add(pendingCaptures);
+            }
+            pendingTurns = 0;
+            pendingBlockedActions = 0;
+            pendingCaptures = 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package h01.metrics;
+
+/**
+ * {@link GameMetricsMXBean} exposes the counters of {@link GameMetrics} through JMX, e.g. to watch a running batch
+ * in JConsole.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Returns the number of started games.
+     *
+     * @return the number of started games
+     */
+    long getGamesStarted();
+
+    /**
+     * Returns the number of games won by the white team.
+     *
+     * @return the number of games won by the white team
+     */
+    long getWhiteWins();
+
+    /**
+     * Returns the number of games won by the black team.
+     *
+     * @return the number of games won by the black team
+     */
+    long getBlackWins();
+
+    /**
+     * Returns the number of played turns.
+     *
+     * @return the number of played turns
+     */
+    long getTurns();
+
+    /**
+     * Returns the number of moves of black stones to every target, indexed by the target of the {@code MoveTable}.
+     *
+     * @return the number of moves per target
+     */
+    long[] getBlackMovesByTarget();
+
+    /**
+     * Returns the number of actions of black stones which could not move to any target.
+     *
+     * @return the number of blocked actions
+     */
+    long getBlockedBlackActions();
+
+    /**
+     * Returns the number of black stones captured by the white stone.
+     *
+     * @return the number of captures
+     */
+    long getCaptures();
+
+    /**
+     * Returns the mean number of turns of a finished game.
+     *
+     * @return the mean number of turns of a game
+     */
+    double getMeanGameLength();
+
+    /**
+     * Returns an upper bound of the 99th percentile of the number of turns of a finished game.
+     *
+     * @return the 99th percentile of the number of turns of a game
+     */
+    long getGameLengthP99();
+
+    /**
+     * Returns the mean time between two turns of a game in nanoseconds, measured on a sample of the turns.
+     *
+     * @return the mean time of a turn
+     */
+    double getMeanTurnNanos();
+
+    /**
+     * Returns an upper bound of the 99th percentile of the time between two turns of a game in nanoseconds.
+     *
+     * @return the 99th percentile of the time of a turn
+     */
+    long getTurnNanosP99();
+
+    /**
+     * Removes all recorded values.
+     */
+    void reset();
+}
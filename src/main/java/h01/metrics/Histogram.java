@@ -0,0 +1,99 @@
+package h01.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Histogram} counts non-negative values in buckets whose bounds are powers of two.
+ * <p>
+ * Bucket {@code 0} counts the value {@code 0} and bucket {@code i > 0} counts the values in
+ * {@code [2^(i-1), 2^i)}, so 64 buckets cover all values with a relative error of at most a factor of two. Every
+ * bucket is a {@link LongAdder}, so many threads can record values without contending on a single counter.
+ */
+public class Histogram {
+
+    /**
+     * The number of buckets.
+     */
+    public static final int NUMBER_OF_BUCKETS = 64;
+
+    /**
+     * The number of recorded values in every bucket.
+     */
+    private final LongAdder[] buckets = new LongAdder[NUMBER_OF_BUCKETS];
+
+    /**
+     * The sum of all recorded values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The maximum recorded value.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new empty {@link Histogram}.
+     */
+    public Histogram() {
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the given value. Negative values are recorded as {@code 0}.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        buckets[bucket(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns a snapshot of the recorded values. Values recorded concurrently may or may not be included.
+     *
+     * @return the snapshot of the recorded values
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[NUMBER_OF_BUCKETS];
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            counts[bucket] = buckets[bucket].sum();
+        }
+        return new HistogramSnapshot(counts, sum.sum(), max.get());
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns the bucket of the given non-negative value.
+     *
+     * @param value the value
+     * @return the index of the bucket
+     */
+    static int bucket(long value) {
+        return Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Returns the largest value of the given bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value of the bucket
+     */
+    static long upperBound(int bucket) {
+        return bucket == NUMBER_OF_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,79 @@
+package h01.metrics;
+
+import java.util.Arrays;
+
+/**
+ * {@link HistogramSnapshot} is the state of a {@link Histogram} at one point in time.
+ *
+ * @param counts the number of recorded values in every bucket
+ * @param sum    the sum of all recorded values
+ * @param max    the maximum recorded value
+ */
+public record HistogramSnapshot(long[] counts, long sum, long max) {
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long count() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean of the recorded values or {@code 0} if no value was recorded
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns an upper bound of the given quantile of the recorded values, which is at most twice the exact quantile.
+     *
+     * @param quantile the quantile between {@code 0} and {@code 1}, e.g. {@code 0.99}
+     * @return the upper bound of the quantile or {@code 0} if no value was recorded
+     */
+    public long quantile(double quantile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(max, Histogram.upperBound(bucket));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HistogramSnapshot other
+            && Arrays.equals(counts, other.counts)
+            && sum == other.sum
+            && max == other.max;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(counts) + Long.hashCode(sum)) + Long.hashCode(max);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "count=%d, mean=%.1f, p50<=%d, p99<=%d, max=%d",
+            count(),
+            mean(),
+            quantile(0.5),
+            quantile(0.99),
+            max
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package h01.metrics;
+
+import java.util.Arrays;
+
+/**
+ * {@link MetricsSnapshot} is the state of {@link GameMetrics} at one point in time.
+ *
+ * @param gamesStarted         the number of started games
+ * @param whiteWins            the number of games won by the white team
+ * @param blackWins            the number of games won by the black team
+ * @param turns                the number of played turns
+ * @param blackMovesByTarget   the number of moves of black stones per target of the {@code MoveTable}
+ * @param blockedBlackActions  the number of actions of black stones which could not move to any target
+ * @param captures             the number of black stones captured by the white stone
+ * @param gameLength           the number of turns of every finished game
+ * @param turnNanos            the time between two turns of a game in nanoseconds
+ */
+public record MetricsSnapshot(
+    long gamesStarted,
+    long whiteWins,
+    long blackWins,
+    long turns,
+    long[] blackMovesByTarget,
+    long blockedBlackActions,
+    long captures,
+    HistogramSnapshot gameLength,
+    HistogramSnapshot turnNanos
+) {
+
+    /**
+     * Returns the number of actions of black stones.
+     *
+     * @return the number of actions of black stones
+     */
+    public long blackActions() {
+        return Arrays.stream(blackMovesByTarget).sum() + blockedBlackActions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MetricsSnapshot other
+            && gamesStarted == other.gamesStarted
+            && whiteWins == other.whiteWins
+            && blackWins == other.blackWins
+            && turns == other.turns
+            && Arrays.equals(blackMovesByTarget, other.blackMovesByTarget)
+            && blockedBlackActions == other.blockedBlackActions
+            && captures == other.captures
+            && gameLength.equals(other.gameLength)
+            && turnNanos.equals(other.turnNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(gamesStarted);
+        hash = 31 * hash + Long.hashCode(turns);
+        hash = 31 * hash + Arrays.hashCode(blackMovesByTarget);
+        hash = 31 * hash + Long.hashCode(captures);
+        return 31 * hash + gameLength.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Games started: %d (WHITE_WIN: %d, BLACK_WIN: %d)%nTurns: %d%n"
+                + "Black moves by target: %s, blocked: %d%nCaptures: %d%nGame length: %s%nTurn nanos: %s",
+            gamesStarted,
+            whiteWins,
+            blackWins,
+            turns,
+            Arrays.toString(blackMovesByTarget),
+            blockedBlackActions,
+            captures,
+            gameLength,
+            turnNanos
+        );
+    }
+}
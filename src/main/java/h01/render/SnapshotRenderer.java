@@ -0,0 +1,194 @@
+package h01.render;
+
+import h01.GameState;
+import h01.engine.CheckersEngine;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * {@link SnapshotRenderer} shows a game which runs at full speed on a {@link CheckersEngine} at a fixed frame rate,
+ * e.g. in the world of FOPBot, so watching a game does not slow it down.
+ * <p>
+ * The renderer is the listener of the engine and publishes immutable {@link GameSnapshot}s of the game. A separate
+ * render thread shows the latest published snapshot once per frame. The engine only takes a snapshot after the
+ * render thread has asked for the next frame, which costs a volatile read per turn, so the turns between two frames
+ * are dropped without ever being copied. The initial and the final state of a game are always published, and the
+ * final state is shown when the renderer is closed.
+ * <p>
+ * The view is only called by the render thread and, after that thread has stopped, by {@link #close()}, so it does
+ * not have to be thread-safe, but it must not be used by the thread of the engine.
+ */
+public class SnapshotRenderer implements GameListener, AutoCloseable {
+
+    /**
+     * The maximum frame rate.
+     */
+    public static final int MAX_FRAMES_PER_SECOND = 1000;
+
+    /**
+     * The time the renderer waits for the last frame when it is closed, in seconds.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    /**
+     * The engine which plays the game.
+     */
+    private final CheckersEngine engine;
+
+    /**
+     * The view which shows a snapshot.
+     */
+    private final Consumer<GameSnapshot> view;
+
+    /**
+     * The thread which shows the frames.
+     */
+    private final ScheduledExecutorService renderThread;
+
+    /**
+     * The latest published snapshot or {@code null} if no game has started.
+     */
+    private final AtomicReference<GameSnapshot> latest = new AtomicReference<>();
+
+    /**
+     * {@code true} if the render thread waits for a new snapshot, {@code false} if the latest snapshot has not been
+     * shown yet.
+     */
+    private volatile boolean snapshotRequested = true;
+
+    /**
+     * The number of published snapshots.
+     */
+    private final AtomicLong publishedSnapshots = new AtomicLong();
+
+    /**
+     * The number of shown frames.
+     */
+    private final AtomicLong renderedFrames = new AtomicLong();
+
+    /**
+     * The first failure of the view or {@code null} if the view has not failed.
+     */
+    private volatile RuntimeException failure;
+
+    /**
+     * The last shown snapshot, only used by the render thread.
+     */
+    private GameSnapshot rendered;
+
+    /**
+     * Creates a new {@link SnapshotRenderer} and starts its render thread. The renderer still has to be set as the
+     * listener of the engine.
+     *
+     * @param engine          the engine which plays the game
+     * @param view            the view which shows a snapshot
+     * @param framesPerSecond the frame rate, at most {@value #MAX_FRAMES_PER_SECOND}
+     * @throws IllegalArgumentException if the frame rate is not positive or too high
+     */
+    public SnapshotRenderer(CheckersEngine engine, Consumer<GameSnapshot> view, int framesPerSecond) {
+        if (framesPerSecond < 1 || framesPerSecond > MAX_FRAMES_PER_SECOND) {
+            throw new IllegalArgumentException("invalid frame rate: " + framesPerSecond);
+        }
+        this.engine = engine;
+        this.view = view;
+        this.renderThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long frameNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+        renderThread.scheduleAtFixedRate(this::renderFrame, 0, frameNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void gameStarted(GameSnapshot initialState) {
+        publish(initialState);
+    }
+
+    @Override
+    public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+        if (snapshotRequested || gameState != GameState.RUNNING) {
+            publish(engine.snapshot());
+        }
+    }
+
+    /**
+     * Returns the number of snapshots published by the engine.
+     *
+     * @return the number of published snapshots
+     */
+    public long getNumberOfPublishedSnapshots() {
+        return publishedSnapshots.get();
+    }
+
+    /**
+     * Returns the number of frames shown by the view.
+     *
+     * @return the number of shown frames
+     */
+    public long getNumberOfRenderedFrames() {
+        return renderedFrames.get();
+    }
+
+    /**
+     * Stops the render thread and shows the latest snapshot, e.g. the final state of the game.
+     *
+     * @throws IllegalStateException if the view has failed or the render thread does not stop
+     */
+    @Override
+    public void close() {
+        renderThread.shutdown();
+        try {
+            if (!renderThread.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("render thread did not stop");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("rendering was interrupted", e);
+        }
+        renderFrame();
+        if (failure != null) {
+            throw new IllegalStateException("rendering failed", failure);
+        }
+    }
+
+    /**
+     * Publishes the given snapshot as the latest one.
+     *
+     * @param snapshot the snapshot to publish
+     */
+    private void publish(GameSnapshot snapshot) {
+        snapshotRequested = false;
+        latest.set(snapshot);
+        publishedSnapshots.incrementAndGet();
+    }
+
+    /**
+     * Shows the latest snapshot if it has not been shown yet and asks the engine for the next one.
+     */
+    private void renderFrame() {
+        if (failure != null) {
+            return;
+        }
+        GameSnapshot snapshot = latest.get();
+        try {
+            if (snapshot != null && snapshot != rendered) {
+                view.accept(snapshot);
+                rendered = snapshot;
+                renderedFrames.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            // A failure would silently cancel all further frames, so it is reported when the renderer is closed
+            failure = e;
+            return;
+        }
+        snapshotRequested = true;
+    }
+}
@@ -0,0 +1,211 @@
+package h01.replay;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+import h01.engine.WhiteStrategy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link ReplayWriter} records games into an append-only binary replay log.
+ * <p>
+ * The log starts with the magic bytes {@code CKRL}, a version byte and the {@link CheckersConfig} of all games. It
+ * is followed by one record per game start and one record per turn. All numbers are unsigned variable-length
+ * integers with 7 bits per byte, so a turn usually takes two or three bytes:
+ * <ul>
+ *     <li>a game start is the tag {@code 0x80}, the id of the game and its initial state: the field of the white
+ *     stone, a byte with its direction and the game state, the number of turns, for every black stone its field, a
+ *     byte with its direction and whether it is turned on and its number of coins, and the eligible black stones in
+ *     the order of their set</li>
+ *     <li>a turn is a byte with the target of the black stone plus one in bits 0 to 2, whether a black stone made an
+ *     action in bit 3, whether a black stone was captured in bit 4 and the game state in bits 5 and 6, followed by
+ *     the black stone and the captured black stone if present</li>
+ * </ul>
+ * The random decisions are not recorded, since a game is fully determined by its initial state, the black stone
+ * chosen in every turn and the black stone captured in every turn. The captured black stone is needed because the
+ * white team may follow a {@link WhiteStrategy} instead of the default rules. The records are collected
+ * in a direct buffer and written to a {@link FileChannel} whenever the buffer is full.
+ * <p>
+ * The methods of {@link GameListener} cannot throw checked exceptions, so write errors are rethrown as
+ * {@link UncheckedIOException}. An instance is not thread-safe.
+ */
+public class ReplayWriter implements GameListener, Closeable {
+
+    /**
+     * The magic bytes at the start of a replay log.
+     */
+    static final byte[] MAGIC = {'C', 'K', 'R', 'L'};
+
+    /**
+     * The version of the format of a replay log.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The tag of a game start record. Turn records never have the highest bit set.
+     */
+    static final int GAME_TAG = 0x80;
+
+    /**
+     * The flag of a turn record in which a black stone made an action.
+     */
+    static final int BLACK_STONE_FLAG = 1 << 3;
+
+    /**
+     * The flag of a turn record in which a black stone was captured.
+     */
+    static final int CAPTURE_FLAG = 1 << 4;
+
+    /**
+     * The size of the buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of bytes of a variable-length integer.
+     */
+    private static final int MAX_VARINT_LENGTH = 10;
+
+    /**
+     * The channel the log is written to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer of records which have not been written yet.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The id of the next started game.
+     */
+    private long nextGameId;
+
+    /**
+     * Creates a new replay log at the given path, replacing an existing file.
+     *
+     * @param path   the path of the log
+     * @param config the configuration of all recorded games
+     * @throws IOException if the file cannot be created
+     */
+    public ReplayWriter(Path path, CheckersConfig config) throws IOException {
+        this.channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        );
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        writeVarint(config.numberOfColumns());
+        writeVarint(config.numberOfRows());
+        writeVarint(config.minNumberOfCoins());
+        writeVarint(config.maxNumberOfCoins());
+        writeVarint(config.numberOfBlackStones());
+    }
+
+    /**
+     * Sets the id of the next started game, e.g. its index in a batch. The ids of the following games count up from
+     * this id.
+     *
+     * @param gameId the id of the next game
+     */
+    public void setGameId(long gameId) {
+        this.nextGameId = gameId;
+    }
+
+    @Override
+    public void gameStarted(GameSnapshot initialState) {
+        ensureRemaining(1);
+        buffer.put((byte) GAME_TAG);
+        writeVarint(nextGameId++);
+        writeVarint(initialState.whiteField());
+        ensureRemaining(1);
+        buffer.put((byte) (initialState.whiteDirection() | initialState.gameState().ordinal() << 2));
+        writeVarint(initialState.numberOfTurns());
+        for (int stone = 0; stone < initialState.numberOfBlackStones(); stone++) {
+            writeVarint(initialState.blackField(stone));
+            ensureRemaining(1);
+            buffer.put((byte) (initialState.blackDirection(stone) | (initialState.isBlackStoneTurnedOn(stone) ? 4 : 0)));
+            writeVarint(initialState.blackCoins(stone));
+        }
+        writeVarint(initialState.numberOfEligibleStones());
+        for (int position = 0; position < initialState.numberOfEligibleStones(); position++) {
+            writeVarint(initialState.eligibleStone(position));
+        }
+    }
+
+    @Override
+    public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+        ensureRemaining(1);
+        buffer.put((byte) (target + 1
+            | (blackStone >= 0 ? BLACK_STONE_FLAG : 0)
+            | (capturedStone >= 0 ? CAPTURE_FLAG : 0)
+            | gameState.ordinal() << 5));
+        if (blackStone >= 0) {
+            writeVarint(blackStone);
+        }
+        if (capturedStone >= 0) {
+            writeVarint(capturedStone);
+        }
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the given non-negative number as a variable-length integer.
+     *
+     * @param value the number to write
+     */
+    private void writeVarint(long value) {
+        ensureRemaining(MAX_VARINT_LENGTH);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the buffered records to the file if the buffer has less than the given number of bytes left.
+     *
+     * @param bytes the number of bytes which must fit into the buffer
+     */
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
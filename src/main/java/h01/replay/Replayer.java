@@ -0,0 +1,340 @@
+package h01.replay;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+import h01.engine.WhiteStrategy;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link Replayer} rebuilds the games of a replay log written by {@link ReplayWriter}.
+ * <p>
+ * Every game is restored into a {@link CheckersEngine} from its initial state, and every turn is replayed with the
+ * recorded black stone and the recorded captured black stone, so no random number is drawn and a game played with
+ * any {@link WhiteStrategy} is rebuilt, not only one played under the default rules. The landing field of
+ * a capture follows from the fields of the white stone and the captured black stone. The target, the captured black
+ * stone and the game state of every replayed turn are compared with the log, and a difference, e.g. a capture which
+ * is not possible or a missing capture, is reported as an {@link IllegalStateException}.
+ * <p>
+ * A game which was not finished when the log was closed ends without a winner, i.e. {@link #nextTurn()} returns
+ * {@code false} while the engine is still running.
+ */
+public class Replayer implements Closeable {
+
+    /**
+     * The size of the read buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The marker for the end of the log.
+     */
+    private static final int END = -1;
+
+    /**
+     * The stream the log is read from.
+     */
+    private final InputStream in;
+
+    /**
+     * The configuration of all games of the log.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The engine the games are replayed in.
+     */
+    private final CheckersEngine engine;
+
+    /**
+     * The buffer for the initial states of the games.
+     */
+    private final long[] words;
+
+    /**
+     * The first byte of the next record, read ahead to detect the end of a game.
+     */
+    private int nextRecord;
+
+    /**
+     * The id of the current game.
+     */
+    private long gameId = -1;
+
+    /**
+     * The number of replayed turns of the current game.
+     */
+    private int numberOfTurns;
+
+    /**
+     * The black stone, the target and the captured black stone of the last replayed turn.
+     */
+    private final int[] playedTurn = new int[3];
+
+    /**
+     * The buffer for the black stones the white stone can capture.
+     */
+    private final int[] captureStones;
+
+    /**
+     * The buffer for the landing fields of the captures.
+     */
+    private final int[] captureFields;
+
+    /**
+     * Opens the replay log at the given path.
+     *
+     * @param path the path of the log
+     * @throws IOException if the file cannot be read or is not a replay log
+     */
+    public Replayer(Path path) throws IOException {
+        this.in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        byte[] magic = in.readNBytes(ReplayWriter.MAGIC.length);
+        if (!Arrays.equals(magic, ReplayWriter.MAGIC)) {
+            in.close();
+            throw new IOException("not a replay log: " + path);
+        }
+        int version = in.read();
+        if (version != ReplayWriter.VERSION) {
+            in.close();
+            throw new IOException("unsupported replay log version: " + version);
+        }
+        this.config = new CheckersConfig(
+            (int) readVarint(),
+            (int) readVarint(),
+            (int) readVarint(),
+            (int) readVarint(),
+            (int) readVarint()
+        );
+        this.engine = new CheckersEngine(config, new NoRandom());
+        this.engine.setGameListener(new GameListener() {
+            @Override
+            public void gameStarted(GameSnapshot initialState) {
+            }
+
+            @Override
+            public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+                playedTurn[0] = blackStone;
+                playedTurn[1] = target;
+                playedTurn[2] = capturedStone;
+            }
+        });
+        this.words = new long[GameSnapshot.length(config.numberOfBlackStones())];
+        this.captureStones = new int[config.numberOfBlackStones()];
+        this.captureFields = new int[config.numberOfBlackStones()];
+        this.nextRecord = in.read();
+    }
+
+    /**
+     * Returns the configuration of all games of the log.
+     *
+     * @return the configuration of the games
+     */
+    public CheckersConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the engine which contains the current state of the replayed game.
+     *
+     * @return the engine of the replayed game
+     */
+    public CheckersEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the id of the current game.
+     *
+     * @return the id of the current game
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Returns the number of replayed turns of the current game.
+     *
+     * @return the number of replayed turns
+     */
+    public int getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    /**
+     * Skips the remaining turns of the current game and restores the initial state of the next game.
+     *
+     * @return {@code true} if there is a next game, {@code false} if the end of the log has been reached
+     * @throws IOException if the log cannot be read
+     */
+    public boolean nextGame() throws IOException {
+        while (nextRecord != END && nextRecord != ReplayWriter.GAME_TAG) {
+            skipTurn();
+        }
+        if (nextRecord == END) {
+            return false;
+        }
+        gameId = readVarint();
+        int whiteField = (int) readVarint();
+        int whiteFlags = readByte();
+        int turns = (int) readVarint();
+        words[0] = GameSnapshot.encodeHeader(whiteField, whiteFlags & 3, GameState.values()[whiteFlags >>> 2]);
+        for (int stone = 0; stone < config.numberOfBlackStones(); stone++) {
+            int field = (int) readVarint();
+            int flags = readByte();
+            int numberOfCoins = (int) readVarint();
+            words[GameSnapshot.HEADER_LENGTH + stone] =
+                GameSnapshot.encodeStone(field, flags & 3, numberOfCoins, (flags & 4) != 0);
+        }
+        int numberOfEligibleStones = (int) readVarint();
+        words[1] = GameSnapshot.encodeCounts(turns, numberOfEligibleStones);
+        Arrays.fill(words, GameSnapshot.HEADER_LENGTH + config.numberOfBlackStones(), words.length, 0);
+        for (int position = 0; position < numberOfEligibleStones; position++) {
+            GameSnapshot.setEligibleStone(words, position, (int) readVarint());
+        }
+        engine.restore(words);
+        numberOfTurns = 0;
+        nextRecord = in.read();
+        return true;
+    }
+
+    /**
+     * Replays the next turn of the current game.
+     *
+     * @return {@code true} if a turn was replayed, {@code false} if the current game has no more turns
+     * @throws IOException           if the log cannot be read
+     * @throws IllegalStateException if the replayed turn differs from the recorded turn
+     */
+    public boolean nextTurn() throws IOException {
+        if (gameId < 0 || !engine.isRunning() || nextRecord == END || nextRecord == ReplayWriter.GAME_TAG) {
+            return false;
+        }
+        int flags = nextRecord;
+        int blackStone = (flags & ReplayWriter.BLACK_STONE_FLAG) != 0 ? (int) readVarint() : -1;
+        int capturedStone = (flags & ReplayWriter.CAPTURE_FLAG) != 0 ? (int) readVarint() : -1;
+        int target = (flags & 7) - 1;
+        GameState gameState = GameState.values()[flags >>> 5 & 3];
+        nextRecord = in.read();
+
+        if (blackStone >= 0) {
+            engine.doBlackTeamAction(blackStone);
+        }
+        boolean captured = capture(capturedStone);
+        engine.updateGameState();
+        numberOfTurns++;
+        if (!captured || playedTurn[0] != blackStone || playedTurn[1] != target || playedTurn[2] != capturedStone
+            || engine.getGameState() != gameState) {
+            throw new IllegalStateException(
+                "replay of game %d diverged from the log in turn %d".formatted(gameId, numberOfTurns)
+            );
+        }
+        return true;
+    }
+
+    /**
+     * Makes the recorded action of the white team. The white stone must capture if it can, so a turn without a
+     * capture is only valid if no black stone can be captured.
+     *
+     * @param capturedStone the recorded captured black stone or {@code -1} if no black stone was captured
+     * @return {@code true} if the action is possible, {@code false} otherwise
+     */
+    private boolean capture(int capturedStone) {
+        int numberOfCaptures = engine.findCaptures(captureStones, captureFields);
+        if (capturedStone < 0) {
+            return numberOfCaptures == 0;
+        }
+        for (int capture = 0; capture < numberOfCaptures; capture++) {
+            if (captureStones[capture] == capturedStone) {
+                engine.captureBlackStone(capturedStone, captureFields[capture]);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replays all remaining turns of the current game.
+     *
+     * @return the state of the game after the last turn
+     * @throws IOException if the log cannot be read
+     */
+    public GameState replayGame() throws IOException {
+        while (nextTurn()) {
+            // All work is done by nextTurn()
+        }
+        return engine.getGameState();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Skips the turn record which starts with {@link #nextRecord}.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    private void skipTurn() throws IOException {
+        if ((nextRecord & ReplayWriter.BLACK_STONE_FLAG) != 0) {
+            readVarint();
+        }
+        if ((nextRecord & ReplayWriter.CAPTURE_FLAG) != 0) {
+            readVarint();
+        }
+        nextRecord = in.read();
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte
+     * @throws IOException if the end of the log has been reached
+     */
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b == END) {
+            throw new EOFException("truncated replay log");
+        }
+        return b;
+    }
+
+    /**
+     * Reads a non-negative variable-length integer.
+     *
+     * @return the integer
+     * @throws IOException if the end of the log has been reached
+     */
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * {@link NoRandom} is the source of randomness of the replay engine, which must never draw a random number.
+     */
+    private static class NoRandom implements RandomGenerator {
+
+        @Override
+        public long nextLong() {
+            throw new IllegalStateException("a replay must not draw random numbers");
+        }
+    }
+}
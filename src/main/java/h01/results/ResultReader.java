@@ -0,0 +1,247 @@
+package h01.results;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link ResultReader} streams the rows of a result file written by {@link ResultWriter}.
+ * <p>
+ * The reader is a cursor: {@link #next()} moves to the next row, and the getters return the values of the current
+ * row, so reading a file does not allocate an object per game. An instance is not thread-safe.
+ */
+public class ResultReader implements Closeable {
+
+    /**
+     * The size of the read buffer in bytes, a multiple of the size of a row.
+     */
+    private static final int BUFFER_SIZE = 2048 * ResultWriter.ROW_SIZE;
+
+    /**
+     * The values of {@link GameState}, indexed by their ordinal.
+     */
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    /**
+     * The channel the file is read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer of read rows which have not been visited yet.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The master seed from which the seeds of the games are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * The configuration of all games of the file.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The index of the game of the current row.
+     */
+    private long game = -1;
+
+    /**
+     * The seed of the game of the current row.
+     */
+    private long gameSeed;
+
+    /**
+     * The number of turns of the game of the current row.
+     */
+    private int numberOfTurns;
+
+    /**
+     * The number of captured black stones of the game of the current row.
+     */
+    private int numberOfCaptures;
+
+    /**
+     * The number of unspent coins of the game of the current row.
+     */
+    private int coinsLeft;
+
+    /**
+     * The final state of the game of the current row.
+     */
+    private GameState gameState;
+
+    /**
+     * Opens the result file at the given path.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be read or is not a result file
+     */
+    public ResultReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.limit(0);
+        try {
+            if (!fill(ResultWriter.HEADER_SIZE)) {
+                throw new EOFException("empty result file: " + path);
+            }
+            byte[] magic = new byte[ResultWriter.MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, ResultWriter.MAGIC)) {
+                throw new IOException("not a result file: " + path);
+            }
+            int version = buffer.get();
+            if (version != ResultWriter.VERSION) {
+                throw new IOException("unsupported result file version: " + version);
+            }
+            this.masterSeed = buffer.getLong();
+            this.config = new CheckersConfig(
+                buffer.getInt(),
+                buffer.getInt(),
+                buffer.getInt(),
+                buffer.getInt(),
+                buffer.getInt()
+            );
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the master seed from which the seeds of the games are derived.
+     *
+     * @return the master seed
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Returns the configuration of all games of the file.
+     *
+     * @return the configuration
+     */
+    public CheckersConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return {@code true} if there is a next row, {@code false} at the end of the file
+     * @throws IOException if the file cannot be read or ends within a row
+     */
+    public boolean next() throws IOException {
+        if (!fill(ResultWriter.ROW_SIZE)) {
+            return false;
+        }
+        game = buffer.getLong();
+        gameSeed = buffer.getLong();
+        numberOfTurns = buffer.getInt();
+        numberOfCaptures = buffer.getInt();
+        coinsLeft = buffer.getInt();
+        int state = buffer.get();
+        if (state < 0 || state >= GAME_STATES.length) {
+            throw new IOException("invalid game state in row of game " + game + ": " + state);
+        }
+        gameState = GAME_STATES[state];
+        return true;
+    }
+
+    /**
+     * Returns the index of the game of the current row.
+     *
+     * @return the index of the game
+     */
+    public long getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the seed of the game of the current row.
+     *
+     * @return the seed of the game
+     */
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+     * Returns the number of turns of the game of the current row.
+     *
+     * @return the number of turns
+     */
+    public int getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    /**
+     * Returns the number of black stones captured in the game of the current row.
+     *
+     * @return the number of captured black stones
+     */
+    public int getNumberOfCaptures() {
+        return numberOfCaptures;
+    }
+
+    /**
+     * Returns the number of coins the black team did not spend in the game of the current row.
+     *
+     * @return the number of unspent coins
+     */
+    public int getCoinsLeft() {
+        return coinsLeft;
+    }
+
+    /**
+     * Returns the final state of the game of the current row.
+     *
+     * @return the final game state
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads from the file until the buffer has at least the given number of bytes left.
+     *
+     * @param bytes the number of bytes which must be available
+     * @return {@code true} if the bytes are available, {@code false} if the file ended before the first of them
+     * @throws IOException if the file cannot be read or ends within the bytes
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+        if (buffer.remaining() >= bytes) {
+            return true;
+        } else if (buffer.hasRemaining()) {
+            throw new EOFException("truncated result file");
+        }
+        return false;
+    }
+}
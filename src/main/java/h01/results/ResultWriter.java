@@ -0,0 +1,154 @@
+package h01.results;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link ResultWriter} streams one fixed-size row per finished game into a binary result file.
+ * <p>
+ * The file starts with the magic bytes {@code CKRS}, a version byte, the master seed of the games and the
+ * {@link CheckersConfig} of all games as five integers. It is followed by one row of {@value #ROW_SIZE} bytes per
+ * game: the index of the game, its seed, its number of turns, the number of captured black stones, the number of
+ * coins the black team did not spend and the final game state. All numbers are big-endian, so a row can be found by
+ * its position without reading the rows before it.
+ * <p>
+ * The rows are collected in a direct buffer and written to a {@link FileChannel} whenever the buffer is full, so the
+ * memory of a writer does not depend on the number of games. An instance is not thread-safe.
+ */
+public class ResultWriter implements Closeable {
+
+    /**
+     * The magic bytes at the start of a result file.
+     */
+    static final byte[] MAGIC = {'C', 'K', 'R', 'S'};
+
+    /**
+     * The version of the format of a result file.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size of the header of a result file in bytes.
+     */
+    static final int HEADER_SIZE = MAGIC.length + 1 + Long.BYTES + 5 * Integer.BYTES;
+
+    /**
+     * The size of a row in bytes.
+     */
+    static final int ROW_SIZE = 2 * Long.BYTES + 3 * Integer.BYTES + 1;
+
+    /**
+     * The size of the buffer in bytes, a multiple of the size of a row.
+     */
+    private static final int BUFFER_SIZE = 2048 * ROW_SIZE;
+
+    /**
+     * The channel the file is written to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer of rows which have not been written yet.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The number of written rows.
+     */
+    private long numberOfRows;
+
+    /**
+     * Creates a new result file at the given path, replacing an existing file.
+     *
+     * @param path       the path of the file
+     * @param masterSeed the master seed from which the seeds of the games are derived
+     * @param config     the configuration of all games
+     * @throws IOException if the file cannot be created
+     */
+    public ResultWriter(Path path, long masterSeed, CheckersConfig config) throws IOException {
+        this.channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        );
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putLong(masterSeed);
+        buffer.putInt(config.numberOfColumns());
+        buffer.putInt(config.numberOfRows());
+        buffer.putInt(config.minNumberOfCoins());
+        buffer.putInt(config.maxNumberOfCoins());
+        buffer.putInt(config.numberOfBlackStones());
+    }
+
+    /**
+     * Writes the row of the finished game of the given engine.
+     *
+     * @param game     the index of the game, e.g. in a batch
+     * @param gameSeed the seed of the game
+     * @param engine   the engine which has just finished the game
+     * @throws IOException              if the buffered rows cannot be written
+     * @throws IllegalArgumentException if the game is still running
+     */
+    public void write(long game, long gameSeed, CheckersEngine engine) throws IOException {
+        GameState gameState = engine.getGameState();
+        if (gameState == GameState.RUNNING) {
+            throw new IllegalArgumentException("game is still running");
+        }
+        // Captured black stones keep their coins, so the coins of all black stones are the unspent ones
+        long coinsLeft = 0;
+        for (int stone = 0; stone < engine.getNumberOfBlackStones(); stone++) {
+            coinsLeft += engine.getBlackCoins(stone);
+        }
+        if (buffer.remaining() < ROW_SIZE) {
+            flush();
+        }
+        buffer.putLong(game);
+        buffer.putLong(gameSeed);
+        buffer.putInt(engine.getNumberOfTurns());
+        buffer.putInt(engine.getNumberOfBlackStones() - engine.getNumberOfTurnedOnStones());
+        buffer.putInt((int) Math.min(coinsLeft, Integer.MAX_VALUE));
+        buffer.put((byte) gameState.ordinal());
+        numberOfRows++;
+    }
+
+    /**
+     * Returns the number of rows written so far, including the buffered rows.
+     *
+     * @return the number of written rows
+     */
+    public long getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * Writes all buffered rows to the file.
+     *
+     * @throws IOException if the rows cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package h01.server;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link GameClient} is a local stand-in for a bot client of a {@link GameServer}, e.g. to test the server.
+ * <p>
+ * The client plays the matches of one connection one after another. For the teams it plays, the client chooses
+ * uniformly at random among the eligible black stones and the possible captures of the server, in the order in which
+ * the server lists them.
+ */
+public class GameClient implements Closeable {
+
+    /**
+     * The connection to the server.
+     */
+    private final Socket socket;
+
+    /**
+     * The messages of the server.
+     */
+    private final BufferedReader in;
+
+    /**
+     * The messages to the server.
+     */
+    private final BufferedWriter out;
+
+    /**
+     * The configuration of all matches announced by the server.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * Connects a new {@link GameClient} to a server.
+     *
+     * @param host the host of the server or {@code null} for the loopback address
+     * @param port the port of the server
+     * @throws IOException if the connection fails or the server violates the protocol
+     */
+    public GameClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        try {
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            String[] words = Protocol.expect(in.readLine(), Protocol.HELLO, 6);
+            config = new CheckersConfig(
+                (int) Protocol.parse(words[1]),
+                (int) Protocol.parse(words[2]),
+                (int) Protocol.parse(words[3]),
+                (int) Protocol.parse(words[4]),
+                (int) Protocol.parse(words[5])
+            );
+        } catch (IOException | IllegalArgumentException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the configuration of all matches announced by the server.
+     *
+     * @return the configuration of all matches
+     */
+    public CheckersConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Plays a match on the server.
+     *
+     * @param seed   the seed of the match
+     * @param side   the teams played by the client
+     * @param random the source of randomness of the choices of the client
+     * @return the result of the match
+     * @throws IOException if the connection fails or the server violates the protocol
+     */
+    public MatchResult play(long seed, Side side, RandomGenerator random) throws IOException {
+        send(Protocol.NEW + " " + seed + " " + side);
+        long matchId = Protocol.parse(Protocol.expect(in.readLine(), Protocol.MATCH, 2)[1]);
+        Protocol.expect(in.readLine(), Protocol.START, 3);
+        while (true) {
+            String line = in.readLine();
+            if (line == null) {
+                throw new ProtocolException("connection closed during match " + matchId);
+            }
+            String[] words = line.split(" ");
+            switch (words[0]) {
+                case Protocol.TURN -> {
+                    // The state of the match is only needed at its end
+                }
+                case Protocol.BLACK -> send(Protocol.MOVE + " " + words[1 + random.nextInt(words.length - 1)]);
+                case Protocol.WHITE -> send(Protocol.CAPTURE + " " + random.nextInt(words.length - 1));
+                case Protocol.END -> {
+                    words = Protocol.expect(line, Protocol.END, 3);
+                    return new MatchResult(matchId, GameState.valueOf(words[1]), (int) Protocol.parse(words[2]));
+                }
+                default -> throw new ProtocolException("unexpected message: " + line);
+            }
+        }
+    }
+
+    /**
+     * Ends the connection.
+     *
+     * @throws IOException if the connection cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try (socket) {
+            send(Protocol.QUIT);
+        } catch (IOException e) {
+            // The server may already have closed the connection
+        }
+    }
+
+    /**
+     * Sends a message to the server.
+     *
+     * @param message the message
+     * @throws IOException if the connection fails
+     */
+    private void send(String message) throws IOException {
+        out.write(message);
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,236 @@
+package h01.server;
+
+import h01.engine.CheckersConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link GameServer} hosts matches of Checkers for bot clients which connect through a local socket, see
+ * {@link Protocol} and {@link GameClient}.
+ * <p>
+ * Every connection is served by its own {@link MatchSession}, which plays the matches of the connection one after
+ * another with its own engine. A session spends most of its time waiting for its client, so the sessions run on
+ * virtual threads if the runtime supports them, which allows thousands of concurrent matches. On older runtimes the
+ * sessions fall back to a cached pool of platform threads, which only scales to a few hundred matches.
+ */
+public class GameServer implements Closeable {
+
+    /**
+     * The number of connections which may wait to be accepted. A tournament connects all its bots at once, and a
+     * connection which overflows the queue may appear open to the client although the server never accepts it.
+     */
+    private static final int BACKLOG = 4096;
+
+    /**
+     * The configuration of all matches.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The executor which runs every session on its own thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code true} if the sessions run on virtual threads, {@code false} otherwise.
+     */
+    private final boolean virtualThreads;
+
+    /**
+     * The open sessions, which are closed with the server.
+     */
+    private final Set<MatchSession> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The id of the next match.
+     */
+    private final AtomicLong nextMatchId = new AtomicLong();
+
+    /**
+     * The number of running matches.
+     */
+    private final AtomicInteger runningMatches = new AtomicInteger();
+
+    /**
+     * The socket which accepts new connections or {@code null} if the server has not been started.
+     */
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Creates a new {@link GameServer} which has not been started.
+     *
+     * @param config the configuration of all matches
+     */
+    public GameServer(CheckersConfig config) {
+        this.config = config;
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.executor = virtualThreads ? virtualThreadExecutor : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "match-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts accepting connections on the loopback address.
+     *
+     * @param port the port or {@code 0} for any free port, see {@link #getPort()}
+     * @throws IOException           if the port cannot be bound
+     * @throws IllegalStateException if the server has already been started
+     */
+    public synchronized void start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("server has already been started");
+        }
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server accepts connections on.
+     *
+     * @return the port of the server
+     * @throws IllegalStateException if the server has not been started
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            throw new IllegalStateException("server has not been started");
+        }
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Returns {@code true} if the sessions run on virtual threads, {@code false} if they run on platform threads.
+     *
+     * @return if the sessions run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the number of open connections
+     */
+    public int getNumberOfSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the number of running matches.
+     *
+     * @return the number of running matches
+     */
+    public int getNumberOfRunningMatches() {
+        return runningMatches.get();
+    }
+
+    /**
+     * Returns the number of matches started since the server was created.
+     *
+     * @return the number of started matches
+     */
+    public long getNumberOfStartedMatches() {
+        return nextMatchId.get();
+    }
+
+    /**
+     * Stops accepting connections and closes all open connections, which aborts their running matches.
+     */
+    @Override
+    public void close() {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // The acceptor stops anyway
+            }
+        }
+        executor.shutdown();
+        for (MatchSession session : sessions) {
+            session.close();
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed and starts a session for each of them.
+     */
+    private void accept() {
+        ServerSocket socket = serverSocket;
+        while (!socket.isClosed()) {
+            Socket connection;
+            try {
+                connection = socket.accept();
+            } catch (IOException e) {
+                // The server socket has been closed
+                return;
+            }
+            MatchSession session = new MatchSession(this, connection, config);
+            sessions.add(session);
+            try {
+                executor.execute(session);
+            } catch (RejectedExecutionException e) {
+                sessionClosed(session);
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a match which is started.
+     *
+     * @return the id of the match
+     */
+    long matchStarted() {
+        runningMatches.incrementAndGet();
+        return nextMatchId.getAndIncrement();
+    }
+
+    /**
+     * Counts the end of a match.
+     */
+    void matchEnded() {
+        runningMatches.decrementAndGet();
+    }
+
+    /**
+     * Removes a closed session.
+     *
+     * @param session the closed session
+     */
+    void sessionClosed(MatchSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * Returns an executor which runs every task on a new virtual thread. The executor is looked up reflectively, so
+     * the server still runs on Java 17, which has no virtual threads.
+     *
+     * @return the executor or {@code null} if the runtime does not support virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Java 19 and 20 also throw if preview features are disabled
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package h01.server;
+
+import h01.GameState;
+
+/**
+ * {@link MatchResult} is the outcome of a match played on a {@link GameServer}.
+ *
+ * @param matchId       the id of the match assigned by the server
+ * @param gameState     the final state of the match
+ * @param numberOfTurns the number of turns of the match
+ */
+public record MatchResult(long matchId, GameState gameState, int numberOfTurns) {
+}
@@ -0,0 +1,287 @@
+package h01.server;
+
+import h01.GameState;
+import h01.batch.GameSeeds;
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameListener;
+import h01.engine.GameSnapshot;
+import h01.engine.WhiteStrategy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link MatchSession} plays the matches of one connection of the {@link GameServer}, see {@link Protocol}.
+ * <p>
+ * A session blocks its thread while it waits for the client, so every session needs its own thread. The session
+ * plugs into the engine as its listener and as the strategies of the teams played by the client, so a match is played
+ * by {@link CheckersEngine#runGame()} like any other game. The messages of the server are buffered and only flushed
+ * when the server waits for the client or a match ends.
+ */
+final class MatchSession implements Runnable, GameListener, BlackStrategy, WhiteStrategy {
+
+    /**
+     * The server which accepted the connection.
+     */
+    private final GameServer server;
+
+    /**
+     * The connection to the client.
+     */
+    private final Socket socket;
+
+    /**
+     * The engine which plays all matches of the connection.
+     */
+    private final CheckersEngine engine;
+
+    /**
+     * The buffer of the message which is composed.
+     */
+    private final StringBuilder message = new StringBuilder();
+
+    /**
+     * The messages of the client.
+     */
+    private BufferedReader in;
+
+    /**
+     * The messages to the client.
+     */
+    private BufferedWriter out;
+
+    /**
+     * Creates a new {@link MatchSession} for the given connection.
+     *
+     * @param server the server which accepted the connection
+     * @param socket the connection to the client
+     * @param config the configuration of all matches
+     */
+    MatchSession(GameServer server, Socket socket, CheckersConfig config) {
+        this.server = server;
+        this.socket = socket;
+        this.engine = new CheckersEngine(config, GameSeeds.random(0));
+        engine.setGameListener(this);
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Every request waits for an answer, so small messages must not be delayed
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            CheckersConfig config = engine.getConfig();
+            send(Protocol.HELLO, config.numberOfColumns(), config.numberOfRows(), config.minNumberOfCoins(),
+                config.maxNumberOfCoins(), config.numberOfBlackStones());
+            out.flush();
+            serve();
+        } catch (ProtocolException e) {
+            reportError(e.getMessage());
+        } catch (IOException e) {
+            // The client is gone, so there is nobody to report the error to
+        } finally {
+            close();
+            server.sessionClosed(this);
+        }
+    }
+
+    /**
+     * Closes the connection, which ends the session at the next read or write of the connection.
+     */
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // The session ends anyway
+        }
+    }
+
+    /**
+     * Plays the matches requested by the client until it quits.
+     *
+     * @throws IOException if the connection fails or the client violates the protocol
+     */
+    private void serve() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(Protocol.QUIT)) {
+            String[] words = Protocol.expect(line, Protocol.NEW, 3);
+            long seed = Protocol.parse(words[1]);
+            Side side;
+            try {
+                side = Side.valueOf(words[2]);
+            } catch (IllegalArgumentException e) {
+                throw new ProtocolException("unknown side: " + words[2]);
+            }
+            playMatch(seed, side);
+        }
+    }
+
+    /**
+     * Plays a single match.
+     *
+     * @param seed the seed of the match
+     * @param side the teams played by the client
+     * @throws IOException if the connection fails or the client violates the protocol
+     */
+    private void playMatch(long seed, Side side) throws IOException {
+        long id = server.matchStarted();
+        try {
+            send(Protocol.MATCH, id);
+            engine.setRandom(GameSeeds.random(seed));
+            engine.setBlackStrategy(side.playsBlack() ? this : null);
+            engine.setWhiteStrategy(side.playsWhite() ? this : null);
+            engine.initGame();
+            GameState gameState = engine.runGame();
+            send(Protocol.END, gameState, engine.getNumberOfTurns());
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            server.matchEnded();
+        }
+    }
+
+    @Override
+    public void gameStarted(GameSnapshot initialState) {
+        message.setLength(0);
+        message.append(Protocol.START)
+            .append(' ').append(initialState.whiteField())
+            .append(' ').append(initialState.whiteDirection());
+        for (int stone = 0; stone < initialState.numberOfBlackStones(); stone++) {
+            message.append(' ').append(initialState.blackField(stone))
+                .append(':').append(initialState.blackDirection(stone))
+                .append(':').append(initialState.blackCoins(stone))
+                .append(':').append(initialState.isBlackStoneTurnedOn(stone) ? 1 : 0);
+        }
+        write();
+    }
+
+    @Override
+    public void turnPlayed(int blackStone, int target, int capturedStone, GameState gameState) {
+        message.setLength(0);
+        message.append(Protocol.TURN)
+            .append(' ').append(blackStone)
+            .append(' ').append(target)
+            .append(' ').append(capturedStone)
+            .append(' ').append(gameState);
+        write();
+    }
+
+    @Override
+    public int chooseStone(CheckersEngine engine) {
+        message.setLength(0);
+        message.append(Protocol.BLACK);
+        for (int position = 0; position < engine.getNumberOfEligibleStones(); position++) {
+            message.append(' ').append(engine.getEligibleStone(position));
+        }
+        String[] words = request(Protocol.MOVE);
+        int stone = choice(words[1], engine.getNumberOfBlackStones());
+        for (int position = 0; position < engine.getNumberOfEligibleStones(); position++) {
+            if (engine.getEligibleStone(position) == stone) {
+                return stone;
+            }
+        }
+        throw new UncheckedIOException(new ProtocolException("black stone %d is not eligible".formatted(stone)));
+    }
+
+    @Override
+    public int chooseCapture(CheckersEngine engine, int[] stones, int[] landingFields, int numberOfCaptures) {
+        message.setLength(0);
+        message.append(Protocol.WHITE);
+        for (int capture = 0; capture < numberOfCaptures; capture++) {
+            message.append(' ').append(stones[capture]).append(':').append(landingFields[capture]);
+        }
+        String[] words = request(Protocol.CAPTURE);
+        return choice(words[1], numberOfCaptures);
+    }
+
+    /**
+     * Sends the composed request to the client and waits for its answer.
+     *
+     * @param command the command of the expected answer
+     * @return the words of the answer
+     * @throws UncheckedIOException if the connection fails or the client violates the protocol
+     */
+    private String[] request(String command) {
+        write();
+        try {
+            out.flush();
+            return Protocol.expect(in.readLine(), command, 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the choice of the client.
+     *
+     * @param word  the word of the choice
+     * @param bound the exclusive upper bound of a valid choice
+     * @return the choice
+     * @throws UncheckedIOException if the choice is not a number in {@code [0, bound)}
+     */
+    private static int choice(String word, int bound) {
+        try {
+            long choice = Protocol.parse(word);
+            if (choice < 0 || choice >= bound) {
+                throw new ProtocolException("choice %d is not in [0, %d)".formatted(choice, bound));
+            }
+            return (int) choice;
+        } catch (ProtocolException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends a message with the given command and arguments.
+     *
+     * @param command   the command of the message
+     * @param arguments the arguments of the message
+     * @throws UncheckedIOException if the connection fails
+     */
+    private void send(String command, Object... arguments) {
+        message.setLength(0);
+        message.append(command);
+        for (Object argument : arguments) {
+            message.append(' ').append(argument);
+        }
+        write();
+    }
+
+    /**
+     * Writes the composed message to the buffer of the connection.
+     *
+     * @throws UncheckedIOException if the connection fails
+     */
+    private void write() {
+        try {
+            out.append(message).append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reports an invalid message to the client before the connection is closed.
+     *
+     * @param error the description of the error
+     */
+    private void reportError(String error) {
+        try {
+            out.write(Protocol.ERROR + " " + error + "\n");
+            out.flush();
+        } catch (IOException e) {
+            // The connection is closed anyway
+        }
+    }
+}
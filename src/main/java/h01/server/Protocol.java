@@ -0,0 +1,127 @@
+package h01.server;
+
+import java.net.ProtocolException;
+
+/**
+ * {@link Protocol} defines the line-based text protocol between the {@link GameServer} and its clients.
+ * <p>
+ * Every message is one line of words separated by single spaces, starting with a command. The server greets a new
+ * connection with {@code HELLO <columns> <rows> <minCoins> <maxCoins> <blackStones>}. The client then starts matches,
+ * one after another:
+ * <pre>
+ * client: NEW &lt;seed&gt; &lt;side&gt;
+ * server: MATCH &lt;id&gt;
+ * server: START &lt;whiteField&gt; &lt;whiteDirection&gt; &lt;field&gt;:&lt;direction&gt;:&lt;coins&gt;:&lt;on&gt; ...
+ * server: BLACK &lt;eligibleStone&gt; ...             if the client plays black
+ * client: MOVE &lt;stone&gt;
+ * server: WHITE &lt;stone&gt;:&lt;landingField&gt; ...      if the client plays white and can capture
+ * client: CAPTURE &lt;index&gt;
+ * server: TURN &lt;blackStone&gt; &lt;target&gt; &lt;capturedStone&gt; &lt;gameState&gt;
+ * ...
+ * server: END &lt;gameState&gt; &lt;turns&gt;
+ * </pre>
+ * The seed determines the initial state and all random decisions of the server, so a match can be repeated. Fields
+ * are indices {@code y * columns + x}, directions and targets are indices as in {@code CheckersEngine} and missing
+ * stones or targets are {@code -1}. The client ends the connection with {@code QUIT}. An invalid message is answered
+ * with {@code ERROR <message>} and ends the connection.
+ */
+final class Protocol {
+
+    /**
+     * The greeting of the server with the configuration of all matches.
+     */
+    static final String HELLO = "HELLO";
+
+    /**
+     * The request of the client to start a new match.
+     */
+    static final String NEW = "NEW";
+
+    /**
+     * The id of a started match.
+     */
+    static final String MATCH = "MATCH";
+
+    /**
+     * The initial state of a match.
+     */
+    static final String START = "START";
+
+    /**
+     * The request of the server to choose a black stone.
+     */
+    static final String BLACK = "BLACK";
+
+    /**
+     * The black stone chosen by the client.
+     */
+    static final String MOVE = "MOVE";
+
+    /**
+     * The request of the server to choose a capture.
+     */
+    static final String WHITE = "WHITE";
+
+    /**
+     * The capture chosen by the client.
+     */
+    static final String CAPTURE = "CAPTURE";
+
+    /**
+     * The result of a turn.
+     */
+    static final String TURN = "TURN";
+
+    /**
+     * The end of a match.
+     */
+    static final String END = "END";
+
+    /**
+     * The request of the client to end the connection.
+     */
+    static final String QUIT = "QUIT";
+
+    /**
+     * The report of an invalid message.
+     */
+    static final String ERROR = "ERROR";
+
+    private Protocol() {
+    }
+
+    /**
+     * Splits a message into its words and checks its command and number of words.
+     *
+     * @param line     the message or {@code null} if the connection was closed
+     * @param command  the expected command
+     * @param minWords the minimum number of words including the command
+     * @return the words of the message
+     * @throws ProtocolException if the connection was closed or the message is not the expected one
+     */
+    static String[] expect(String line, String command, int minWords) throws ProtocolException {
+        if (line == null) {
+            throw new ProtocolException("connection closed while waiting for " + command);
+        }
+        String[] words = line.split(" ");
+        if (!words[0].equals(command) || words.length < minWords) {
+            throw new ProtocolException("expected " + command + " but got: " + line);
+        }
+        return words;
+    }
+
+    /**
+     * Parses a number of a message.
+     *
+     * @param word the word of the number
+     * @return the number
+     * @throws ProtocolException if the word is not a number
+     */
+    static long parse(String word) throws ProtocolException {
+        try {
+            return Long.parseLong(word);
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("not a number: " + word);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package h01.server;
+
+/**
+ * {@link Side} names the teams a client of the {@link GameServer} plays in a match. The teams which are not played by
+ * the client follow the default rules: a random black stone makes the action and the white stone captures the first
+ * black stone found.
+ */
+public enum Side {
+
+    /**
+     * The client only watches the match.
+     */
+    NONE,
+
+    /**
+     * The client chooses the black stone of every action.
+     */
+    BLACK,
+
+    /**
+     * The client chooses the capture of the white stone whenever it can capture.
+     */
+    WHITE,
+
+    /**
+     * The client plays both teams.
+     */
+    BOTH;
+
+    /**
+     * Returns {@code true} if the client chooses the black stones, {@code false} otherwise.
+     *
+     * @return if the client plays the black team
+     */
+    public boolean playsBlack() {
+        return this == BLACK || this == BOTH;
+    }
+
+    /**
+     * Returns {@code true} if the client chooses the captures, {@code false} otherwise.
+     *
+     * @return if the client plays the white team
+     */
+    public boolean playsWhite() {
+        return this == WHITE || this == BOTH;
+    }
+}
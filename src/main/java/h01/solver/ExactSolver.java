@@ -0,0 +1,385 @@
+package h01.solver;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ExactSolver} computes the exact probability that the white team wins a game from a given state under the
+ * default rules.
+ * <p>
+ * The only random decision after the initialization is the black stone of every action, which is chosen uniformly
+ * from the eligible black stones, so the probability of a state is the mean of the probabilities after all eligible
+ * black stones made their action and the white stone captured. Every turn uses up one coin, so the states form a
+ * finite acyclic graph, which is solved by a depth-first search with memoization.
+ * <p>
+ * The probability of a state depends neither on the direction of the white stone, nor on the number of turns, nor
+ * on the fields of captured black stones. It does depend on the indices of the black stones: several black stones
+ * can share a field, and the white stone captures the one with the lowest index first, so states which only differ
+ * in the order of their black stones can end differently. A state is therefore identified by a key of the field of
+ * the white stone and the codes of the black stones in the order of their indices, which must fit into 128 bits.
+ * This limits the solver to small boards such as the default configuration.
+ * <p>
+ * With several threads, the states of the first turns are expanded breadth-first until there are enough states for
+ * all threads, which then solve these states in parallel and share all solved states in a {@link SolutionTable}.
+ * The root is finally solved from the shared states. Every value is computed by the same sums in the same order, so
+ * the result does not depend on the number of threads. Probabilities are exact up to the rounding of doubles.
+ * <p>
+ * The solved states are kept across calls, so solving many initial states of the same configuration gets faster. An
+ * instance must not be used by several threads at once.
+ */
+public class ExactSolver {
+
+    /**
+     * The number of states per thread after which the expansion of the first turns stops.
+     */
+    private static final int STATES_PER_THREAD = 64;
+
+    /**
+     * The maximum number of turns expanded breadth-first.
+     */
+    private static final int MAX_SPLIT_DEPTH = 8;
+
+    /**
+     * The maximum number of bits of a key.
+     */
+    private static final int MAX_KEY_BITS = 128;
+
+    /**
+     * The configuration of the solved games.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The number of threads.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The number of bits of the field of the white stone in a key.
+     */
+    private final int fieldBits;
+
+    /**
+     * The number of bits of the code of a black stone in a key.
+     */
+    private final int stoneBits;
+
+    /**
+     * The solved states of all threads.
+     */
+    private final SolutionTable table = new SolutionTable();
+
+    /**
+     * The workers of the threads. The first worker also runs on the calling thread.
+     */
+    private final Worker[] workers;
+
+    /**
+     * Creates a new {@link ExactSolver}.
+     *
+     * @param config          the configuration of the solved games
+     * @param numberOfThreads the number of threads
+     * @throws IllegalArgumentException if the states of the configuration do not fit into a key
+     */
+    public ExactSolver(CheckersConfig config, int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        this.config = config;
+        this.numberOfThreads = numberOfThreads;
+        this.fieldBits = bits(config.numberOfFields() - 1);
+        // A turned off black stone has the code 0, a turned on black stone encodes its field, direction and coins
+        this.stoneBits = bits((long) config.numberOfFields() * 4 * (config.maxNumberOfCoins() + 1));
+        if (fieldBits + (long) stoneBits * config.numberOfBlackStones() > MAX_KEY_BITS) {
+            throw new IllegalArgumentException("configuration is too large for the exact solver: " + config);
+        }
+        this.workers = new Worker[numberOfThreads];
+        for (int worker = 0; worker < numberOfThreads; worker++) {
+            workers[worker] = new Worker();
+        }
+    }
+
+    /**
+     * Returns the probability that the white team wins the given game from its current state. The game is not
+     * changed.
+     *
+     * @param engine the game to solve
+     * @return the probability that the white team wins
+     */
+    public double whiteWinProbability(CheckersEngine engine) {
+        return whiteWinProbability(engine.snapshot());
+    }
+
+    /**
+     * Returns the probability that the white team wins a game from the given state.
+     *
+     * @param state the state of a game of the configuration of this solver
+     * @return the probability that the white team wins
+     */
+    public double whiteWinProbability(GameSnapshot state) {
+        if (state.gameState() != GameState.RUNNING) {
+            return state.gameState() == GameState.WHITE_WIN ? 1 : 0;
+        }
+        Worker root = workers[0];
+        long[] words = state.toWords();
+        if (numberOfThreads > 1) {
+            solveInParallel(root.expand(words));
+        }
+        root.engine.restore(words);
+        return root.value(0);
+    }
+
+    /**
+     * Returns the number of solved states which are kept for the following calls.
+     *
+     * @return the number of solved states
+     */
+    public long getNumberOfSolvedStates() {
+        return table.size();
+    }
+
+    /**
+     * Removes all solved states, e.g. to free their memory.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Solves the given states on all threads.
+     *
+     * @param states the states to solve
+     */
+    private void solveInParallel(List<long[]> states) {
+        AtomicInteger nextState = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>(numberOfThreads);
+        for (Worker worker : workers) {
+            tasks.add(() -> {
+                int index;
+                while ((index = nextState.getAndIncrement()) < states.size()) {
+                    worker.engine.restore(states.get(index));
+                    worker.value(0);
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("solver was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("solver failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the number of bits needed for the given non-negative number.
+     *
+     * @param value the number
+     * @return the number of bits of the number
+     */
+    private static int bits(long value) {
+        return Math.max(1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * {@link Worker} solves states on its own engine.
+     */
+    private final class Worker {
+
+        /**
+         * The engine the states are played on.
+         */
+        private final CheckersEngine engine;
+
+        /**
+         * The states of the searched path, indexed by the number of turns since the start of the search.
+         */
+        private final List<long[]> states = new ArrayList<>();
+
+        /**
+         * The codes of the black stones of the current state.
+         */
+        private final int[] codes;
+
+        /**
+         * The low 64 bits of the key of the current state.
+         */
+        private long keyLow;
+
+        /**
+         * The high 64 bits of the key of the current state.
+         */
+        private long keyHigh;
+
+        /**
+         * Creates a new {@link Worker}.
+         */
+        private Worker() {
+            // The solver never draws random numbers, the black actions are enumerated
+            this.engine = new CheckersEngine(config, new SplittableRandom(0));
+            this.codes = new int[config.numberOfBlackStones()];
+        }
+
+        /**
+         * Returns the probability that the white team wins from the current running state of the engine. The engine
+         * is left in an unspecified state.
+         *
+         * @param ply the number of turns since the start of the search
+         * @return the probability that the white team wins
+         */
+        private double value(int ply) {
+            computeKey();
+            long low = keyLow;
+            long high = keyHigh;
+            double cached = table.get(low, high);
+            if (!Double.isNaN(cached)) {
+                return cached;
+            }
+
+            long[] state = state(ply);
+            engine.snapshot(state);
+            int numberOfActions = engine.getNumberOfEligibleStones();
+            double sum = 0;
+            for (int position = 0; position < numberOfActions; position++) {
+                if (position > 0) {
+                    engine.restore(state);
+                }
+                playTurn(engine.getEligibleStone(position));
+                sum += switch (engine.getGameState()) {
+                    case WHITE_WIN -> 1;
+                    case BLACK_WIN -> 0;
+                    case RUNNING -> value(ply + 1);
+                };
+            }
+            double value = sum / numberOfActions;
+            table.put(low, high, value);
+            return value;
+        }
+
+        /**
+         * Returns the running states after the first turns from the given state, expanded breadth-first until there
+         * are enough states for all threads. Equal states are only returned once.
+         *
+         * @param root the running state to expand
+         * @return the expanded running states
+         */
+        private List<long[]> expand(long[] root) {
+            List<long[]> level = List.of(root);
+            for (int depth = 0; depth < MAX_SPLIT_DEPTH && level.size() < STATES_PER_THREAD * numberOfThreads; depth++) {
+                List<long[]> next = new ArrayList<>();
+                Set<List<Long>> keys = new HashSet<>();
+                for (long[] state : level) {
+                    engine.restore(state);
+                    int numberOfActions = engine.getNumberOfEligibleStones();
+                    for (int position = 0; position < numberOfActions; position++) {
+                        engine.restore(state);
+                        playTurn(engine.getEligibleStone(position));
+                        if (engine.isRunning()) {
+                            computeKey();
+                            if (keys.add(List.of(keyLow, keyHigh))) {
+                                long[] words = new long[root.length];
+                                engine.snapshot(words);
+                                next.add(words);
+                            }
+                        }
+                    }
+                }
+                if (next.isEmpty()) {
+                    break;
+                }
+                level = next;
+            }
+            return level;
+        }
+
+        /**
+         * Plays one turn in which the given black stone makes the action and the white stone captures under the
+         * default rules.
+         *
+         * @param stone the index of the eligible black stone
+         */
+        private void playTurn(int stone) {
+            engine.doBlackTeamAction(stone);
+            engine.doWhiteTeamActions();
+            engine.updateGameState();
+        }
+
+        /**
+         * Returns the buffer for the state at the given number of turns since the start of the search.
+         *
+         * @param ply the number of turns since the start of the search
+         * @return the buffer for the state
+         */
+        private long[] state(int ply) {
+            while (states.size() <= ply) {
+                states.add(new long[GameSnapshot.length(config.numberOfBlackStones())]);
+            }
+            return states.get(ply);
+        }
+
+        /**
+         * Computes the key of the current state of the engine into {@link #keyLow} and {@link #keyHigh}. The codes
+         * are not sorted, since the index of a black stone decides which of several black stones on the same field
+         * is captured, even if no black stones share a field in the current state.
+         */
+        private void computeKey() {
+            int numberOfCoins = config.maxNumberOfCoins() + 1;
+            for (int stone = 0; stone < codes.length; stone++) {
+                if (engine.isBlackStoneTurnedOn(stone)) {
+                    int field = engine.getBlackY(stone) * config.numberOfColumns() + engine.getBlackX(stone);
+                    codes[stone] = 1 + (field * 4 + engine.getBlackDirection(stone)) * numberOfCoins
+                        + engine.getBlackCoins(stone);
+                } else {
+                    codes[stone] = 0;
+                }
+            }
+            keyLow = 0;
+            keyHigh = 0;
+            int offset = append(0, engine.getWhiteY() * config.numberOfColumns() + engine.getWhiteX(), fieldBits);
+            for (int code : codes) {
+                offset = append(offset, code, stoneBits);
+            }
+        }
+
+        /**
+         * Appends a number to the key of the current state.
+         *
+         * @param offset the number of bits of the key before the number
+         * @param value  the non-negative number
+         * @param bits   the number of bits of the number
+         * @return the number of bits of the key after the number
+         */
+        private int append(int offset, long value, int bits) {
+            if (offset < 64) {
+                keyLow |= value << offset;
+                if (offset + bits > 64) {
+                    keyHigh |= value >>> 64 - offset;
+                }
+            } else {
+                keyHigh |= value << offset - 64;
+            }
+            return offset + bits;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package h01.solver;
+
+import java.util.Arrays;
+
+/**
+ * {@link SolutionTable} stores the exact values of solved game states and is shared by all threads of a solver.
+ * <p>
+ * A state is identified by a 128-bit key of the field of the white stone and the codes of the black stones in the
+ * order of their indices, so there are no collisions. The codes are deliberately not sorted: the index of a black
+ * stone decides which of several black stones on a field is captured first, so states which only differ in the order
+ * of their black stones are different states. The table is split into segments which are locked independently, and
+ * every segment is an open-addressing hash table with linear probing which doubles its capacity when it is half
+ * full. Entries are never removed, since the value of a state never changes.
+ */
+class SolutionTable {
+
+    /**
+     * The binary logarithm of the number of segments.
+     */
+    private static final int SEGMENT_BITS = 6;
+
+    /**
+     * The initial number of slots of a segment.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * The segments of the table.
+     */
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    /**
+     * Creates a new empty {@link SolutionTable}.
+     */
+    SolutionTable() {
+        for (int segment = 0; segment < segments.length; segment++) {
+            segments[segment] = new Segment();
+        }
+    }
+
+    /**
+     * Returns the value of the state with the given key or {@link Double#NaN} if the state has not been solved.
+     *
+     * @param low  the low 64 bits of the key
+     * @param high the high 64 bits of the key
+     * @return the value of the state
+     */
+    double get(long low, long high) {
+        long hash = hash(low, high);
+        Segment segment = segments[(int) (hash >>> -SEGMENT_BITS)];
+        synchronized (segment) {
+            return segment.get(low, high, (int) hash);
+        }
+    }
+
+    /**
+     * Stores the value of the state with the given key.
+     *
+     * @param low   the low 64 bits of the key
+     * @param high  the high 64 bits of the key
+     * @param value the value of the state
+     */
+    void put(long low, long high, double value) {
+        long hash = hash(low, high);
+        Segment segment = segments[(int) (hash >>> -SEGMENT_BITS)];
+        synchronized (segment) {
+            segment.put(low, high, (int) hash, value);
+        }
+    }
+
+    /**
+     * Returns the number of stored states.
+     *
+     * @return the number of stored states
+     */
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all stored states.
+     */
+    void clear() {
+        for (int segment = 0; segment < segments.length; segment++) {
+            synchronized (segments[segment]) {
+                segments[segment] = new Segment();
+            }
+        }
+    }
+
+    /**
+     * Returns a well-mixed hash of the given key.
+     *
+     * @param low  the low 64 bits of the key
+     * @param high the high 64 bits of the key
+     * @return the hash of the key
+     */
+    private static long hash(long low, long high) {
+        long hash = low * 0x9E3779B97F4A7C15L ^ high * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ hash >>> 32) * 0xD6E8FEB86659FD93L;
+        return hash ^ hash >>> 32;
+    }
+
+    /**
+     * {@link Segment} is one independently locked part of the table.
+     */
+    private static final class Segment {
+
+        /**
+         * The keys of the slots, two words per slot.
+         */
+        private long[] keys = new long[2 * INITIAL_CAPACITY];
+
+        /**
+         * The values of the slots, {@link Double#NaN} for an empty slot.
+         */
+        private double[] values = newValues(INITIAL_CAPACITY);
+
+        /**
+         * The number of stored states.
+         */
+        private int size;
+
+        /**
+         * Returns the value of the state with the given key or {@link Double#NaN} if it is not stored.
+         *
+         * @param low  the low 64 bits of the key
+         * @param high the high 64 bits of the key
+         * @param hash the hash of the key
+         * @return the value of the state
+         */
+        private double get(long low, long high, int hash) {
+            int mask = values.length - 1;
+            for (int slot = hash & mask; !Double.isNaN(values[slot]); slot = slot + 1 & mask) {
+                if (keys[2 * slot] == low && keys[2 * slot + 1] == high) {
+                    return values[slot];
+                }
+            }
+            return Double.NaN;
+        }
+
+        /**
+         * Stores the value of the state with the given key, replacing an existing value.
+         *
+         * @param low   the low 64 bits of the key
+         * @param high  the high 64 bits of the key
+         * @param hash  the hash of the key
+         * @param value the value of the state
+         */
+        private void put(long low, long high, int hash, double value) {
+            int mask = values.length - 1;
+            int slot = hash & mask;
+            while (!Double.isNaN(values[slot])) {
+                if (keys[2 * slot] == low && keys[2 * slot + 1] == high) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = slot + 1 & mask;
+            }
+            keys[2 * slot] = low;
+            keys[2 * slot + 1] = high;
+            values[slot] = value;
+            if (++size > values.length / 2) {
+                grow();
+            }
+        }
+
+        /**
+         * Doubles the capacity and reinserts all stored states.
+         */
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[2 * oldKeys.length];
+            values = newValues(2 * oldValues.length);
+            int mask = values.length - 1;
+            for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+                if (!Double.isNaN(oldValues[oldSlot])) {
+                    long low = oldKeys[2 * oldSlot];
+                    long high = oldKeys[2 * oldSlot + 1];
+                    int slot = (int) hash(low, high) & mask;
+                    while (!Double.isNaN(values[slot])) {
+                        slot = slot + 1 & mask;
+                    }
+                    keys[2 * slot] = low;
+                    keys[2 * slot + 1] = high;
+                    values[slot] = oldValues[oldSlot];
+                }
+            }
+        }
+
+        /**
+         * Returns a new array of empty values.
+         *
+         * @param capacity the number of slots
+         * @return the array of empty values
+         */
+        private static double[] newValues(int capacity) {
+            double[] values = new double[capacity];
+            Arrays.fill(values, Double.NaN);
+            return values;
+        }
+    }
+}
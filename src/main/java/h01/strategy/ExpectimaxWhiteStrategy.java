@@ -0,0 +1,381 @@
+package h01.strategy;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameSnapshot;
+import h01.engine.WhiteStrategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * {@link ExpectimaxWhiteStrategy} chooses the capture of the white stone with a depth-limited expectimax search.
+ * <p>
+ * The value of a state is the probability that the white team wins. After a capture, the black team chooses one of
+ * its eligible stones uniformly at random, which is a chance node, and the white team then chooses the best of its
+ * captures, which is a max node. Won and lost games have the values {@code 1} and {@code 0}. At the depth limit, a
+ * state is estimated by the fraction of captured black stones.
+ * <p>
+ * The search deepens iteratively until the maximum depth or the time budget of the turn is reached, and the result
+ * of the deepest completed iteration is used. If not even the first iteration completes, the default capture is
+ * made. The values of searched states are cached in a {@link TranspositionTable} which is kept across turns and
+ * games. Captures are ordered by the results of the previous iteration at the root and by the cached best capture
+ * in the tree, so a certain win, which cannot be improved, is usually found first and ends the search of a node.
+ * <p>
+ * All states are searched on a private {@link CheckersEngine}, which is restored from packed snapshots, so the
+ * search does not allocate. With a time budget, the chosen captures depend on the speed of the machine; with a
+ * budget large enough for the maximum depth, the strategy is deterministic.
+ */
+public class ExpectimaxWhiteStrategy implements WhiteStrategy {
+
+    /**
+     * The default binary logarithm of the number of slots of the transposition table.
+     */
+    public static final int DEFAULT_TABLE_BITS = 18;
+
+    /**
+     * The number of nodes between two checks of the time budget.
+     */
+    private static final int NODES_PER_CLOCK_CHECK = 1024;
+
+    /**
+     * The seed of the hashes of max nodes, which distinguishes them from chance nodes.
+     */
+    private static final long MAX_NODE_SEED = 0x5DEECE66DL;
+
+    /**
+     * The maximum depth of a search in turns.
+     */
+    private final int maxDepth;
+
+    /**
+     * The time budget of a turn in nanoseconds.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * The number of black stones.
+     */
+    private final int numberOfBlackStones;
+
+    /**
+     * The engine all states are searched on.
+     */
+    private final CheckersEngine search;
+
+    /**
+     * The cached values of searched states.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The states of the chance nodes, indexed by ply.
+     */
+    private final long[][] states;
+
+    /**
+     * The states of the max nodes, after the action of the black team, indexed by ply.
+     */
+    private final long[][] afterBlack;
+
+    /**
+     * The captured black stones of the max nodes, indexed by ply.
+     */
+    private final int[][] captureStones;
+
+    /**
+     * The landing fields of the captures of the max nodes, indexed by ply.
+     */
+    private final int[][] captureFields;
+
+    /**
+     * The root captures ordered by their values in the previous iteration.
+     */
+    private final int[] rootOrder;
+
+    /**
+     * The values of the root captures in the current iteration.
+     */
+    private final double[] rootValues;
+
+    /**
+     * The state at the root of the search.
+     */
+    private final long[] root;
+
+    /**
+     * The time at which the current search has to stop.
+     */
+    private long deadline;
+
+    /**
+     * The number of nodes until the next check of the time budget.
+     */
+    private int nodesUntilClockCheck;
+
+    /**
+     * The depth of the last completed iteration of the last search.
+     */
+    private int lastDepth;
+
+    /**
+     * Creates a new {@link ExpectimaxWhiteStrategy} with a transposition table of the default size.
+     *
+     * @param config          the configuration of the games
+     * @param maxDepth        the maximum depth of a search in turns
+     * @param timeBudgetNanos the time budget of a turn in nanoseconds
+     */
+    public ExpectimaxWhiteStrategy(CheckersConfig config, int maxDepth, long timeBudgetNanos) {
+        this(config, maxDepth, timeBudgetNanos, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Creates a new {@link ExpectimaxWhiteStrategy}.
+     *
+     * @param config          the configuration of the games
+     * @param maxDepth        the maximum depth of a search in turns
+     * @param timeBudgetNanos the time budget of a turn in nanoseconds
+     * @param tableBits       the binary logarithm of the number of slots of the transposition table
+     */
+    public ExpectimaxWhiteStrategy(CheckersConfig config, int maxDepth, long timeBudgetNanos, int tableBits) {
+        if (maxDepth < 1 || maxDepth > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid search depth: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.numberOfBlackStones = config.numberOfBlackStones();
+        // The search never draws random numbers, the black actions are enumerated
+        this.search = new CheckersEngine(config, new SplittableRandom(0));
+        this.table = new TranspositionTable(tableBits);
+        int length = GameSnapshot.length(numberOfBlackStones);
+        this.states = new long[maxDepth + 1][length];
+        this.afterBlack = new long[maxDepth + 1][length];
+        this.captureStones = new int[maxDepth + 1][numberOfBlackStones];
+        this.captureFields = new int[maxDepth + 1][numberOfBlackStones];
+        this.rootOrder = new int[numberOfBlackStones];
+        this.rootValues = new double[numberOfBlackStones];
+        this.root = new long[length];
+    }
+
+    @Override
+    public int chooseCapture(CheckersEngine engine, int[] stones, int[] landingFields, int numberOfCaptures) {
+        lastDepth = 0;
+        if (numberOfCaptures == 1) {
+            return 0;
+        }
+        engine.snapshot(root);
+        deadline = System.nanoTime() + timeBudgetNanos;
+        nodesUntilClockCheck = NODES_PER_CLOCK_CHECK;
+        for (int capture = 0; capture < numberOfCaptures; capture++) {
+            rootOrder[capture] = capture;
+        }
+        try {
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                for (int i = 0; i < numberOfCaptures; i++) {
+                    int capture = rootOrder[i];
+                    search.restore(root);
+                    search.captureBlackStone(stones[capture], landingFields[capture]);
+                    rootValues[capture] = valueAfterTurn(0, depth - 1);
+                }
+                sortRootOrder(numberOfCaptures);
+                lastDepth = depth;
+                if (rootValues[rootOrder[0]] >= 1) {
+                    break;
+                }
+            }
+        } catch (SearchTimeout e) {
+            // Keep the order of the last completed iteration
+        }
+        return rootOrder[0];
+    }
+
+    /**
+     * Returns the depth of the last completed iteration of the last search, or {@code 0} if no iteration completed or
+     * there was only one possible capture.
+     *
+     * @return the depth of the last search
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Removes all cached values, e.g. to measure the search without the results of earlier turns.
+     */
+    public void clearTable() {
+        table.clear();
+    }
+
+    /**
+     * Ends the turn on the search engine after the action of the white team and returns the value of the resulting
+     * state.
+     *
+     * @param ply   the number of turns since the root
+     * @param depth the remaining search depth in turns
+     * @return the probability that the white team wins
+     */
+    private double valueAfterTurn(int ply, int depth) {
+        search.updateGameState();
+        GameState gameState = search.getGameState();
+        if (gameState == GameState.WHITE_WIN) {
+            return 1;
+        } else if (gameState == GameState.BLACK_WIN) {
+            return 0;
+        } else if (depth == 0) {
+            return (double) (numberOfBlackStones - search.getNumberOfTurnedOnStones()) / numberOfBlackStones;
+        }
+        return chanceValue(ply + 1, depth);
+    }
+
+    /**
+     * Returns the expected value of the current state of the search engine over all actions of the black team.
+     *
+     * @param ply   the number of turns since the root
+     * @param depth the remaining search depth in turns
+     * @return the probability that the white team wins
+     */
+    private double chanceValue(int ply, int depth) {
+        checkClock();
+        long[] state = states[ply];
+        search.snapshot(state);
+        long key = hash(state, 0);
+        int slot = table.find(key);
+        if (slot >= 0 && table.depth(slot) >= depth) {
+            return table.value(slot);
+        }
+
+        int numberOfActions = search.getNumberOfEligibleStones();
+        double sum = 0;
+        for (int position = 0; position < numberOfActions; position++) {
+            if (position > 0) {
+                search.restore(state);
+            }
+            search.doBlackTeamAction(search.getEligibleStone(position));
+            sum += maxValue(ply, depth);
+        }
+        double value = sum / numberOfActions;
+        table.store(key, depth, value, 0);
+        return value;
+    }
+
+    /**
+     * Returns the value of the best capture of the white team in the current state of the search engine.
+     *
+     * @param ply   the number of turns since the root
+     * @param depth the remaining search depth in turns
+     * @return the probability that the white team wins
+     */
+    private double maxValue(int ply, int depth) {
+        int[] stones = captureStones[ply];
+        int[] fields = captureFields[ply];
+        int numberOfCaptures = search.findCaptures(stones, fields);
+        if (numberOfCaptures == 0) {
+            return valueAfterTurn(ply, depth - 1);
+        }
+        if (numberOfCaptures == 1) {
+            search.captureBlackStone(stones[0], fields[0]);
+            return valueAfterTurn(ply, depth - 1);
+        }
+
+        long[] state = afterBlack[ply];
+        search.snapshot(state);
+        long key = hash(state, MAX_NODE_SEED);
+        int slot = table.find(key);
+        if (slot >= 0 && table.depth(slot) >= depth) {
+            return table.value(slot);
+        }
+        // Search the best capture of an earlier search first
+        int first = slot >= 0 && table.bestMove(slot) < numberOfCaptures ? table.bestMove(slot) : 0;
+        double best = -1;
+        int bestCapture = first;
+        for (int i = 0; i < numberOfCaptures; i++) {
+            int capture = i == 0 ? first : i <= first ? i - 1 : i;
+            if (i > 0) {
+                search.restore(state);
+            }
+            search.captureBlackStone(stones[capture], fields[capture]);
+            double value = valueAfterTurn(ply, depth - 1);
+            if (value > best) {
+                best = value;
+                bestCapture = capture;
+                if (best >= 1) {
+                    break;
+                }
+            }
+        }
+        table.store(key, depth, best, bestCapture);
+        return best;
+    }
+
+    /**
+     * Returns the hash of a packed state, ignoring the number of turns and the order of the eligible stones, which
+     * do not change the value of a state.
+     *
+     * @param state the packed state
+     * @param seed  the seed of the kind of node
+     * @return the hash of the state
+     */
+    private long hash(long[] state, long seed) {
+        long key = TranspositionTable.hash(state, 0, 1, seed);
+        return TranspositionTable.hash(
+            state,
+            GameSnapshot.HEADER_LENGTH,
+            GameSnapshot.HEADER_LENGTH + numberOfBlackStones,
+            key
+        );
+    }
+
+    /**
+     * Sorts the root captures by their values in descending order. The sort is stable, so captures with equal values
+     * keep the order of the default rules.
+     *
+     * @param numberOfCaptures the number of root captures
+     */
+    private void sortRootOrder(int numberOfCaptures) {
+        for (int i = 1; i < numberOfCaptures; i++) {
+            int capture = rootOrder[i];
+            int j = i - 1;
+            while (j >= 0 && rootValues[rootOrder[j]] < rootValues[capture]) {
+                rootOrder[j + 1] = rootOrder[j];
+                j--;
+            }
+            rootOrder[j + 1] = capture;
+        }
+    }
+
+    /**
+     * Stops the search if the time budget of the turn is exhausted. The clock is only read every
+     * {@link #NODES_PER_CLOCK_CHECK} nodes.
+     */
+    private void checkClock() {
+        if (--nodesUntilClockCheck == 0) {
+            nodesUntilClockCheck = NODES_PER_CLOCK_CHECK;
+            if (System.nanoTime() - deadline > 0) {
+                throw SearchTimeout.INSTANCE;
+            }
+        }
+    }
+
+    /**
+     * {@link SearchTimeout} unwinds a search whose time budget is exhausted.
+     */
+    private static final class SearchTimeout extends RuntimeException {
+
+        /**
+         * The version of the serialized form.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The only instance, which has no stack trace, so throwing it is cheap.
+         */
+        private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+        /**
+         * Creates the only instance without a message, a cause, suppressed exceptions and a stack trace.
+         */
+        private SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package h01.strategy;
+
+import h01.GameState;
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link MctsBlackStrategy} chooses the black stone of every action with a root-parallel Monte Carlo Tree Search.
+ * <p>
+ * The white stone follows the default rules, which are deterministic, so the tree only has decision nodes of the
+ * black team: a child of a node is the state after one eligible black stone made its action and the white stone
+ * captured. Every tree searches with UCT and estimates new nodes with a random playout under the default rules. The
+ * value of a node is the fraction of won playouts for the black team.
+ * <p>
+ * Every thread grows its own tree from the same root on its own {@link CheckersEngine}, so the threads share no
+ * mutable state. After the budget of the turn, the visits of the actions at the root are summed over all trees and
+ * the most visited action is chosen. The budget is either a number of playouts, which are split evenly between the
+ * threads and make the strategy deterministic for a fixed seed, or a time in nanoseconds.
+ * <p>
+ * The playouts of a turn are seeded from the seed of the strategy and a number drawn from the source of randomness
+ * of the game, like {@link BlackStrategy#RANDOM} draws its choices. A game which is seeded from its own seed, as in a
+ * batch, therefore gets the same search whichever strategy instance plays it and whatever games the instance played
+ * before.
+ * <p>
+ * The strategy owns a pool of worker threads and has to be closed after use.
+ */
+public class MctsBlackStrategy implements BlackStrategy, AutoCloseable {
+
+    /**
+     * The exploration constant of UCT.
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * The default maximum number of nodes of a tree.
+     */
+    public static final int DEFAULT_MAX_NODES = 1 << 18;
+
+    /**
+     * The number of playouts between two checks of the time budget.
+     */
+    private static final int PLAYOUTS_PER_CLOCK_CHECK = 16;
+
+    /**
+     * The trees of the threads.
+     */
+    private final Tree[] trees;
+
+    /**
+     * The number of playouts per turn, or {@code 0} if the search is limited by time.
+     */
+    private final long playoutsPerTurn;
+
+    /**
+     * The time budget per turn in nanoseconds, used if the search is not limited by playouts.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * The pool of worker threads, or {@code null} if the search runs on the calling thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The seed of the strategy, which is combined with the source of randomness of the game in every turn.
+     */
+    private final long seed;
+
+    /**
+     * The state at the root of the search.
+     */
+    private final long[] root;
+
+    /**
+     * The summed visits of the actions at the root.
+     */
+    private final long[] rootVisits;
+
+    /**
+     * Creates a new {@link MctsBlackStrategy}.
+     *
+     * @param config          the configuration of the games
+     * @param numberOfThreads the number of threads, each of which grows its own tree
+     * @param playoutsPerTurn the number of playouts per turn, or {@code 0} to limit the search by time
+     * @param timeBudgetNanos the time budget per turn in nanoseconds, used if the number of playouts is {@code 0}
+     * @param seed            the seed of the strategy, combined with the source of randomness of the game
+     */
+    public MctsBlackStrategy(
+        CheckersConfig config,
+        int numberOfThreads,
+        long playoutsPerTurn,
+        long timeBudgetNanos,
+        long seed
+    ) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        if (playoutsPerTurn < 0 || playoutsPerTurn == 0 && timeBudgetNanos <= 0) {
+            throw new IllegalArgumentException("search needs a budget of playouts or time");
+        }
+        this.trees = new Tree[numberOfThreads];
+        for (int thread = 0; thread < numberOfThreads; thread++) {
+            trees[thread] = new Tree(config, DEFAULT_MAX_NODES);
+        }
+        this.playoutsPerTurn = playoutsPerTurn;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.executor = numberOfThreads == 1 ? null : Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.seed = seed;
+        this.root = new long[GameSnapshot.length(config.numberOfBlackStones())];
+        this.rootVisits = new long[config.numberOfBlackStones()];
+    }
+
+    @Override
+    public int chooseStone(CheckersEngine engine) {
+        int numberOfActions = engine.getNumberOfEligibleStones();
+        if (numberOfActions == 1) {
+            return engine.getEligibleStone(0);
+        }
+        engine.snapshot(root);
+        SplittableRandom random = new SplittableRandom(seed ^ engine.getRandom().nextLong());
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        for (int thread = 0; thread < trees.length; thread++) {
+            long playouts = playoutsPerTurn / trees.length + (thread < playoutsPerTurn % trees.length ? 1 : 0);
+            trees[thread].reset(root, random.split(), playouts, deadline);
+        }
+        if (executor == null) {
+            trees[0].call();
+        } else {
+            List<Callable<Tree>> tasks = new ArrayList<>(List.of(trees));
+            try {
+                for (Future<Tree> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("search was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("search failed", e.getCause());
+            }
+        }
+
+        Arrays.fill(rootVisits, 0, numberOfActions, 0);
+        for (Tree tree : trees) {
+            tree.addRootVisits(rootVisits);
+        }
+        int best = 0;
+        for (int action = 1; action < numberOfActions; action++) {
+            if (rootVisits[action] > rootVisits[best]) {
+                best = action;
+            }
+        }
+        return engine.getEligibleStone(best);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * {@link Tree} is the search tree of one thread, stored in flat arrays.
+     * <p>
+     * The children of a node are allocated together when the node is expanded, one per eligible black stone in the
+     * order of the eligible stones. If the arrays are full, leaves are no longer expanded and only estimated.
+     */
+    private static final class Tree implements Callable<Tree> {
+
+        /**
+         * The marker of a node which has not been expanded.
+         */
+        private static final int NOT_EXPANDED = -1;
+
+        /**
+         * The engine the playouts are played on.
+         */
+        private final CheckersEngine search;
+
+        /**
+         * The index of the first child of every node.
+         */
+        private final int[] firstChild;
+
+        /**
+         * The number of children of every node.
+         */
+        private final int[] numberOfChildren;
+
+        /**
+         * The number of visits of every node.
+         */
+        private final int[] visits;
+
+        /**
+         * The number of playouts through every node which the black team won.
+         */
+        private final double[] wins;
+
+        /**
+         * The final state of the game in every node, or {@code null} if the game is running.
+         */
+        private final GameState[] finalStates;
+
+        /**
+         * The number of used nodes.
+         */
+        private int size;
+
+        /**
+         * The nodes of the path of the current iteration.
+         */
+        private int[] path = new int[64];
+
+        /**
+         * The state at the root.
+         */
+        private long[] root;
+
+        /**
+         * The number of playouts of the current turn, or {@code 0} if the search is limited by time.
+         */
+        private long playouts;
+
+        /**
+         * The time at which a search limited by time ends.
+         */
+        private long deadline;
+
+        /**
+         * Creates a new empty {@link Tree}.
+         *
+         * @param config   the configuration of the games
+         * @param maxNodes the maximum number of nodes
+         */
+        private Tree(CheckersConfig config, int maxNodes) {
+            this.search = new CheckersEngine(config, new SplittableRandom());
+            this.firstChild = new int[maxNodes];
+            this.numberOfChildren = new int[maxNodes];
+            this.visits = new int[maxNodes];
+            this.wins = new double[maxNodes];
+            this.finalStates = new GameState[maxNodes];
+        }
+
+        /**
+         * Prepares the search of a turn.
+         *
+         * @param root     the state at the root
+         * @param random   the source of randomness of the playouts
+         * @param playouts the number of playouts, or {@code 0} if the search is limited by time
+         * @param deadline the time at which a search limited by time ends
+         */
+        private void reset(long[] root, SplittableRandom random, long playouts, long deadline) {
+            this.root = root;
+            this.playouts = playouts;
+            this.deadline = deadline;
+            search.setRandom(random);
+            size = 0;
+            newNode();
+        }
+
+        @Override
+        public Tree call() {
+            if (playouts > 0) {
+                for (long playout = 0; playout < playouts; playout++) {
+                    iterate();
+                }
+            } else {
+                do {
+                    for (int playout = 0; playout < PLAYOUTS_PER_CLOCK_CHECK; playout++) {
+                        iterate();
+                    }
+                } while (System.nanoTime() - deadline < 0);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the visits of the children of the root to the given array.
+         *
+         * @param rootVisits the summed visits of the actions at the root
+         */
+        private void addRootVisits(long[] rootVisits) {
+            for (int action = 0; action < numberOfChildren[0]; action++) {
+                rootVisits[action] += visits[firstChild[0] + action];
+            }
+        }
+
+        /**
+         * Runs one iteration of selection, expansion, playout and backpropagation. A leaf is expanded on its second
+         * visit, so the first visit of every node is estimated by a playout.
+         */
+        private void iterate() {
+            search.restore(root);
+            int node = 0;
+            int depth = 0;
+            path[depth++] = node;
+            while (finalStates[node] == null && (visits[node] > 0 || node == 0)) {
+                if (firstChild[node] == NOT_EXPANDED && !expand(node)) {
+                    break;
+                }
+                int action = select(node);
+                play(search.getEligibleStone(action));
+                node = firstChild[node] + action;
+                if (finalStates[node] == null && !search.isRunning()) {
+                    finalStates[node] = search.getGameState();
+                }
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, 2 * depth);
+                }
+                path[depth++] = node;
+            }
+
+            GameState result = finalStates[node] != null ? finalStates[node] : playout();
+            double win = result == GameState.BLACK_WIN ? 1 : 0;
+            for (int i = 0; i < depth; i++) {
+                visits[path[i]]++;
+                wins[path[i]] += win;
+            }
+        }
+
+        /**
+         * Adds the children of the given node, one per eligible black stone of the current state.
+         *
+         * @param node the node to expand
+         * @return {@code true} if the node was expanded, {@code false} if the tree is full
+         */
+        private boolean expand(int node) {
+            int count = search.getNumberOfEligibleStones();
+            if (size + count > visits.length) {
+                return false;
+            }
+            firstChild[node] = size;
+            numberOfChildren[node] = count;
+            for (int child = 0; child < count; child++) {
+                newNode();
+            }
+            return true;
+        }
+
+        /**
+         * Adds a new node without children and visits.
+         */
+        private void newNode() {
+            firstChild[size] = NOT_EXPANDED;
+            numberOfChildren[size] = 0;
+            visits[size] = 0;
+            wins[size] = 0;
+            finalStates[size] = null;
+            size++;
+        }
+
+        /**
+         * Returns the child of the given node with the highest upper confidence bound. Unvisited children come first.
+         *
+         * @param node the expanded node
+         * @return the index of the action of the selected child
+         */
+        private int select(int node) {
+            int first = firstChild[node];
+            double logVisits = Math.log(Math.max(1, visits[node]));
+            int best = 0;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < numberOfChildren[node]; action++) {
+                int child = first + action;
+                if (visits[child] == 0) {
+                    return action;
+                }
+                double bound = wins[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = action;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays one turn on the search engine in which the given black stone makes the action.
+         *
+         * @param stone the index of the eligible black stone
+         */
+        private void play(int stone) {
+            search.doBlackTeamAction(stone);
+            search.doWhiteTeamActions();
+            search.updateGameState();
+        }
+
+        /**
+         * Plays the game on the search engine to the end under the default rules.
+         *
+         * @return the final state of the game
+         */
+        private GameState playout() {
+            while (search.isRunning()) {
+                search.doBlackTeamActions();
+                search.doWhiteTeamActions();
+                search.updateGameState();
+            }
+            return search.getGameState();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package h01.strategy;
+
+import java.util.Arrays;
+
+/**
+ * {@link TranspositionTable} caches the values of searched game states in a fixed-size hash table.
+ * <p>
+ * A state is identified by a 64-bit hash of its packed words. Every hash has exactly one slot, and a new entry
+ * always replaces the old one, so the table never grows and needs no cleanup. Two states with the same hash are
+ * treated as the same state, which is acceptable for 64-bit hashes.
+ */
+class TranspositionTable {
+
+    /**
+     * The hash of an empty slot.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * The mask of a hash to its slot.
+     */
+    private final int mask;
+
+    /**
+     * The hashes of the states in the slots.
+     */
+    private final long[] keys;
+
+    /**
+     * The values of the states in the slots.
+     */
+    private final double[] values;
+
+    /**
+     * The remaining search depths with which the values were computed.
+     */
+    private final byte[] depths;
+
+    /**
+     * The best moves of the states in the slots.
+     */
+    private final byte[] bestMoves;
+
+    /**
+     * Creates a new empty {@link TranspositionTable}.
+     *
+     * @param bits the binary logarithm of the number of slots
+     */
+    TranspositionTable(int bits) {
+        int size = 1 << bits;
+        this.mask = size - 1;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.depths = new byte[size];
+        this.bestMoves = new byte[size];
+    }
+
+    /**
+     * Returns the slot of the given state or {@code -1} if the state is not in the table.
+     *
+     * @param key the hash of the state
+     * @return the slot of the state
+     */
+    int find(long key) {
+        int slot = (int) key & mask;
+        return keys[slot] == key ? slot : -1;
+    }
+
+    /**
+     * Returns the value of the state in the given slot.
+     *
+     * @param slot the slot of the state
+     * @return the value of the state
+     */
+    double value(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Returns the remaining search depth with which the value in the given slot was computed.
+     *
+     * @param slot the slot of the state
+     * @return the search depth of the value
+     */
+    int depth(int slot) {
+        return depths[slot];
+    }
+
+    /**
+     * Returns the best move of the state in the given slot.
+     *
+     * @param slot the slot of the state
+     * @return the index of the best move
+     */
+    int bestMove(int slot) {
+        return bestMoves[slot] & 0xFF;
+    }
+
+    /**
+     * Stores the value of a state, replacing the previous state in its slot.
+     *
+     * @param key      the hash of the state
+     * @param depth    the remaining search depth with which the value was computed
+     * @param value    the value of the state
+     * @param bestMove the index of the best move, only the lowest 8 bits are stored
+     */
+    void store(long key, int depth, double value, int bestMove) {
+        int slot = (int) key & mask;
+        keys[slot] = key;
+        values[slot] = value;
+        depths[slot] = (byte) depth;
+        bestMoves[slot] = (byte) bestMove;
+    }
+
+    /**
+     * Removes all states from the table.
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Returns the hash of a packed game state. The hash is never {@link #EMPTY}.
+     *
+     * @param words the words of the state
+     * @param from  the index of the first word to hash
+     * @param to    the index after the last word to hash
+     * @param seed  the initial hash, e.g. to distinguish the kinds of nodes
+     * @return the hash of the words
+     */
+    static long hash(long[] words, int from, int to, long seed) {
+        long h = seed;
+        for (int i = from; i < to; i++) {
+            h = mix(h + words[i] * 0x9E3779B97F4A7C15L);
+        }
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     * Mixes the bits of the given value with the SplitMix64 finalizer.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,77 @@
+package h01.sweep;
+
+/**
+ * {@link ParameterRange} is an arithmetic range of values of one parameter of a {@link ParameterSweep}.
+ *
+ * @param first the first value
+ * @param last  the last value, which is only included if it is reached by the step
+ * @param step  the positive difference between two consecutive values
+ */
+public record ParameterRange(int first, int last, int step) {
+
+    /**
+     * Creates a new {@link ParameterRange} and validates its values.
+     *
+     * @throws IllegalArgumentException if the range is empty or the step is not positive
+     */
+    public ParameterRange {
+        if (step < 1) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        if (last < first) {
+            throw new IllegalArgumentException("empty range: " + first + ".." + last);
+        }
+    }
+
+    /**
+     * Returns the range which only contains the given value.
+     *
+     * @param value the value
+     * @return the range of the value
+     */
+    public static ParameterRange of(int value) {
+        return new ParameterRange(value, value, 1);
+    }
+
+    /**
+     * Parses a range of the form {@code <value>}, {@code <first>..<last>} or {@code <first>..<last>:<step>}.
+     *
+     * @param range the text of the range
+     * @return the range
+     * @throws IllegalArgumentException if the text is not a valid range
+     */
+    public static ParameterRange parse(String range) {
+        try {
+            int separator = range.indexOf("..");
+            if (separator < 0) {
+                return of(Integer.parseInt(range));
+            }
+            int stepSeparator = range.indexOf(':', separator);
+            int lastEnd = stepSeparator < 0 ? range.length() : stepSeparator;
+            int first = Integer.parseInt(range.substring(0, separator));
+            int last = Integer.parseInt(range.substring(separator + 2, lastEnd));
+            int step = stepSeparator < 0 ? 1 : Integer.parseInt(range.substring(stepSeparator + 1));
+            return new ParameterRange(first, last, step);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid range: " + range, e);
+        }
+    }
+
+    /**
+     * Returns all values of the range in ascending order.
+     *
+     * @return the values of the range
+     */
+    public int[] values() {
+        int[] values = new int[(int) (((long) last - first) / step + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = first + i * step;
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return first == last ? Integer.toString(first) : first + ".." + last + (step == 1 ? "" : ":" + step);
+    }
+}
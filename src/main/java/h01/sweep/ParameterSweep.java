@@ -0,0 +1,119 @@
+package h01.sweep;
+
+import h01.engine.CheckersConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ParameterSweep} is a grid of configurations, spanned by a range of values for every parameter of a
+ * {@link CheckersConfig}.
+ *
+ * @param numberOfColumns     the range of the number of columns
+ * @param numberOfRows        the range of the number of rows
+ * @param minNumberOfCoins    the range of the minimum initial number of coins of a black stone
+ * @param maxNumberOfCoins    the range of the maximum initial number of coins of a black stone
+ * @param numberOfBlackStones the range of the number of black stones
+ */
+public record ParameterSweep(
+    ParameterRange numberOfColumns,
+    ParameterRange numberOfRows,
+    ParameterRange minNumberOfCoins,
+    ParameterRange maxNumberOfCoins,
+    ParameterRange numberOfBlackStones
+) {
+
+    /**
+     * Returns the sweep which only contains the given configuration, e.g. as a base to vary single parameters with
+     * the {@code with} methods.
+     *
+     * @param config the configuration
+     * @return the sweep of the configuration
+     */
+    public static ParameterSweep of(CheckersConfig config) {
+        return new ParameterSweep(
+            ParameterRange.of(config.numberOfColumns()),
+            ParameterRange.of(config.numberOfRows()),
+            ParameterRange.of(config.minNumberOfCoins()),
+            ParameterRange.of(config.maxNumberOfCoins()),
+            ParameterRange.of(config.numberOfBlackStones())
+        );
+    }
+
+    /**
+     * Returns this sweep with the given range of the number of columns.
+     *
+     * @param range the range of the number of columns
+     * @return the new sweep
+     */
+    public ParameterSweep withNumberOfColumns(ParameterRange range) {
+        return new ParameterSweep(range, numberOfRows, minNumberOfCoins, maxNumberOfCoins, numberOfBlackStones);
+    }
+
+    /**
+     * Returns this sweep with the given range of the number of rows.
+     *
+     * @param range the range of the number of rows
+     * @return the new sweep
+     */
+    public ParameterSweep withNumberOfRows(ParameterRange range) {
+        return new ParameterSweep(numberOfColumns, range, minNumberOfCoins, maxNumberOfCoins, numberOfBlackStones);
+    }
+
+    /**
+     * Returns this sweep with the given range of the minimum initial number of coins.
+     *
+     * @param range the range of the minimum initial number of coins
+     * @return the new sweep
+     */
+    public ParameterSweep withMinNumberOfCoins(ParameterRange range) {
+        return new ParameterSweep(numberOfColumns, numberOfRows, range, maxNumberOfCoins, numberOfBlackStones);
+    }
+
+    /**
+     * Returns this sweep with the given range of the maximum initial number of coins.
+     *
+     * @param range the range of the maximum initial number of coins
+     * @return the new sweep
+     */
+    public ParameterSweep withMaxNumberOfCoins(ParameterRange range) {
+        return new ParameterSweep(numberOfColumns, numberOfRows, minNumberOfCoins, range, numberOfBlackStones);
+    }
+
+    /**
+     * Returns this sweep with the given range of the number of black stones.
+     *
+     * @param range the range of the number of black stones
+     * @return the new sweep
+     */
+    public ParameterSweep withNumberOfBlackStones(ParameterRange range) {
+        return new ParameterSweep(numberOfColumns, numberOfRows, minNumberOfCoins, maxNumberOfCoins, range);
+    }
+
+    /**
+     * Returns all valid configurations of the grid. The number of black stones varies fastest and the number of
+     * columns slowest. Combinations which are not a valid {@link CheckersConfig}, e.g. a maximum number of coins
+     * below the minimum, are skipped.
+     *
+     * @return the configurations of the grid
+     */
+    public List<CheckersConfig> configs() {
+        List<CheckersConfig> configs = new ArrayList<>();
+        for (int columns : numberOfColumns.values()) {
+            for (int rows : numberOfRows.values()) {
+                for (int minCoins : minNumberOfCoins.values()) {
+                    for (int maxCoins : maxNumberOfCoins.values()) {
+                        for (int stones : numberOfBlackStones.values()) {
+                            try {
+                                configs.add(new CheckersConfig(columns, rows, minCoins, maxCoins, stones));
+                            } catch (IllegalArgumentException e) {
+                                // Not a valid game, e.g. an empty coin range
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return configs;
+    }
+}
@@ -0,0 +1,75 @@
+package h01.sweep;
+
+import h01.batch.BatchResult;
+import h01.engine.CheckersConfig;
+
+import java.util.List;
+
+/**
+ * {@link SweepResult} is the result of every configuration of a {@link SweepRunner}.
+ * <p>
+ * The elapsed time of a configuration is the time the workers spent on its games, summed over all workers, so the
+ * throughput of a configuration is the throughput of a single thread.
+ *
+ * @param masterSeed   the master seed from which the seeds of all games were derived
+ * @param configs      the configurations of the sweep
+ * @param results      the results of the configurations, in the same order
+ * @param elapsedNanos the time needed to play all games in nanoseconds
+ */
+public record SweepResult(
+    long masterSeed,
+    List<CheckersConfig> configs,
+    List<BatchResult> results,
+    long elapsedNanos
+) {
+
+    /**
+     * Returns the result of the given configuration.
+     *
+     * @param config the configuration
+     * @return the result of the configuration
+     * @throws IllegalArgumentException if the configuration is not part of the sweep
+     */
+    public BatchResult result(CheckersConfig config) {
+        int index = configs.indexOf(config);
+        if (index < 0) {
+            throw new IllegalArgumentException("configuration is not part of the sweep: " + config);
+        }
+        return results.get(index);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(
+            "Seed: %d%nConfigurations: %d (%.3f s)%n%7s %7s %9s %9s %7s %10s %10s %10s",
+            masterSeed,
+            configs.size(),
+            elapsedNanos / 1e9,
+            "columns",
+            "rows",
+            "min coins",
+            "max coins",
+            "stones",
+            "WHITE_WIN",
+            "mean turns",
+            "games/s"
+        ));
+        for (int i = 0; i < configs.size(); i++) {
+            CheckersConfig config = configs.get(i);
+            BatchResult result = results.get(i);
+            builder.append(String.format(
+                "%n%7d %7d %9d %9d %7d %10.4f %10.3f %10.0f",
+                config.numberOfColumns(),
+                config.numberOfRows(),
+                config.minNumberOfCoins(),
+                config.maxNumberOfCoins(),
+                config.numberOfBlackStones(),
+                result.whiteWinRate(),
+                result.meanTurns(),
+                result.gamesPerSecond()
+            ));
+        }
+        return builder.toString();
+    }
+}
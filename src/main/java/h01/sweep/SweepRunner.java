@@ -0,0 +1,129 @@
+package h01.sweep;
+
+import h01.batch.BatchResult;
+import h01.batch.ChunkedRunner;
+import h01.batch.GameSeeds;
+import h01.batch.GameStatistics;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * {@link SweepRunner} plays the same number of games for every configuration of a {@link ParameterSweep} within a
+ * single run, e.g. to tune the balance of the game.
+ * <p>
+ * Every configuration plays the games with the same indices, seeded by {@link GameSeeds} from the master seed, so a
+ * configuration plays the same games as a {@code BatchRunner} with the same master seed. The games of all
+ * configurations are split into the chunks of a {@link ChunkedRunner}, so all workers stay busy until the last chunk,
+ * even if the games on large boards take much longer than the others. The chunks of a configuration are numbered
+ * consecutively, so a worker only creates a new engine when it moves on to the next configuration.
+ */
+public class SweepRunner {
+
+    /**
+     * The number of games a worker claims at once.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * The configurations of the sweep.
+     */
+    private final List<CheckersConfig> configs;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The master seed from which the seeds of all games are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * Creates a new {@link SweepRunner} with a random master seed.
+     *
+     * @param sweep           the grid of configurations
+     * @param numberOfThreads the number of worker threads
+     */
+    public SweepRunner(ParameterSweep sweep, int numberOfThreads) {
+        this(sweep.configs(), numberOfThreads, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new {@link SweepRunner}.
+     *
+     * @param configs         the configurations of the sweep
+     * @param numberOfThreads the number of worker threads
+     * @param masterSeed      the master seed from which the seeds of all games are derived
+     * @throws IllegalArgumentException if there is no configuration or the number of threads is not positive
+     */
+    public SweepRunner(List<CheckersConfig> configs, int numberOfThreads, long masterSeed) {
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("sweep has no valid configuration");
+        }
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        this.configs = List.copyOf(configs);
+        this.numberOfThreads = numberOfThreads;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Plays the given number of games for every configuration and returns the results.
+     *
+     * @param numberOfGames the number of games per configuration
+     * @return the results of all configurations
+     * @throws IllegalArgumentException if the number of games is negative
+     */
+    public SweepResult run(long numberOfGames) {
+        if (numberOfGames < 0) {
+            throw new IllegalArgumentException("number of games must not be negative: " + numberOfGames);
+        }
+        ChunkedRunner runner = new ChunkedRunner("sweep", numberOfThreads, CHUNK_SIZE, masterSeed);
+        long start = System.nanoTime();
+        List<BatchResult> results = runner.run(configs.size(), 0, numberOfGames, index -> new Worker());
+        return new SweepResult(masterSeed, configs, results, System.nanoTime() - start);
+    }
+
+    /**
+     * {@link Worker} plays the chunks claimed by one worker thread.
+     */
+    private final class Worker implements ChunkedRunner.Worker {
+
+        /**
+         * The engine of the configuration of the last chunk or {@code null} before the first chunk.
+         */
+        private CheckersEngine engine;
+
+        /**
+         * The index of the configuration of the engine.
+         */
+        private int engineConfig = -1;
+
+        /**
+         * Plays a chunk of games of one configuration.
+         *
+         * @param config     the index of the configuration
+         * @param first      the index of the first game of the chunk
+         * @param end        the index after the last game of the chunk
+         * @param statistics the statistics of the configuration to record the games into
+         */
+        @Override
+        public void playGames(int config, long first, long end, GameStatistics statistics) {
+            if (config != engineConfig) {
+                engine = new CheckersEngine(configs.get(config), GameSeeds.random(masterSeed));
+                engineConfig = config;
+            }
+            for (long game = first; game < end; game++) {
+                long gameSeed = GameSeeds.gameSeed(masterSeed, game);
+                engine.setRandom(GameSeeds.random(gameSeed));
+                engine.initGame();
+                statistics.record(engine.runGame(), engine.getNumberOfTurns(), gameSeed);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package h01.tournament;
+
+import h01.batch.BatchResult;
+import h01.batch.ChunkedRunner;
+import h01.batch.GameSeeds;
+import h01.batch.GameStatistics;
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.WhiteStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * {@link Tournament} plays every white strategy against every black strategy and collects the results in a
+ * {@link TournamentResult}.
+ * <p>
+ * Every pair of strategies plays the same games, seeded by {@link GameSeeds} from the master seed of the tournament
+ * and the index of the game, so the differences between two cells of the results are not blurred by different
+ * initial states. The games of all pairs are split into the chunks of a {@link ChunkedRunner}, so all workers stay
+ * busy until the last chunk of the tournament, even if some pairs play much slower than others.
+ * <p>
+ * Every worker reuses a single engine and creates at most one strategy per contestant, on first use. A strategy which
+ * is {@link AutoCloseable} is closed when the worker is done.
+ */
+public class Tournament {
+
+    /**
+     * The number of games a worker claims at once.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * The configuration of all games.
+     */
+    private final CheckersConfig config;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int numberOfThreads;
+
+    /**
+     * The master seed from which the seeds of all games are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * The names of the white strategies.
+     */
+    private final List<String> whiteNames = new ArrayList<>();
+
+    /**
+     * The factories of the white strategies.
+     */
+    private final List<Supplier<? extends WhiteStrategy>> whiteStrategies = new ArrayList<>();
+
+    /**
+     * The names of the black strategies.
+     */
+    private final List<String> blackNames = new ArrayList<>();
+
+    /**
+     * The factories of the black strategies.
+     */
+    private final List<Supplier<? extends BlackStrategy>> blackStrategies = new ArrayList<>();
+
+    /**
+     * Creates a new {@link Tournament} with a random master seed and without any strategies.
+     *
+     * @param config          the configuration of all games
+     * @param numberOfThreads the number of worker threads
+     */
+    public Tournament(CheckersConfig config, int numberOfThreads) {
+        this(config, numberOfThreads, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a new {@link Tournament} without any strategies.
+     *
+     * @param config          the configuration of all games
+     * @param numberOfThreads the number of worker threads
+     * @param masterSeed      the master seed from which the seeds of all games are derived
+     */
+    public Tournament(CheckersConfig config, int numberOfThreads, long masterSeed) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numberOfThreads);
+        }
+        this.config = config;
+        this.numberOfThreads = numberOfThreads;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Adds a white strategy to the tournament, e.g. {@link WhiteStrategy#FIRST_CAPTURE} for the default rules.
+     * Every worker creates its own strategy, so a strategy does not have to be thread-safe.
+     *
+     * @param name     the unique name of the strategy
+     * @param strategy the factory of the strategy
+     * @throws IllegalArgumentException if a white strategy with the same name has already been added
+     */
+    public void addWhiteStrategy(String name, Supplier<? extends WhiteStrategy> strategy) {
+        if (whiteNames.contains(name)) {
+            throw new IllegalArgumentException("duplicate white strategy: " + name);
+        }
+        whiteNames.add(name);
+        whiteStrategies.add(strategy);
+    }
+
+    /**
+     * Adds a black strategy to the tournament, e.g. {@link BlackStrategy#RANDOM} for the default rules. Every worker
+     * creates its own strategy, so a strategy does not have to be thread-safe.
+     * <p>
+     * A strategy which draws its own random numbers makes the results depend on which worker plays which game, so
+     * only a deterministic strategy keeps the results independent of the number of threads.
+     *
+     * @param name     the unique name of the strategy
+     * @param strategy the factory of the strategy
+     * @throws IllegalArgumentException if a black strategy with the same name has already been added
+     */
+    public void addBlackStrategy(String name, Supplier<? extends BlackStrategy> strategy) {
+        if (blackNames.contains(name)) {
+            throw new IllegalArgumentException("duplicate black strategy: " + name);
+        }
+        blackNames.add(name);
+        blackStrategies.add(strategy);
+    }
+
+    /**
+     * Plays the given number of games for every pair of strategies and returns the results.
+     *
+     * @param numberOfGames the number of games per pair of strategies
+     * @return the results of all pairs of strategies
+     * @throws IllegalArgumentException if the number of games is negative
+     * @throws IllegalStateException    if no strategy has been added for a team
+     */
+    public TournamentResult run(long numberOfGames) {
+        if (numberOfGames < 0) {
+            throw new IllegalArgumentException("number of games must not be negative: " + numberOfGames);
+        }
+        if (whiteStrategies.isEmpty() || blackStrategies.isEmpty()) {
+            throw new IllegalStateException("both teams need at least one strategy");
+        }
+        int numberOfPairs = whiteStrategies.size() * blackStrategies.size();
+        ChunkedRunner runner = new ChunkedRunner("tournament", numberOfThreads, CHUNK_SIZE, masterSeed);
+        long start = System.nanoTime();
+        List<BatchResult> results = runner.run(numberOfPairs, 0, numberOfGames, index -> new Worker());
+        return new TournamentResult(
+            masterSeed,
+            List.copyOf(whiteNames),
+            List.copyOf(blackNames),
+            results,
+            System.nanoTime() - start
+        );
+    }
+
+    /**
+     * {@link Worker} plays the chunks claimed by one worker thread.
+     */
+    private final class Worker implements ChunkedRunner.Worker {
+
+        /**
+         * The engine which plays all games of the worker.
+         */
+        private final CheckersEngine engine = new CheckersEngine(config, GameSeeds.random(masterSeed));
+
+        /**
+         * The white strategies of the worker, created on first use.
+         */
+        private final WhiteStrategy[] white = new WhiteStrategy[whiteStrategies.size()];
+
+        /**
+         * The black strategies of the worker, created on first use.
+         */
+        private final BlackStrategy[] black = new BlackStrategy[blackStrategies.size()];
+
+        /**
+         * Plays a chunk of games of one pair of strategies.
+         *
+         * @param pair       the index of the pair, {@code white * numberOfBlackStrategies + black}
+         * @param first      the index of the first game of the chunk
+         * @param end        the index after the last game of the chunk
+         * @param statistics the statistics of the pair to record the games into
+         */
+        @Override
+        public void playGames(int pair, long first, long end, GameStatistics statistics) {
+            int whiteIndex = pair / black.length;
+            int blackIndex = pair % black.length;
+            if (white[whiteIndex] == null) {
+                white[whiteIndex] = whiteStrategies.get(whiteIndex).get();
+            }
+            if (black[blackIndex] == null) {
+                black[blackIndex] = blackStrategies.get(blackIndex).get();
+            }
+            engine.setWhiteStrategy(white[whiteIndex]);
+            engine.setBlackStrategy(black[blackIndex]);
+            for (long game = first; game < end; game++) {
+                long gameSeed = GameSeeds.gameSeed(masterSeed, game);
+                engine.setRandom(GameSeeds.random(gameSeed));
+                engine.initGame();
+                statistics.record(engine.runGame(), engine.getNumberOfTurns(), gameSeed);
+            }
+        }
+
+        /**
+         * Closes all strategies of the worker, even if closing one of them fails.
+         *
+         * @throws Exception if a strategy cannot be closed
+         */
+        @Override
+        public void close() throws Exception {
+            List<Object> strategies = new ArrayList<>(Arrays.asList(white));
+            strategies.addAll(Arrays.asList(black));
+            Exception failure = null;
+            for (Object strategy : strategies) {
+                if (strategy instanceof AutoCloseable closeable) {
+                    try {
+                        closeable.close();
+                    } catch (Exception e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
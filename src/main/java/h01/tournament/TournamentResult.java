@@ -0,0 +1,94 @@
+package h01.tournament;
+
+import h01.batch.BatchResult;
+
+import java.util.List;
+
+/**
+ * {@link TournamentResult} is the results matrix of a {@link Tournament}, with a row per white strategy and a column
+ * per black strategy.
+ * <p>
+ * The elapsed time of a cell is the time the workers spent on its games, summed over all workers, so the throughput
+ * of a cell is the throughput of a single thread and the cells can be compared regardless of how many workers
+ * played them.
+ *
+ * @param masterSeed   the master seed from which the seeds of all games were derived
+ * @param whiteNames   the names of the white strategies
+ * @param blackNames   the names of the black strategies
+ * @param results      the results of all pairs of strategies, row by row
+ * @param elapsedNanos the time needed to play all games in nanoseconds
+ */
+public record TournamentResult(
+    long masterSeed,
+    List<String> whiteNames,
+    List<String> blackNames,
+    List<BatchResult> results,
+    long elapsedNanos
+) {
+
+    /**
+     * Returns the result of the given pair of strategies.
+     *
+     * @param white the index of the white strategy
+     * @param black the index of the black strategy
+     * @return the result of the pair
+     */
+    public BatchResult result(int white, int black) {
+        return results.get(white * blackNames.size() + black);
+    }
+
+    /**
+     * Returns the result of the given pair of strategies.
+     *
+     * @param white the name of the white strategy
+     * @param black the name of the black strategy
+     * @return the result of the pair
+     * @throws IllegalArgumentException if there is no strategy with one of the names
+     */
+    public BatchResult result(String white, String black) {
+        int whiteIndex = whiteNames.indexOf(white);
+        int blackIndex = blackNames.indexOf(black);
+        if (whiteIndex < 0 || blackIndex < 0) {
+            throw new IllegalArgumentException("unknown pair of strategies: " + white + ", " + black);
+        }
+        return result(whiteIndex, blackIndex);
+    }
+
+    /**
+     * Returns the number of games played by every pair of strategies.
+     *
+     * @return the number of games per pair
+     */
+    public long numberOfGamesPerPair() {
+        return results.isEmpty() ? 0 : results.get(0).numberOfGames();
+    }
+
+    @Override
+    public String toString() {
+        int width = "white \\ black".length();
+        for (String name : whiteNames) {
+            width = Math.max(width, name.length());
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(
+            "Seed: %d%nGames per pair: %d (%.3f s)%nWHITE_WIN rate:%n%-" + width + "s",
+            masterSeed,
+            numberOfGamesPerPair(),
+            elapsedNanos / 1e9,
+            "white \\ black"
+        ));
+        for (String name : blackNames) {
+            builder.append(String.format("  %" + Math.max(6, name.length()) + "s", name));
+        }
+        for (int white = 0; white < whiteNames.size(); white++) {
+            builder.append(String.format("%n%-" + width + "s", whiteNames.get(white)));
+            for (int black = 0; black < blackNames.size(); black++) {
+                builder.append(String.format(
+                    "  %" + Math.max(6, blackNames.get(black).length()) + ".4f",
+                    result(white, black).whiteWinRate()
+                ));
+            }
+        }
+        return builder.toString();
+    }
+}
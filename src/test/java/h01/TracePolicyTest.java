@@ -0,0 +1,74 @@
+package h01;
+
+import fopbot.Direction;
+import fopbot.Robot;
+import fopbot.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TracePolicy}.
+ */
+public class TracePolicyTest {
+
+    private static Robot newRobot() {
+        World.setSize(5, 5);
+        World.setDelay(0);
+        return new Robot(0, 0, Direction.UP, 0);
+    }
+
+    private static List<?> transitions(Robot robot) {
+        return World.getGlobalWorld().getTrace(robot).getTransitions();
+    }
+
+    @Test
+    public void testLastKeepsBetweenOneAndTwiceTheLimit() {
+        Robot robot = newRobot();
+        TracePolicy policy = TracePolicy.last(10);
+        for (int action = 0; action < 1_000; action++) {
+            robot.turnLeft();
+            policy.apply(robot);
+            if (action >= 10) {
+                int size = transitions(robot).size();
+                assertTrue(size >= 10 && size <= 20, "transitions: " + size);
+            }
+        }
+    }
+
+    @Test
+    public void testOffKeepsNoTransitions() {
+        Robot robot = newRobot();
+        for (int action = 0; action < 100; action++) {
+            robot.turnLeft();
+            TracePolicy.OFF.apply(robot);
+            assertTrue(transitions(robot).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFullKeepsAllTransitions() {
+        Robot robot = newRobot();
+        int before = transitions(robot).size();
+        for (int action = 0; action < 100; action++) {
+            robot.turnLeft();
+            TracePolicy.FULL.apply(robot);
+        }
+        assertEquals(before + 100, transitions(robot).size());
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(TracePolicy.FULL, TracePolicy.parse("full"));
+        assertEquals(TracePolicy.OFF, TracePolicy.parse("OFF"));
+        assertEquals(TracePolicy.last(16), TracePolicy.parse("last:16"));
+        assertEquals("last:16", TracePolicy.parse("Last:16").toString());
+        assertThrows(IllegalArgumentException.class, () -> TracePolicy.parse("last:-1"));
+        assertThrows(IllegalArgumentException.class, () -> TracePolicy.parse("last:"));
+        assertThrows(IllegalArgumentException.class, () -> TracePolicy.parse("last:many"));
+        assertThrows(IllegalArgumentException.class, () -> TracePolicy.parse("some"));
+        assertThrows(IllegalArgumentException.class, () -> TracePolicy.last(-1));
+    }
+}
@@ -0,0 +1,102 @@
+package h01.batch;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BatchRunner} and {@link GameStatistics}.
+ */
+public class BatchRunnerTest {
+
+    @Test
+    public void testAllGamesArePlayed() {
+        var result = new BatchRunner(new CheckersConfig(5, 5, 8, 12, 5), 3).run(10_000);
+        assertEquals(10_000, result.numberOfGames());
+        assertTrue(result.minTurns() > 0);
+        assertTrue(result.minTurns() <= result.meanTurns() && result.meanTurns() <= result.maxTurns());
+    }
+
+    @Test
+    public void testMergedStatistics() {
+        var first = new GameStatistics();
+        first.record(GameState.WHITE_WIN, 4, 1);
+        var second = new GameStatistics();
+        second.record(GameState.BLACK_WIN, 8, 2);
+        first.merge(second);
+        var result = first.toResult(0, 1);
+        assertEquals(1, result.whiteWins());
+        assertEquals(1, result.blackWins());
+        assertEquals(4, result.minTurns());
+        assertEquals(8, result.maxTurns());
+        assertEquals(6, result.meanTurns(), 1e-9);
+        assertEquals(2, result.stdDevTurns(), 1e-9);
+        assertEquals(2, result.longestGameSeed());
+    }
+
+    @Test
+    public void testLongestGameDoesNotDependOnOrder() {
+        var first = new GameStatistics();
+        first.record(GameState.WHITE_WIN, 9, 7);
+        first.record(GameState.WHITE_WIN, 9, -3);
+        var second = new GameStatistics();
+        second.record(GameState.BLACK_WIN, 9, 5);
+        second.merge(first);
+        first.merge(new GameStatistics());
+        assertEquals(-3, first.toResult(0, 1).longestGameSeed());
+        assertEquals(-3, second.toResult(0, 1).longestGameSeed());
+        assertEquals(0, new GameStatistics().toResult(0, 1).maxTurns());
+    }
+
+    @Test
+    public void testVarianceOfLongGamesIsAccurate() {
+        // A sum of squared turns of 10^18 cannot represent a variance of 1/4
+        var first = new GameStatistics();
+        var second = new GameStatistics();
+        for (int game = 0; game < 1_000_000; game++) {
+            first.record(GameState.WHITE_WIN, 1_000_000_000 + game % 2, game);
+            second.record(GameState.BLACK_WIN, 1_000_000_000 + game % 2, game);
+        }
+        first.merge(second);
+        var result = first.toResult(0, 1);
+        assertEquals(1_000_000_000.5, result.meanTurns(), 1e-6);
+        assertEquals(0.5, result.stdDevTurns(), 1e-6);
+        assertEquals(0.5, result.whiteWinRate(), 1e-9);
+        // 1.96 * 0.5 / sqrt(2 * 10^6)
+        assertEquals(6.93e-4, result.whiteWinRateMargin(), 1e-6);
+        assertEquals(6.93e-4, result.meanTurnsMargin(), 1e-6);
+    }
+
+    @Test
+    public void testSameSeedSameResult() {
+        var config = new CheckersConfig(5, 5, 8, 12, 5);
+        var first = new BatchRunner(config, 1, 42).run(5_000);
+        var second = new BatchRunner(config, 4, 42).run(5_000);
+        assertEquals(first.whiteWins(), second.whiteWins());
+        assertEquals(first.maxTurns(), second.maxTurns());
+        assertEquals(first.meanTurns(), second.meanTurns(), 1e-9);
+        assertEquals(first.longestGameSeed(), second.longestGameSeed());
+    }
+
+    @Test
+    public void testSplitRangesAddUp() {
+        var runner = new BatchRunner(new CheckersConfig(5, 5, 8, 12, 5), 2, 7);
+        var whole = runner.run(0, 3_000);
+        var head = runner.run(0, 1_000);
+        var tail = runner.run(1_000, 2_000);
+        assertEquals(whole.whiteWins(), head.whiteWins() + tail.whiteWins());
+        assertEquals(whole.blackWins(), head.blackWins() + tail.blackWins());
+    }
+
+    @Test
+    public void testGameSeedsFollowSplittableRandom() {
+        var random = new SplittableRandom(123);
+        for (int game = 0; game < 10; game++) {
+            assertEquals(random.nextLong(), GameSeeds.gameSeed(123, game));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package h01.engine;
+
+import h01.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CheckersEngine}.
+ */
+public class CheckersEngineTest {
+
+    private static CheckersEngine engine(int numberOfColumns, int numberOfRows) {
+        return new CheckersEngine(new CheckersConfig(numberOfColumns, numberOfRows, 1, 3, 5), new SplittableRandom(42));
+    }
+
+    private static void turnOffAllButFirst(CheckersEngine engine) {
+        for (int stone = 1; stone < engine.getNumberOfBlackStones(); stone++) {
+            engine.setBlackStone(stone, 0, 1, CheckersEngine.UP, 0, false);
+        }
+    }
+
+    @Test
+    public void testBlackStoneMovesToFirstTarget() {
+        var engine = engine(5, 5);
+        engine.setWhiteStone(0, 1, CheckersEngine.UP);
+        turnOffAllButFirst(engine);
+        engine.setBlackStone(0, 2, 1, CheckersEngine.UP, 2, true);
+        engine.doBlackTeamActions();
+        assertEquals(3, engine.getBlackX(0));
+        assertEquals(2, engine.getBlackY(0));
+        assertEquals(CheckersEngine.RIGHT, engine.getBlackDirection(0));
+        assertEquals(1, engine.getBlackCoins(0));
+    }
+
+    @Test
+    public void testBlackStoneSkipsWhiteStoneAndBorder() {
+        var engine = engine(5, 5);
+        // Facing left at the left border: targets 1 and 2 are outside, target 3 is the white stone
+        engine.setWhiteStone(1, 0, CheckersEngine.UP);
+        turnOffAllButFirst(engine);
+        engine.setBlackStone(0, 0, 1, CheckersEngine.LEFT, 1, true);
+        engine.doBlackTeamActions();
+        assertEquals(1, engine.getBlackX(0));
+        assertEquals(2, engine.getBlackY(0));
+        assertEquals(CheckersEngine.UP, engine.getBlackDirection(0));
+    }
+
+    @Test
+    public void testWhiteStoneCapturesFirstFreeStone() {
+        var engine = engine(7, 7);
+        engine.setWhiteStone(0, 1, CheckersEngine.UP);
+        // Stone 0 is blocked by stone 1, stone 1 can be captured
+        engine.setBlackStone(0, 1, 2, CheckersEngine.UP, 1, true);
+        engine.setBlackStone(1, 2, 3, CheckersEngine.UP, 1, true);
+        for (int stone = 2; stone < engine.getNumberOfBlackStones(); stone++) {
+            engine.setBlackStone(stone, 6, 5, CheckersEngine.UP, 1, true);
+        }
+        engine.doWhiteTeamActions();
+        assertTrue(engine.isBlackStoneTurnedOn(0));
+        assertFalse(engine.isBlackStoneTurnedOn(1));
+        assertEquals(3, engine.getWhiteX());
+        assertEquals(4, engine.getWhiteY());
+    }
+
+    @Test
+    public void testFirstCaptureIsDefaultCapture() {
+        var engine = engine(7, 7);
+        engine.setWhiteStone(3, 4, CheckersEngine.UP);
+        engine.setBlackStone(0, 2, 3, CheckersEngine.UP, 1, true);
+        engine.setBlackStone(1, 4, 5, CheckersEngine.UP, 1, true);
+        engine.setBlackStone(2, 4, 3, CheckersEngine.UP, 1, true);
+        engine.setBlackStone(3, 6, 6, CheckersEngine.UP, 1, true);
+        engine.setBlackStone(4, 6, 6, CheckersEngine.UP, 1, true);
+        int[] stones = new int[5];
+        int[] fields = new int[5];
+        assertEquals(3, engine.findCaptures(stones, fields));
+        assertArrayEquals(new int[] {1, 2, 0}, Arrays.copyOf(stones, 3));
+        engine.doWhiteTeamActions();
+        assertFalse(engine.isBlackStoneTurnedOn(1));
+        assertEquals(fields[0], engine.getWhiteY() * 7 + engine.getWhiteX());
+    }
+
+    @Test
+    public void testDefaultStrategiesFollowDefaultRules() {
+        var config = new CheckersConfig(5, 5, 4, 8, 4);
+        var withoutStrategies = new CheckersEngine(config, new SplittableRandom(3));
+        var withStrategies = new CheckersEngine(config, new SplittableRandom(3));
+        // Wrap the default strategies, so the engine has to ask them
+        withStrategies.setBlackStrategy(e -> BlackStrategy.RANDOM.chooseStone(e));
+        withStrategies.setWhiteStrategy((e, stones, fields, captures) ->
+            WhiteStrategy.FIRST_CAPTURE.chooseCapture(e, stones, fields, captures)
+        );
+        for (int game = 0; game < 200; game++) {
+            withoutStrategies.initGame();
+            withStrategies.initGame();
+            assertEquals(withoutStrategies.runGame(), withStrategies.runGame());
+            assertEquals(withoutStrategies.snapshot(), withStrategies.snapshot());
+        }
+    }
+
+    @Test
+    public void testGameStateWithoutEligibleStones() {
+        var engine = engine(5, 5);
+        engine.setWhiteStone(0, 1, CheckersEngine.UP);
+        turnOffAllButFirst(engine);
+        engine.setBlackStone(1, 2, 1, CheckersEngine.UP, 4, false);
+        engine.setBlackStone(0, 2, 3, CheckersEngine.UP, 0, true);
+        engine.updateGameState();
+        assertEquals(GameState.BLACK_WIN, engine.getGameState());
+    }
+
+    @Test
+    public void testCountersFollowActions() {
+        var engine = engine(7, 7);
+        engine.setWhiteStone(0, 1, CheckersEngine.UP);
+        turnOffAllButFirst(engine);
+        engine.setBlackStone(1, 6, 5, CheckersEngine.UP, 0, true);
+        engine.setBlackStone(0, 1, 2, CheckersEngine.DOWN, 1, true);
+        assertEquals(2, engine.getNumberOfTurnedOnStones());
+        assertEquals(1, engine.getNumberOfEligibleStones());
+        // Stone 0 puts its last coin and is no longer eligible
+        engine.doBlackTeamActions();
+        assertEquals(0, engine.getNumberOfEligibleStones());
+        engine.setBlackStone(0, 1, 2, CheckersEngine.DOWN, 0, true);
+        engine.doWhiteTeamActions();
+        assertEquals(1, engine.getNumberOfTurnedOnStones());
+        engine.updateGameState();
+        assertEquals(GameState.BLACK_WIN, engine.getGameState());
+    }
+
+    @Test
+    public void testGamesTerminate() {
+        var random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            var engine = new CheckersEngine(new CheckersConfig(5, 5, 8, 12, 5), random.split());
+            engine.initGame();
+            assertNotEquals(GameState.RUNNING, engine.runGame());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package h01.engine;
+
+import h01.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DiagonalIndex}.
+ */
+public class DiagonalIndexTest {
+
+    @Test
+    public void testCapturesMatchOccupancyGrid() {
+        var random = new SplittableRandom(17);
+        for (int round = 0; round < 500; round++) {
+            int columns = random.nextInt(1, 12);
+            int rows = random.nextInt(1, 12);
+            int numberOfStones = random.nextInt(1, 16);
+            var grid = new OccupancyGrid(columns, rows, numberOfStones);
+            var index = new DiagonalIndex(columns, rows, numberOfStones);
+            for (int step = 0; step < 3 * numberOfStones; step++) {
+                // Small boards make stones share fields and block each other's landing fields
+                int stone = random.nextInt(numberOfStones);
+                if (random.nextInt(4) == 0) {
+                    grid.remove(stone);
+                    index.remove(stone);
+                } else {
+                    int field = random.nextInt(columns * rows);
+                    grid.move(stone, field);
+                    index.move(stone, field);
+                }
+            }
+            for (int whiteField = 0; whiteField < columns * rows; whiteField++) {
+                int[] expectedStones = new int[numberOfStones];
+                int[] expectedFields = new int[numberOfStones];
+                int[] actualStones = new int[numberOfStones];
+                int[] actualFields = new int[numberOfStones];
+                int expected = grid.findCaptures(whiteField, expectedStones, expectedFields, numberOfStones);
+                int actual = index.findCaptures(whiteField, actualStones, actualFields, numberOfStones);
+                assertEquals(expected, actual);
+                assertArrayEquals(expectedStones, actualStones);
+                assertArrayEquals(expectedFields, actualFields);
+            }
+        }
+    }
+
+    @Test
+    public void testClear() {
+        var index = new DiagonalIndex(4, 4, 2);
+        index.add(0, 5);
+        index.add(1, 10);
+        index.clear();
+        int[] stones = new int[2];
+        int[] fields = new int[2];
+        assertEquals(0, index.findCaptures(0, stones, fields, 2));
+        index.add(1, 5);
+        assertEquals(1, index.findCaptures(0, stones, fields, 2));
+        assertEquals(1, stones[0]);
+        assertEquals(10, fields[0]);
+    }
+
+    @Test
+    public void testGamesOnHugeBoard() {
+        var config = new CheckersConfig(10_000, 10_000, 8, 12, 50);
+        var engine = new CheckersEngine(config, new SplittableRandom(3));
+        for (int game = 0; game < 20; game++) {
+            engine.initGame();
+            assertNotEquals(GameState.RUNNING, engine.runGame());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package h01.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EligibleStones}.
+ */
+public class EligibleStonesTest {
+
+    @Test
+    public void testSwapRemove() {
+        var stones = new EligibleStones(5);
+        for (int stone = 0; stone < 5; stone++) {
+            stones.add(stone);
+        }
+        stones.remove(1);
+        stones.remove(1);
+        stones.remove(4);
+        assertEquals(3, stones.size());
+        assertFalse(stones.contains(1));
+        assertFalse(stones.contains(4));
+        assertTrue(stones.contains(0) && stones.contains(2) && stones.contains(3));
+    }
+
+    @Test
+    public void testRandomOnlyReturnsMembers() {
+        var stones = new EligibleStones(5);
+        var random = new SplittableRandom(1);
+        assertEquals(-1, stones.random(random));
+        stones.add(3);
+        stones.add(0);
+        boolean[] seen = new boolean[5];
+        for (int i = 0; i < 100; i++) {
+            seen[stones.random(random)] = true;
+        }
+        assertTrue(seen[0] && seen[3]);
+        assertFalse(seen[1] || seen[2] || seen[4]);
+        stones.clear();
+        assertTrue(stones.isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package h01.engine;
+
+import h01.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GameSnapshot} and the snapshots of {@link CheckersEngine}.
+ */
+public class GameSnapshotTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(7, 9, 8, 12, 7);
+
+    private static void playTurns(CheckersEngine engine, int numberOfTurns) {
+        for (int turn = 0; turn < numberOfTurns && engine.isRunning(); turn++) {
+            engine.doBlackTeamActions();
+            engine.doWhiteTeamActions();
+            engine.updateGameState();
+        }
+    }
+
+    @Test
+    public void testEncodedFields() {
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(1));
+        engine.setWhiteStone(6, 8, CheckersEngine.LEFT);
+        for (int stone = 0; stone < CONFIG.numberOfBlackStones(); stone++) {
+            engine.setBlackStone(stone, stone, 1, stone & 3, 10 + stone, stone != 3);
+        }
+        var snapshot = engine.snapshot();
+        assertEquals(CONFIG.numberOfBlackStones(), snapshot.numberOfBlackStones());
+        assertEquals(GameState.RUNNING, snapshot.gameState());
+        assertEquals(8 * 7 + 6, snapshot.whiteField());
+        assertEquals(CheckersEngine.LEFT, snapshot.whiteDirection());
+        assertEquals(CONFIG.numberOfBlackStones() - 1, snapshot.numberOfEligibleStones());
+        for (int stone = 0; stone < CONFIG.numberOfBlackStones(); stone++) {
+            assertEquals(7 + stone, snapshot.blackField(stone));
+            assertEquals(stone & 3, snapshot.blackDirection(stone));
+            assertEquals(10 + stone, snapshot.blackCoins(stone));
+            assertEquals(stone != 3, snapshot.isBlackStoneTurnedOn(stone));
+        }
+        assertEquals(snapshot, GameSnapshot.of(snapshot.toWords()));
+    }
+
+    @Test
+    public void testRestoredGameContinuesIdentically() {
+        var original = new CheckersEngine(CONFIG, new SplittableRandom(2));
+        original.initGame();
+        playTurns(original, 5);
+        var checkpoint = original.snapshot();
+        original.setRandom(new SplittableRandom(3));
+        playTurns(original, 20);
+
+        var restored = new CheckersEngine(CONFIG, new SplittableRandom(4));
+        restored.initGame();
+        playTurns(restored, 7);
+        restored.restore(checkpoint);
+        assertEquals(checkpoint, restored.snapshot());
+        restored.setRandom(new SplittableRandom(3));
+        playTurns(restored, 20);
+        assertEquals(original.snapshot(), restored.snapshot());
+        assertEquals(original.getNumberOfTurnedOnStones(), restored.getNumberOfTurnedOnStones());
+        assertEquals(original.getNumberOfEligibleStones(), restored.getNumberOfEligibleStones());
+    }
+
+    @Test
+    public void testSnapshotIntoBuffer() {
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(5));
+        engine.initGame();
+        long[] buffer = new long[GameSnapshot.length(CONFIG.numberOfBlackStones())];
+        engine.snapshot(buffer);
+        playTurns(engine, 10);
+        engine.restore(buffer);
+        assertArrayEquals(buffer, engine.snapshot().toWords());
+        assertThrows(IllegalArgumentException.class, () -> engine.snapshot(new long[3]));
+    }
+}
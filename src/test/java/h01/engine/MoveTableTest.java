@@ -0,0 +1,76 @@
+package h01.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MoveTable}.
+ */
+public class MoveTableTest {
+
+    /**
+     * The diagonal offsets of the targets of a stone facing up, rotated counterclockwise by each index.
+     */
+    private static final int[][] DIAGONALS = {{1, 1}, {-1, 1}, {-1, -1}, {1, -1}};
+
+    @Test
+    public void testTargetsOfStoneFacingUp() {
+        var table = new MoveTable(5, 5);
+        int field = 2 * 5 + 2;
+        int[][] expected = {{3, 3, CheckersEngine.RIGHT}, {1, 3, CheckersEngine.LEFT},
+            {1, 1, CheckersEngine.DOWN}, {3, 1, CheckersEngine.RIGHT}};
+        for (int target = 0; target < 4; target++) {
+            assertEquals(expected[target][1] * 5 + expected[target][0], table.targetField(field, CheckersEngine.UP, target));
+            assertEquals(expected[target][2], MoveTable.targetDirection(CheckersEngine.UP, target));
+        }
+    }
+
+    @Test
+    public void testFirstTargetSkipsBorderAndExcludedField() {
+        var table = new MoveTable(5, 5);
+        // Facing left at the left border: targets 0 and 1 are outside, target 2 is excluded
+        int excluded = table.targetField(5, CheckersEngine.LEFT, 2);
+        assertEquals(3, table.firstTarget(0, 1, CheckersEngine.LEFT, excluded));
+        assertEquals(2, table.firstTarget(0, 1, CheckersEngine.LEFT, -1));
+    }
+
+    @Test
+    public void testNonSquareBoardUsesColumnsForX() {
+        // Facing left at the bottom right corner of a narrow board with the white stone on target 0: targets 1 and 2
+        // are below the world and target 3 (x+1, y+1) is right of the world, although x+1 is less than the rows
+        var table = new MoveTable(4, 8);
+        assertEquals(-1, table.firstTarget(3, 0, CheckersEngine.LEFT, table.targetField(3, CheckersEngine.LEFT, 0)));
+    }
+
+    @Test
+    public void testAllTargetsWithinWorld() {
+        int columns = 3;
+        int rows = 4;
+        var table = new MoveTable(columns, rows);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                for (int direction = 0; direction < 4; direction++) {
+                    int target = table.firstTarget(x, y, direction, -1);
+                    int expected = -1;
+                    for (int candidate = 0; candidate < 4 && expected < 0; candidate++) {
+                        int tx = x + dx(direction, candidate);
+                        int ty = y + dy(direction, candidate);
+                        if (tx >= 0 && tx < columns && ty >= 0 && ty < rows) {
+                            expected = candidate;
+                        }
+                    }
+                    assertEquals(expected, target);
+                }
+            }
+        }
+    }
+
+    private static int dx(int direction, int target) {
+        return DIAGONALS[(target - direction) & 3][0];
+    }
+
+    private static int dy(int direction, int target) {
+        return DIAGONALS[(target - direction) & 3][1];
+    }
+}
@@ -0,0 +1,40 @@
+package h01.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OccupancyGrid}.
+ */
+public class OccupancyGridTest {
+
+    @Test
+    public void testLowestStoneOnSharedField() {
+        var grid = new OccupancyGrid(3, 3, 4);
+        grid.add(3, 4);
+        grid.add(1, 4);
+        grid.add(2, 4);
+        assertEquals(1, grid.stoneAt(4));
+        grid.remove(1);
+        assertEquals(2, grid.stoneAt(4));
+        grid.move(2, 5);
+        assertEquals(3, grid.stoneAt(4));
+        assertEquals(2, grid.stoneAt(5));
+        grid.remove(3);
+        assertFalse(grid.isOccupied(4));
+    }
+
+    @Test
+    public void testClear() {
+        var grid = new OccupancyGrid(3, 3, 2);
+        grid.add(0, 1);
+        grid.add(1, 8);
+        grid.clear();
+        for (int field = 0; field < 9; field++) {
+            assertFalse(grid.isOccupied(field));
+        }
+        grid.add(1, 1);
+        assertEquals(1, grid.stoneAt(1));
+    }
+}
@@ -0,0 +1,69 @@
+package h01.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OddFieldSampler}.
+ */
+public class OddFieldSamplerTest {
+
+    private static void assertDrawsAllOddFields(int numberOfColumns, int numberOfRows) {
+        var sampler = new OddFieldSampler(numberOfColumns, numberOfRows);
+        var random = new SplittableRandom(numberOfColumns * 31L + numberOfRows);
+        for (int round = 0; round < 3; round++) {
+            sampler.reset();
+            var fields = new HashSet<Integer>();
+            for (int i = 0; i < sampler.numberOfOddFields(); i++) {
+                int field = sampler.next(random);
+                assertEquals(1, (field % numberOfColumns + field / numberOfColumns) % 2, "field is not odd");
+                assertTrue(field < numberOfColumns * numberOfRows, "field is outside of the board");
+                assertTrue(fields.add(field), "field was drawn twice");
+            }
+        }
+    }
+
+    @Test
+    public void testDistinctOddFields() {
+        assertDrawsAllOddFields(5, 5);
+        assertDrawsAllOddFields(4, 7);
+        assertDrawsAllOddFields(1, 9);
+        assertDrawsAllOddFields(40, 3);
+    }
+
+    @Test
+    public void testBoardWithoutFreeOddField() {
+        // A 1x3 board has a single odd field, which the white stone takes
+        var sampler = new OddFieldSampler(1, 3);
+        sampler.reset(1);
+        var exception = assertThrows(IllegalStateException.class, () -> sampler.next(new SplittableRandom(1)));
+        assertTrue(exception.getMessage().startsWith("no odd field left"), exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new CheckersConfig(1, 3, 1, 1, 1));
+        // More black stones than odd fields share fields instead
+        var config = new CheckersConfig(1, 4, 1, 1, 3);
+        var engine = new CheckersEngine(config, new SplittableRandom(2));
+        engine.initGame();
+        assertEquals(3, engine.getNumberOfTurnedOnStones());
+    }
+
+    @Test
+    public void testExcludedField() {
+        var sampler = new OddFieldSampler(3, 3);
+        var random = new SplittableRandom(3);
+        for (int round = 0; round < 100; round++) {
+            // (1, 0) is excluded, the remaining odd fields are drawn first and then repeated
+            sampler.reset(1);
+            var fields = new HashSet<Integer>();
+            for (int i = 0; i < 6; i++) {
+                int field = sampler.next(random);
+                assertNotEquals(1, field);
+                fields.add(field);
+            }
+            assertEquals(3, fields.size());
+        }
+    }
+}
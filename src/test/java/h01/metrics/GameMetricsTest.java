@@ -0,0 +1,82 @@
+package h01.metrics;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GameMetrics}.
+ */
+public class GameMetricsTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(5, 5, 8, 12, 5);
+
+    @Test
+    public void testCountersFollowGames() {
+        var metrics = new GameMetrics();
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(4));
+        engine.setGameListener(metrics.newRecorder());
+        long turns = 0;
+        long captures = 0;
+        long whiteWins = 0;
+        for (int game = 0; game < 100; game++) {
+            engine.initGame();
+            GameState gameState = engine.runGame();
+            turns += engine.getNumberOfTurns();
+            captures += CONFIG.numberOfBlackStones() - engine.getNumberOfTurnedOnStones();
+            whiteWins += gameState == GameState.WHITE_WIN ? 1 : 0;
+        }
+
+        var snapshot = metrics.snapshot();
+        assertEquals(100, snapshot.gamesStarted());
+        assertEquals(whiteWins, snapshot.whiteWins());
+        assertEquals(100 - whiteWins, snapshot.blackWins());
+        assertEquals(turns, snapshot.turns());
+        assertEquals(turns, snapshot.blackActions());
+        assertEquals(captures, snapshot.captures());
+        assertEquals(100, snapshot.gameLength().count());
+        assertEquals(turns, snapshot.gameLength().sum());
+        // Every eighth turn is timed, starting with the first one
+        assertEquals((turns + 7) / 8, snapshot.turnNanos().count());
+    }
+
+    @Test
+    public void testHistogramQuantiles() {
+        var histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        var snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(50.5, snapshot.mean(), 1e-9);
+        assertEquals(63, snapshot.quantile(0.5));
+        assertEquals(100, snapshot.quantile(1));
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count());
+    }
+
+    @Test
+    public void testMetricsAreExposedThroughJmx() throws Exception {
+        var metrics = new GameMetrics();
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(5));
+        engine.setGameListener(metrics.newRecorder());
+        engine.initGame();
+        engine.runGame();
+        metrics.register();
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(GameMetrics.OBJECT_NAME);
+            assertEquals(1L, server.getAttribute(name, "GamesStarted"));
+            assertEquals(metrics.getTurns(), server.getAttribute(name, "Turns"));
+        } finally {
+            metrics.unregister();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package h01.render;
+
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SnapshotRenderer}.
+ */
+public class SnapshotRendererTest {
+
+    @Test
+    public void testFinalStateIsShown() {
+        var engine = new CheckersEngine(new CheckersConfig(5, 5, 4, 8, 4), new SplittableRandom(1));
+        List<GameSnapshot> frames = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        try (var renderer = new SnapshotRenderer(engine, snapshot -> {
+            frames.add(snapshot);
+            threads.add(Thread.currentThread());
+        }, 60)) {
+            engine.setGameListener(renderer);
+            engine.initGame();
+            engine.runGame();
+        }
+        assertFalse(frames.isEmpty());
+        assertEquals(engine.snapshot().toWords()[0], frames.get(frames.size() - 1).toWords()[0]);
+        assertEquals(engine.getGameState(), frames.get(frames.size() - 1).gameState());
+        // Only the final frame may be shown by the thread which closes the renderer
+        for (Thread thread : threads.subList(0, threads.size() - 1)) {
+            assertEquals("snapshot-renderer", thread.getName());
+        }
+    }
+
+    @Test
+    public void testIntermediateFramesAreDropped() {
+        var engine = new CheckersEngine(new CheckersConfig(200, 200, 500, 1000, 400), new SplittableRandom(2));
+        List<GameSnapshot> frames = new ArrayList<>();
+        SnapshotRenderer renderer = new SnapshotRenderer(engine, frames::add, 100);
+        try (renderer) {
+            engine.setGameListener(renderer);
+            engine.initGame();
+            engine.runGame();
+        }
+        long turns = engine.getNumberOfTurns();
+        assertTrue(turns > 100_000, "turns: " + turns);
+        // Only the requested snapshots, the initial and the final one are copied
+        assertTrue(renderer.getNumberOfPublishedSnapshots() < turns / 10, renderer.getNumberOfPublishedSnapshots() + "");
+        assertEquals(frames.size(), renderer.getNumberOfRenderedFrames());
+        assertTrue(frames.size() <= renderer.getNumberOfPublishedSnapshots());
+        assertEquals(engine.getGameState(), frames.get(frames.size() - 1).gameState());
+    }
+
+    @Test
+    public void testFailureIsReported() {
+        var engine = new CheckersEngine(new CheckersConfig(5, 5, 4, 8, 4), new SplittableRandom(3));
+        var renderer = new SnapshotRenderer(engine, snapshot -> {
+            throw new IllegalArgumentException("broken view");
+        }, 60);
+        engine.setGameListener(renderer);
+        engine.initGame();
+        engine.runGame();
+        var exception = assertThrows(IllegalStateException.class, renderer::close);
+        assertEquals("broken view", exception.getCause().getMessage());
+    }
+}
@@ -0,0 +1,130 @@
+package h01.replay;
+
+import h01.GameState;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.strategy.ExpectimaxWhiteStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReplayWriter} and {@link Replayer}.
+ */
+public class ReplayTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(7, 7, 8, 12, 9);
+
+    @Test
+    public void testReplayedGamesEndLikeRecordedGames() throws IOException {
+        Path log = Files.createTempFile("checkers", ".replay");
+        try {
+            var engine = new CheckersEngine(CONFIG, new SplittableRandom(11));
+            var results = new GameState[200];
+            var turns = new int[results.length];
+            try (var writer = new ReplayWriter(log, CONFIG)) {
+                engine.setGameListener(writer);
+                writer.setGameId(100);
+                for (int game = 0; game < results.length; game++) {
+                    engine.initGame();
+                    results[game] = engine.runGame();
+                    turns[game] = engine.getNumberOfTurns();
+                }
+            }
+            // A few bytes per turn, not a text line
+            assertTrue(Files.size(log) < 4L * Arrays.stream(turns).sum() + 100L * results.length);
+
+            try (var replayer = new Replayer(log)) {
+                assertEquals(CONFIG, replayer.getConfig());
+                for (int game = 0; game < results.length; game++) {
+                    assertTrue(replayer.nextGame());
+                    assertEquals(100 + game, replayer.getGameId());
+                    assertEquals(results[game], replayer.replayGame());
+                    assertEquals(turns[game], replayer.getNumberOfTurns());
+                }
+                assertFalse(replayer.nextGame());
+            }
+        } finally {
+            Files.delete(log);
+        }
+    }
+
+    @Test
+    public void testGamesOfWhiteStrategyAreReplayed() throws IOException {
+        Path log = Files.createTempFile("checkers", ".replay");
+        try {
+            var engine = new CheckersEngine(CONFIG, new SplittableRandom(13));
+            var search = new ExpectimaxWhiteStrategy(CONFIG, 3, TimeUnit.MILLISECONDS.toNanos(1));
+            var otherCaptures = new AtomicInteger();
+            engine.setWhiteStrategy((state, stones, landingFields, numberOfCaptures) -> {
+                int capture = search.chooseCapture(state, stones, landingFields, numberOfCaptures);
+                if (capture != 0) {
+                    otherCaptures.incrementAndGet();
+                }
+                return capture;
+            });
+            var results = new GameState[100];
+            var turns = new int[results.length];
+            try (var writer = new ReplayWriter(log, CONFIG)) {
+                engine.setGameListener(writer);
+                for (int game = 0; game < results.length; game++) {
+                    engine.initGame();
+                    results[game] = engine.runGame();
+                    turns[game] = engine.getNumberOfTurns();
+                }
+            }
+            // The default rules would have captured a different black stone in these turns
+            assertTrue(otherCaptures.get() > 0);
+
+            try (var replayer = new Replayer(log)) {
+                for (int game = 0; game < results.length; game++) {
+                    assertTrue(replayer.nextGame());
+                    assertEquals(results[game], replayer.replayGame());
+                    assertEquals(turns[game], replayer.getNumberOfTurns());
+                }
+                assertFalse(replayer.nextGame());
+            }
+        } finally {
+            Files.delete(log);
+        }
+    }
+
+    @Test
+    public void testSkippedGamesAndUnfinishedGame() throws IOException {
+        Path log = Files.createTempFile("checkers", ".replay");
+        try {
+            var engine = new CheckersEngine(CONFIG, new SplittableRandom(12));
+            GameState last;
+            try (var writer = new ReplayWriter(log, CONFIG)) {
+                engine.setGameListener(writer);
+                engine.initGame();
+                engine.runGame();
+                engine.initGame();
+                last = engine.runGame();
+                engine.initGame();
+                engine.doBlackTeamActions();
+                engine.doWhiteTeamActions();
+                engine.updateGameState();
+            }
+            try (var replayer = new Replayer(log)) {
+                assertTrue(replayer.nextGame());
+                assertTrue(replayer.nextGame());
+                assertEquals(last, replayer.replayGame());
+                assertTrue(replayer.nextGame());
+                assertTrue(replayer.nextTurn());
+                assertFalse(replayer.nextTurn());
+                assertFalse(replayer.nextGame());
+            }
+        } finally {
+            Files.delete(log);
+        }
+    }
+}
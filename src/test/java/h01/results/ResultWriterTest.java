@@ -0,0 +1,109 @@
+package h01.results;
+
+import h01.GameState;
+import h01.batch.BatchResult;
+import h01.batch.BatchRunner;
+import h01.batch.GameSeeds;
+import h01.batch.GameStatistics;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ResultWriter} and {@link ResultReader}.
+ */
+public class ResultWriterTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(6, 6, 4, 9, 6);
+
+    @Test
+    public void testRowsOfBatchMatchResult() throws IOException {
+        Path directory = Files.createTempDirectory("checkers");
+        try {
+            int games = 5_000;
+            var runner = new BatchRunner(CONFIG, 3, 17);
+            runner.setResultDirectory(directory);
+            BatchResult expected = runner.run(games);
+
+            var statistics = new GameStatistics();
+            var seen = new BitSet(games);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.results")) {
+                for (Path file : files) {
+                    try (var reader = new ResultReader(file)) {
+                        assertEquals(17, reader.getMasterSeed());
+                        assertEquals(CONFIG, reader.getConfig());
+                        while (reader.next()) {
+                            int game = (int) reader.getGame();
+                            assertFalse(seen.get(game), "game " + game);
+                            seen.set(game);
+                            assertEquals(GameSeeds.gameSeed(17, game), reader.getGameSeed());
+                            statistics.record(reader.getGameState(), reader.getNumberOfTurns(), reader.getGameSeed());
+                            if (reader.getGameState() == GameState.WHITE_WIN) {
+                                assertEquals(CONFIG.numberOfBlackStones(), reader.getNumberOfCaptures());
+                            } else {
+                                assertTrue(reader.getNumberOfCaptures() < CONFIG.numberOfBlackStones());
+                            }
+                            assertTrue(reader.getCoinsLeft() >= 0);
+                        }
+                    }
+                }
+            }
+            assertEquals(games, seen.cardinality());
+            BatchResult actual = statistics.toResult(17, 1);
+            assertEquals(expected.whiteWins(), actual.whiteWins());
+            assertEquals(expected.maxTurns(), actual.maxTurns());
+            assertEquals(expected.meanTurns(), actual.meanTurns(), 1e-9);
+            assertEquals(expected.stdDevTurns(), actual.stdDevTurns(), 1e-9);
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testInvalidFilesAreRejected() throws IOException {
+        Path file = Files.createTempFile("checkers", ".results");
+        try {
+            byte[] replayHeader = new byte[ResultWriter.HEADER_SIZE];
+            System.arraycopy(new byte[]{'C', 'K', 'R', 'L', 1}, 0, replayHeader, 0, 5);
+            Files.write(file, replayHeader);
+            var exception = assertThrows(IOException.class, () -> new ResultReader(file));
+            assertTrue(exception.getMessage().startsWith("not a result file"), exception.getMessage());
+            Files.write(file, new byte[0]);
+            assertThrows(EOFException.class, () -> new ResultReader(file));
+
+            try (var writer = new ResultWriter(file, 3, CONFIG)) {
+                var engine = new CheckersEngine(CONFIG, GameSeeds.random(3));
+                engine.initGame();
+                assertThrows(IllegalArgumentException.class, () -> writer.write(0, 3, engine));
+                engine.runGame();
+                writer.write(0, 3, engine);
+                writer.write(1, 3, engine);
+                assertEquals(2, writer.getNumberOfRows());
+            }
+            assertEquals(ResultWriter.HEADER_SIZE + 2L * ResultWriter.ROW_SIZE, Files.size(file));
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            try (var reader = new ResultReader(file)) {
+                assertTrue(reader.next());
+                assertThrows(EOFException.class, reader::next);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
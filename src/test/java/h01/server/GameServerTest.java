@@ -0,0 +1,117 @@
+package h01.server;
+
+import h01.GameState;
+import h01.batch.GameSeeds;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GameServer} and {@link GameClient}.
+ */
+public class GameServerTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(5, 5, 4, 8, 4);
+
+    @Test
+    public void testMatchesFollowEngine() throws Exception {
+        try (var server = new GameServer(CONFIG)) {
+            server.start(0);
+            try (var client = new GameClient(null, server.getPort())) {
+                assertEquals(CONFIG, client.getConfig());
+                for (Side side : Side.values()) {
+                    for (long seed = 0; seed < 20; seed++) {
+                        MatchResult result = client.play(seed, side, new SplittableRandom(seed));
+
+                        // The client makes the same choices as strategies with the same source of randomness
+                        var engine = new CheckersEngine(CONFIG, GameSeeds.random(seed));
+                        var choices = new SplittableRandom(seed);
+                        if (side.playsBlack()) {
+                            engine.setBlackStrategy(
+                                e -> e.getEligibleStone(choices.nextInt(e.getNumberOfEligibleStones()))
+                            );
+                        }
+                        if (side.playsWhite()) {
+                            engine.setWhiteStrategy((e, stones, fields, captures) -> choices.nextInt(captures));
+                        }
+                        engine.initGame();
+                        GameState gameState = engine.runGame();
+                        assertEquals(gameState, result.gameState(), side + " " + seed);
+                        assertEquals(engine.getNumberOfTurns(), result.numberOfTurns(), side + " " + seed);
+                    }
+                }
+            }
+            assertEquals(80, server.getNumberOfStartedMatches());
+            assertEquals(0, server.getNumberOfRunningMatches());
+        }
+    }
+
+    @Test
+    public void testConcurrentMatches() throws Exception {
+        int numberOfClients = 200;
+        int matchesPerClient = 5;
+        try (var server = new GameServer(CONFIG)) {
+            server.start(0);
+            ExecutorService executor = Executors.newFixedThreadPool(numberOfClients);
+            try {
+                List<Callable<Integer>> clients = new ArrayList<>();
+                for (int client = 0; client < numberOfClients; client++) {
+                    long seed = client;
+                    clients.add(() -> {
+                        int finished = 0;
+                        try (var gameClient = new GameClient(null, server.getPort())) {
+                            var random = new SplittableRandom(seed);
+                            for (int match = 0; match < matchesPerClient; match++) {
+                                MatchResult result = gameClient.play(random.nextLong(), Side.BOTH, random);
+                                finished += result.gameState() != GameState.RUNNING ? 1 : 0;
+                            }
+                        }
+                        return finished;
+                    });
+                }
+                int finished = 0;
+                for (Future<Integer> future : executor.invokeAll(clients)) {
+                    finished += future.get();
+                }
+                assertEquals(numberOfClients * matchesPerClient, finished);
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(numberOfClients * matchesPerClient, server.getNumberOfStartedMatches());
+        }
+    }
+
+    @Test
+    public void testInvalidMoveIsReported() throws Exception {
+        try (var server = new GameServer(CONFIG)) {
+            server.start(0);
+            try (var socket = new Socket((String) null, server.getPort())) {
+                var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                var out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+                assertEquals("HELLO 5 5 4 8 4", in.readLine());
+                out.println("NEW 1 BLACK");
+                assertTrue(in.readLine().startsWith("MATCH "));
+                assertTrue(in.readLine().startsWith("START "));
+                assertTrue(in.readLine().startsWith("BLACK "));
+                out.println("MOVE 4");
+                assertEquals("ERROR choice 4 is not in [0, 4)", in.readLine());
+                assertNull(in.readLine());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package h01.solver;
+
+import h01.GameState;
+import h01.batch.GameSeeds;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.GameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ExactSolver}.
+ */
+public class ExactSolverTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(4, 4, 1, 4, 3);
+
+    @Test
+    public void testSolverMatchesFullEnumeration() {
+        var solver = new ExactSolver(CONFIG, 1);
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom());
+        for (int game = 0; game < 20; game++) {
+            engine.setRandom(GameSeeds.random(GameSeeds.gameSeed(1, game)));
+            engine.initGame();
+            var initialState = engine.snapshot();
+            double probability = solver.whiteWinProbability(engine);
+            assertEquals(initialState, engine.snapshot());
+            assertEquals(enumerate(engine, initialState), probability, 1e-12);
+        }
+    }
+
+    @Test
+    public void testStonesOnSameFieldMatchFullEnumeration() {
+        // Four black stones on eight odd fields often share a field, where the lowest index is captured first
+        var config = new CheckersConfig(4, 4, 1, 3, 4);
+        var solver = new ExactSolver(config, 1);
+        var engine = new CheckersEngine(config, new SplittableRandom());
+        for (int seed = 0; seed < 300; seed++) {
+            engine.setRandom(new SplittableRandom(seed));
+            engine.initGame();
+            var initialState = engine.snapshot();
+            double probability = solver.whiteWinProbability(engine);
+            assertEquals(enumerate(engine, initialState), probability, 1e-12, "seed " + seed);
+        }
+    }
+
+    @Test
+    public void testResultDoesNotDependOnThreads() {
+        var config = new CheckersConfig(5, 5, 3, 5, 4);
+        var engine = new CheckersEngine(config, GameSeeds.random(7));
+        engine.initGame();
+        double sequential = new ExactSolver(config, 1).whiteWinProbability(engine);
+        double parallel = new ExactSolver(config, 4).whiteWinProbability(engine);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testFinishedGames() {
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom());
+        engine.setWhiteStone(0, 0, CheckersEngine.UP);
+        for (int stone = 0; stone < CONFIG.numberOfBlackStones(); stone++) {
+            engine.setBlackStone(stone, 3, stone, CheckersEngine.UP, 0, true);
+        }
+        engine.updateGameState();
+        assertEquals(GameState.BLACK_WIN, engine.getGameState());
+        assertEquals(0.0, new ExactSolver(CONFIG, 1).whiteWinProbability(engine));
+    }
+
+    @Test
+    public void testLargeConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ExactSolver(new CheckersConfig(20, 20, 8, 12, 20), 1));
+    }
+
+    /**
+     * Returns the probability that the white team wins by enumerating all games without memoization.
+     */
+    private static double enumerate(CheckersEngine engine, GameSnapshot state) {
+        engine.restore(state);
+        if (!engine.isRunning()) {
+            return engine.getGameState() == GameState.WHITE_WIN ? 1 : 0;
+        }
+        int numberOfActions = engine.getNumberOfEligibleStones();
+        double sum = 0;
+        for (int position = 0; position < numberOfActions; position++) {
+            engine.restore(state);
+            engine.doBlackTeamAction(engine.getEligibleStone(position));
+            engine.doWhiteTeamActions();
+            engine.updateGameState();
+            sum += enumerate(engine, engine.snapshot());
+        }
+        return sum / numberOfActions;
+    }
+}
@@ -0,0 +1,56 @@
+package h01.strategy;
+
+import h01.batch.BatchRunner;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ExpectimaxWhiteStrategy}.
+ */
+public class ExpectimaxWhiteStrategyTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(6, 6, 2, 4, 8);
+
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 4;
+
+    @Test
+    public void testSearchDoesNotChangeGame() {
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(3));
+        var strategy = new ExpectimaxWhiteStrategy(CONFIG, 3, NO_TIME_LIMIT);
+        int[] stones = new int[CONFIG.numberOfBlackStones()];
+        int[] fields = new int[CONFIG.numberOfBlackStones()];
+        int searches = 0;
+        for (int game = 0; game < 50; game++) {
+            engine.initGame();
+            while (engine.isRunning()) {
+                engine.doBlackTeamActions();
+                int numberOfCaptures = engine.findCaptures(stones, fields);
+                if (numberOfCaptures > 1) {
+                    var before = engine.snapshot();
+                    int capture = strategy.chooseCapture(engine, stones, fields, numberOfCaptures);
+                    assertEquals(before, engine.snapshot());
+                    assertTrue(capture >= 0 && capture < numberOfCaptures);
+                    assertTrue(strategy.getLastDepth() > 0);
+                    searches++;
+                }
+                engine.doWhiteTeamActions();
+                engine.updateGameState();
+            }
+        }
+        assertTrue(searches > 0);
+    }
+
+    @Test
+    public void testSearchWinsMoreOftenThanDefaultRules() {
+        var greedy = new BatchRunner(CONFIG, 1, 42).run(500);
+        var runner = new BatchRunner(CONFIG, 1, 42);
+        runner.setWhiteStrategy(() -> new ExpectimaxWhiteStrategy(CONFIG, 3, NO_TIME_LIMIT));
+        var search = runner.run(500);
+        assertTrue(search.whiteWins() > greedy.whiteWins());
+    }
+}
@@ -0,0 +1,79 @@
+package h01.strategy;
+
+import h01.batch.BatchRunner;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MctsBlackStrategy}.
+ */
+public class MctsBlackStrategyTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(4, 4, 4, 8, 3);
+
+    @Test
+    public void testSearchChoosesEligibleStoneWithoutChangingGame() {
+        var engine = new CheckersEngine(CONFIG, new SplittableRandom(5));
+        try (var strategy = new MctsBlackStrategy(CONFIG, 2, 64, 0, 5)) {
+            for (int game = 0; game < 20; game++) {
+                engine.initGame();
+                while (engine.isRunning()) {
+                    if (engine.getNumberOfEligibleStones() > 0) {
+                        var before = engine.snapshot();
+                        int stone = strategy.chooseStone(engine);
+                        assertEquals(before, engine.snapshot());
+                        boolean eligible = false;
+                        for (int position = 0; position < engine.getNumberOfEligibleStones(); position++) {
+                            eligible |= engine.getEligibleStone(position) == stone;
+                        }
+                        assertTrue(eligible);
+                        engine.doBlackTeamAction(stone);
+                    }
+                    engine.doWhiteTeamActions();
+                    engine.updateGameState();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedSameChoices() {
+        var first = new BatchRunner(CONFIG, 1, 7);
+        first.setBlackStrategy(() -> new MctsBlackStrategy(CONFIG, 3, 96, 0, 11));
+        var second = new BatchRunner(CONFIG, 1, 7);
+        second.setBlackStrategy(() -> new MctsBlackStrategy(CONFIG, 3, 96, 0, 11));
+        var firstResult = first.run(100);
+        var secondResult = second.run(100);
+        assertEquals(firstResult.blackWins(), secondResult.blackWins());
+        assertEquals(firstResult.meanTurns(), secondResult.meanTurns(), 1e-9);
+        assertEquals(firstResult.longestGameSeed(), secondResult.longestGameSeed());
+    }
+
+    @Test
+    public void testResultDoesNotDependOnNumberOfWorkers() {
+        // More games than one chunk of a batch, so several workers with their own strategies play them
+        var single = new BatchRunner(CONFIG, 1, 9);
+        single.setBlackStrategy(() -> new MctsBlackStrategy(CONFIG, 1, 16, 0, 3));
+        var parallel = new BatchRunner(CONFIG, 3, 9);
+        parallel.setBlackStrategy(() -> new MctsBlackStrategy(CONFIG, 1, 16, 0, 3));
+        var singleResult = single.run(2_500);
+        var parallelResult = parallel.run(2_500);
+        assertEquals(singleResult.blackWins(), parallelResult.blackWins());
+        assertEquals(singleResult.meanTurns(), parallelResult.meanTurns(), 1e-9);
+        assertEquals(singleResult.longestGameSeed(), parallelResult.longestGameSeed());
+    }
+
+    @Test
+    public void testSearchWinsMoreOftenThanRandomChoices() {
+        var random = new BatchRunner(CONFIG, 1, 42).run(300);
+        var runner = new BatchRunner(CONFIG, 1, 42);
+        runner.setBlackStrategy(() -> new MctsBlackStrategy(CONFIG, 1, 200, 0, 42));
+        var search = runner.run(300);
+        assertTrue(search.blackWins() > random.blackWins());
+    }
+}
@@ -0,0 +1,78 @@
+package h01.sweep;
+
+import h01.batch.BatchResult;
+import h01.batch.BatchRunner;
+import h01.engine.CheckersConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParameterSweep} and {@link SweepRunner}.
+ */
+public class SweepRunnerTest {
+
+    @Test
+    public void testRangesAreParsed() {
+        assertArrayEquals(new int[]{5}, ParameterRange.parse("5").values());
+        assertArrayEquals(new int[]{3, 4, 5}, ParameterRange.parse("3..5").values());
+        assertArrayEquals(new int[]{4, 7, 10}, ParameterRange.parse("4..11:3").values());
+        assertEquals("4..11:3", ParameterRange.parse("4..11:3").toString());
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse("5..3"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse("3..5:0"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse("three"));
+    }
+
+    @Test
+    public void testInvalidConfigurationsAreSkipped() {
+        ParameterSweep sweep = ParameterSweep.of(new CheckersConfig(5, 5, 4, 8, 4))
+            .withMinNumberOfCoins(ParameterRange.parse("4..12:4"))
+            .withMaxNumberOfCoins(ParameterRange.parse("6..10:4"))
+            .withNumberOfRows(ParameterRange.parse("4..5"));
+        List<CheckersConfig> configs = sweep.configs();
+        // The minimum of 8 coins exceeds the maximum of 6 and the minimum of 12 exceeds both maxima
+        assertEquals(6, configs.size());
+        assertEquals(new CheckersConfig(5, 4, 4, 6, 4), configs.get(0));
+        assertEquals(new CheckersConfig(5, 5, 8, 10, 4), configs.get(configs.size() - 1));
+        for (CheckersConfig config : configs) {
+            assertTrue(config.minNumberOfCoins() <= config.maxNumberOfCoins(), config.toString());
+        }
+    }
+
+    @Test
+    public void testConfigurationsMatchBatches() {
+        List<CheckersConfig> configs = ParameterSweep.of(new CheckersConfig(5, 5, 4, 8, 4))
+            .withNumberOfColumns(ParameterRange.parse("3..7:2"))
+            .withNumberOfBlackStones(ParameterRange.parse("2..6:2"))
+            .configs();
+        long seed = 42;
+        int games = 600;
+        SweepResult sweep = new SweepRunner(configs, 3, seed).run(games);
+        assertEquals(configs.size(), sweep.results().size());
+        for (CheckersConfig config : configs) {
+            BatchResult expected = new BatchRunner(config, 2, seed).run(games);
+            BatchResult actual = sweep.result(config);
+            assertEquals(games, actual.numberOfGames());
+            assertEquals(expected.whiteWins(), actual.whiteWins(), config.toString());
+            assertEquals(expected.meanTurns(), actual.meanTurns(), 1e-9, config.toString());
+            assertEquals(expected.maxTurns(), actual.maxTurns(), config.toString());
+        }
+    }
+
+    @Test
+    public void testResultDoesNotDependOnNumberOfThreads() {
+        List<CheckersConfig> configs = ParameterSweep.of(new CheckersConfig(5, 5, 4, 8, 4))
+            .withNumberOfRows(ParameterRange.parse("4..8:2"))
+            .withMaxNumberOfCoins(ParameterRange.parse("4..12:4"))
+            .configs();
+        SweepResult single = new SweepRunner(configs, 1, 7).run(700);
+        SweepResult parallel = new SweepRunner(configs, 4, 7).run(700);
+        for (int i = 0; i < configs.size(); i++) {
+            assertEquals(single.results().get(i).whiteWins(), parallel.results().get(i).whiteWins());
+            assertEquals(single.results().get(i).stdDevTurns(), parallel.results().get(i).stdDevTurns(), 1e-9);
+        }
+        assertThrows(IllegalArgumentException.class, () -> single.result(new CheckersConfig(9, 9, 1, 1, 1)));
+    }
+}
@@ -0,0 +1,102 @@
+package h01.tournament;
+
+import h01.batch.BatchRunner;
+import h01.engine.BlackStrategy;
+import h01.engine.CheckersConfig;
+import h01.engine.CheckersEngine;
+import h01.engine.WhiteStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Tournament}.
+ */
+public class TournamentTest {
+
+    private static final CheckersConfig CONFIG = new CheckersConfig(5, 5, 4, 8, 4);
+
+    private static final WhiteStrategy LAST_CAPTURE = (engine, stones, fields, captures) -> captures - 1;
+
+    private static final BlackStrategy FIRST_ELIGIBLE = engine -> engine.getEligibleStone(0);
+
+    private static Tournament tournament(int numberOfThreads) {
+        var tournament = new Tournament(CONFIG, numberOfThreads, 11);
+        tournament.addWhiteStrategy("first-capture", () -> WhiteStrategy.FIRST_CAPTURE);
+        tournament.addWhiteStrategy("last-capture", () -> LAST_CAPTURE);
+        tournament.addBlackStrategy("random", () -> BlackStrategy.RANDOM);
+        tournament.addBlackStrategy("first-eligible", () -> FIRST_ELIGIBLE);
+        return tournament;
+    }
+
+    @Test
+    public void testPairsMatchBatches() {
+        var result = tournament(3).run(1000);
+        assertEquals(1000, result.numberOfGamesPerPair());
+        WhiteStrategy[] white = {WhiteStrategy.FIRST_CAPTURE, LAST_CAPTURE};
+        BlackStrategy[] black = {BlackStrategy.RANDOM, FIRST_ELIGIBLE};
+        for (int w = 0; w < white.length; w++) {
+            for (int b = 0; b < black.length; b++) {
+                var runner = new BatchRunner(CONFIG, 2, 11);
+                WhiteStrategy whiteStrategy = white[w];
+                BlackStrategy blackStrategy = black[b];
+                runner.setWhiteStrategy(() -> whiteStrategy);
+                runner.setBlackStrategy(() -> blackStrategy);
+                var batch = runner.run(1000);
+                var cell = result.result(w, b);
+                assertEquals(batch.whiteWins(), cell.whiteWins(), w + " " + b);
+                assertEquals(batch.maxTurns(), cell.maxTurns(), w + " " + b);
+                assertEquals(batch.meanTurns(), cell.meanTurns(), 1e-9);
+            }
+        }
+        assertSame(result.result(1, 0), result.result("last-capture", "random"));
+    }
+
+    @Test
+    public void testResultsDoNotDependOnThreads() {
+        var single = tournament(1).run(700);
+        var parallel = tournament(4).run(700);
+        for (int pair = 0; pair < 4; pair++) {
+            assertEquals(single.results().get(pair).whiteWins(), parallel.results().get(pair).whiteWins());
+            assertEquals(single.results().get(pair).meanTurns(), parallel.results().get(pair).meanTurns(), 1e-9);
+        }
+        String matrix = parallel.toString();
+        assertTrue(matrix.contains("first-eligible"));
+        assertTrue(matrix.contains("last-capture"));
+    }
+
+    @Test
+    public void testStrategiesAreClosed() {
+        var created = new AtomicInteger();
+        var closed = new AtomicInteger();
+        var tournament = new Tournament(CONFIG, 4, 5);
+        tournament.addWhiteStrategy("first-capture", () -> WhiteStrategy.FIRST_CAPTURE);
+        tournament.addBlackStrategy("closeable", () -> new ClosableStrategy(created, closed));
+        assertThrows(IllegalArgumentException.class, () -> tournament.addBlackStrategy("closeable", () -> null));
+        tournament.run(2000);
+        assertTrue(created.get() > 0);
+        assertEquals(created.get(), closed.get());
+    }
+
+    private static final class ClosableStrategy implements BlackStrategy, AutoCloseable {
+
+        private final AtomicInteger closed;
+
+        private ClosableStrategy(AtomicInteger created, AtomicInteger closed) {
+            this.closed = closed;
+            created.incrementAndGet();
+        }
+
+        @Override
+        public int chooseStone(CheckersEngine engine) {
+            return engine.getEligibleStone(0);
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}